@@ -0,0 +1,62 @@
+package tournamentmanager.benchmarks;
+
+import tournamentmanager.core.api.Game;
+import tournamentmanager.core.api.Participant;
+import tournamentmanager.core.api.Tournament;
+import tournamentmanager.core.api.TournamentException;
+import tournamentmanager.core.impl.ParticipantImpl;
+import tournamentmanager.core.impl.TournamentImpl;
+import tournamentmanager.core.impl.TournamentTreeBuilderImpl;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Builds the tournaments used by the benchmarks.
+ */
+final class Brackets {
+
+    private Brackets() {
+    }
+
+    static List<Participant> participants(int size) {
+        List<Participant> participants = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            participants.add(new ParticipantImpl("p" + i));
+        }
+        return participants;
+    }
+
+    static TournamentImpl registeredTournament(int size) throws TournamentException {
+        TournamentImpl tournament = new TournamentImpl();
+        tournament.addParticipants(participants(size));
+        return tournament;
+    }
+
+    static TournamentImpl startedTournament(int size) throws TournamentException {
+        TournamentImpl tournament = registeredTournament(size);
+        tournament.start(new TournamentTreeBuilderImpl());
+        return tournament;
+    }
+
+    /**
+     * Plays one game, the first participant always winning.
+     */
+    static void play(Game game) throws TournamentException {
+        game.start();
+        game.addPoints(game.getParticipants().get(0), 2);
+        game.addPoints(game.getParticipants().get(1), 1);
+        game.finish();
+    }
+
+    /**
+     * Plays every game of the tree, round after round.
+     */
+    static void playAll(Tournament tournament) throws TournamentException {
+        for (List<Game> round : tournament.getRounds()) {
+            for (Game game : round) {
+                play(game);
+            }
+        }
+    }
+}
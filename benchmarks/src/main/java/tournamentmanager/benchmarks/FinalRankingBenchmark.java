@@ -0,0 +1,39 @@
+package tournamentmanager.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import tournamentmanager.core.api.Participant;
+import tournamentmanager.core.api.TournamentException;
+import tournamentmanager.core.impl.TournamentImpl;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Time of computeFinalRanking() on a finished tournament.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx8g")
+public class FinalRankingBenchmark {
+
+    @Param({"1024", "65536", "1048576"})
+    public int size;
+
+    private TournamentImpl tournament;
+
+    @Setup(Level.Trial)
+    public void playTournament() throws TournamentException {
+        this.tournament = Brackets.startedTournament(this.size);
+        Brackets.playAll(this.tournament);
+        this.tournament.end();
+    }
+
+    @Benchmark
+    public List<Set<Participant>> computeFinalRanking() throws TournamentException {
+        return this.tournament.computeFinalRanking();
+    }
+}
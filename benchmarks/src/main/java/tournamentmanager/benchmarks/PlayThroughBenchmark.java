@@ -0,0 +1,35 @@
+package tournamentmanager.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import tournamentmanager.core.api.TournamentException;
+import tournamentmanager.core.impl.TournamentImpl;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Time to play every game of a started tournament through GameImpl.start(), addPoints() and finish().
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx8g")
+public class PlayThroughBenchmark {
+
+    @Param({"1024", "65536", "1048576"})
+    public int size;
+
+    private TournamentImpl tournament;
+
+    @Setup(Level.Invocation)
+    public void startTournament() throws TournamentException {
+        this.tournament = Brackets.startedTournament(this.size);
+    }
+
+    @Benchmark
+    public TournamentImpl playAllGames() throws TournamentException {
+        Brackets.playAll(this.tournament);
+        return this.tournament;
+    }
+}
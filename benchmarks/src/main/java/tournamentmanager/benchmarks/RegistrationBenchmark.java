@@ -0,0 +1,44 @@
+package tournamentmanager.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import tournamentmanager.core.api.Participant;
+import tournamentmanager.core.api.TournamentException;
+import tournamentmanager.core.impl.TournamentImpl;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Time of registering all participants with TournamentImpl.addParticipants(), in chunks of the given size.
+ * Registering in many chunks must stay linear, close to a single bulk call.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx8g")
+public class RegistrationBenchmark {
+
+    @Param({"524288", "1048576"})
+    public int size;
+
+    @Param({"100", "10000", "1048576"})
+    public int chunkSize;
+
+    private List<Participant> participants;
+
+    @Setup(Level.Trial)
+    public void createParticipants() {
+        this.participants = Brackets.participants(this.size);
+    }
+
+    @Benchmark
+    public TournamentImpl addParticipantsInChunks() throws TournamentException {
+        TournamentImpl tournament = new TournamentImpl();
+        for (int from = 0; from < this.size; from += this.chunkSize) {
+            tournament.addParticipants(this.participants.subList(from, Math.min(this.size, from + this.chunkSize)));
+        }
+        return tournament;
+    }
+}
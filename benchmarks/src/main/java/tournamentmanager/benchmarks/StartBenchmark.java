@@ -0,0 +1,37 @@
+package tournamentmanager.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import tournamentmanager.core.api.TournamentException;
+import tournamentmanager.core.impl.TournamentImpl;
+import tournamentmanager.core.impl.TournamentTreeBuilderImpl;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Time of TournamentImpl.start() with TournamentTreeBuilderImpl, which builds the whole tree.
+ * With a linear start(), the time grows like the number of participants.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx8g")
+public class StartBenchmark {
+
+    @Param({"1024", "16384", "262144", "4194304"})
+    public int size;
+
+    private TournamentImpl tournament;
+
+    @Setup(Level.Invocation)
+    public void register() throws TournamentException {
+        this.tournament = Brackets.registeredTournament(this.size);
+    }
+
+    @Benchmark
+    public TournamentImpl start() throws TournamentException {
+        this.tournament.start(new TournamentTreeBuilderImpl());
+        return this.tournament;
+    }
+}
@@ -0,0 +1,60 @@
+package tournamentmanager.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import tournamentmanager.core.api.Game;
+import tournamentmanager.core.api.TournamentException;
+import tournamentmanager.core.impl.TournamentImpl;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of each status query of TournamentImpl, in the middle of the first round:
+ * a quarter of the first round is finished, a quarter is in progress, and the rest is ready to start.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx8g")
+public class StatusQueryBenchmark {
+
+    @Param({"1024", "65536", "1048576"})
+    public int size;
+
+    private TournamentImpl tournament;
+
+    @Setup(Level.Trial)
+    public void playQuarterOfFirstRound() throws TournamentException {
+        this.tournament = Brackets.startedTournament(this.size);
+        List<Game> firstRound = this.tournament.getRounds().get(0);
+        int quarter = firstRound.size() / 4;
+        for (int i = 0; i < quarter; i++) {
+            Brackets.play(firstRound.get(i));
+        }
+        for (int i = quarter; i < 2 * quarter; i++) {
+            firstRound.get(i).start();
+        }
+    }
+
+    @Benchmark
+    public List<Game> gamesReadyToStart() {
+        return this.tournament.getGamesReadyToStart();
+    }
+
+    @Benchmark
+    public List<Game> finishedGames() {
+        return this.tournament.getFinishedGames();
+    }
+
+    @Benchmark
+    public List<Game> gamesInProgress() {
+        return this.tournament.getGamesInProgress();
+    }
+
+    @Benchmark
+    public List<Game> futureGames() {
+        return this.tournament.getFutureGames();
+    }
+}
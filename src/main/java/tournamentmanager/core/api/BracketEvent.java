@@ -0,0 +1,85 @@
+package tournamentmanager.core.api;
+
+/**
+ * A change of a Tournament, as published by Tournament.getEventPublisher().
+ */
+public final class BracketEvent {
+
+    /**
+     * The kinds of changes of a Tournament.
+     */
+    public enum Type {
+        /**
+         * A Game has started.
+         */
+        GAME_STARTED,
+        /**
+         * The score of a Participant in a Game in progress changed.
+         * Rapid updates of the same score may be coalesced for slow subscribers, so the event gives the new total.
+         */
+        POINTS_ADDED,
+        /**
+         * A Game has finished; the Participant of the event is its winner.
+         */
+        GAME_FINISHED,
+        /**
+         * The winner of a Game was sent to the following Game, which is the Game of the event.
+         * In a double-elimination tournament, also sent when the loser of a Game drops to the losers bracket.
+         */
+        PARTICIPANT_ADVANCED,
+        /**
+         * The loser of a Game, which is the Game of the event, was eliminated.
+         */
+        PARTICIPANT_ELIMINATED,
+        /**
+         * The Tournament has ended. This is the last event published.
+         */
+        TOURNAMENT_ENDED
+    }
+
+    private final Type type;
+    private final Game game;
+    private final Participant participant;
+    private final int points;
+
+    public BracketEvent(Type type, Game game, Participant participant, int points) {
+        if (type == null) {
+            throw new IllegalArgumentException("The type of an event cannot be null.");
+        }
+        this.type = type;
+        this.game = game;
+        this.participant = participant;
+        this.points = points;
+    }
+
+    public Type getType() {
+        return this.type;
+    }
+
+    /**
+     * @return The Game concerned by the event, or null for TOURNAMENT_ENDED.
+     */
+    public Game getGame() {
+        return this.game;
+    }
+
+    /**
+     * @return The Participant concerned by the event, or null for GAME_STARTED and TOURNAMENT_ENDED.
+     */
+    public Participant getParticipant() {
+        return this.participant;
+    }
+
+    /**
+     * @return For POINTS_ADDED, the total points of the Participant in the Game; 0 otherwise.
+     */
+    public int getPoints() {
+        return this.points;
+    }
+
+    @Override
+    public String toString() {
+        return "BracketEvent{" + this.type + (this.participant == null ? "" : " " + this.participant.getName())
+                + (this.type == Type.POINTS_ADDED ? " " + this.points : "") + "}";
+    }
+}
@@ -0,0 +1,18 @@
+package tournamentmanager.core.api;
+
+/**
+ * Thrown by a GameListener to veto a change of a Game before it is made, see GameListener.statusChanging().
+ * <p>
+ * Batch operations such as Tournament.applyResults() report a vetoed change as the failure of the result it belongs
+ * to, while any other exception thrown by a listener is a bug, and is thrown to the caller.
+ */
+public class ChangeVetoedException extends IllegalStateException {
+
+    public ChangeVetoedException(String message) {
+        super(message);
+    }
+
+    public ChangeVetoedException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -143,4 +143,19 @@ public interface Game {
      */
     int getPoints(Participant participant);
     public void setStatus(Status status);
+
+    /**
+     * Registers a listener that will be notified of every change of this Game.
+     *
+     * @param listener The listener to register.
+     * @throws IllegalArgumentException If the provided listener is null.
+     */
+    void addGameListener(GameListener listener);
+
+    /**
+     * Unregisters a listener previously registered with addGameListener().
+     *
+     * @param listener The listener to unregister.
+     */
+    void removeGameListener(GameListener listener);
 }
@@ -0,0 +1,69 @@
+package tournamentmanager.core.api;
+
+/**
+ * Receives the changes happening to a Game.
+ * <p>
+ * A listener is notified synchronously, by the thread that changed the Game,
+ * right after the change has been applied; statusChanging() and pointsAdding() are called right before instead.
+ * <p>
+ * Listeners are notified in the order they were registered, except by statusChanging() and pointsAdding(), which
+ * consult them in the reverse order: a listener is only asked once every listener registered after it accepted the
+ * change, so that the first registered listener only sees changes that are not vetoed by the others.
+ */
+public interface GameListener {
+
+    /**
+     * Called when a Participant has been added to a Game.
+     *
+     * @param game        The Game that received the Participant.
+     * @param participant The added Participant.
+     */
+    void participantAdded(Game game, Participant participant);
+
+    /**
+     * Called when the Status of a Game has changed.
+     *
+     * @param game           The Game whose Status changed.
+     * @param previousStatus The Status before the change.
+     * @param newStatus      The Status after the change.
+     */
+    void statusChanged(Game game, Status previousStatus, Status newStatus);
+
+    /**
+     * Called when the Status of a Game is about to change, once the change has been checked but before it is made,
+     * for instance to record it before it takes effect. Does nothing by default.
+     * <p>
+     * Throwing a ChangeVetoedException vetoes the change: the Game is left unchanged, the listeners not asked yet are
+     * not notified, and the exception is thrown to the caller. Any other RuntimeException stops the change the same way,
+     * but is treated as a bug of the listener rather than as a veto, for instance by Tournament.applyResults().
+     *
+     * @param game          The Game whose Status is about to change.
+     * @param currentStatus The Status before the change.
+     * @param newStatus     The Status after the change.
+     */
+    default void statusChanging(Game game, Status currentStatus, Status newStatus) {
+    }
+
+    /**
+     * Called when points have been given to (or removed from) a Participant of a Game.
+     * Does nothing by default.
+     *
+     * @param game        The Game in progress.
+     * @param participant The Participant whose score changed.
+     * @param points      The added points, negative if points were removed.
+     */
+    default void pointsAdded(Game game, Participant participant, int points) {
+    }
+
+    /**
+     * Called when points are about to be given to (or removed from) a Participant of a Game, once the change has been
+     * checked but before it is made. Does nothing by default. Throwing a ChangeVetoedException vetoes the change, as
+     * with statusChanging().
+     *
+     * @param game        The Game in progress.
+     * @param participant The Participant whose score is about to change.
+     * @param points      The points to add, negative if points are removed.
+     */
+    default void pointsAdding(Game game, Participant participant, int points) {
+    }
+}
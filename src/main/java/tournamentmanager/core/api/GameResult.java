@@ -0,0 +1,64 @@
+package tournamentmanager.core.api;
+
+/**
+ * The final score of a Game, as registered in a batch with Tournament.applyResults().
+ * <p>
+ * A result gives the points scored by both Participants of a Game that is ready to start:
+ * applying it starts the Game, adds the points, and finishes the Game.
+ */
+public final class GameResult {
+
+    private final Game game;
+    private final Participant firstParticipant;
+    private final int firstPoints;
+    private final Participant secondParticipant;
+    private final int secondPoints;
+
+    /**
+     * @param game              The Game that was played.
+     * @param firstParticipant  One of the two Participants of the Game.
+     * @param firstPoints       The points scored by firstParticipant.
+     * @param secondParticipant The other Participant of the Game.
+     * @param secondPoints      The points scored by secondParticipant.
+     * @throws IllegalArgumentException If the Game or one of the Participants is null.
+     */
+    public GameResult(Game game, Participant firstParticipant, int firstPoints,
+                      Participant secondParticipant, int secondPoints) {
+        if (game == null) {
+            throw new IllegalArgumentException("A game cannot be null.");
+        } else if (firstParticipant == null || secondParticipant == null) {
+            throw new IllegalArgumentException("The participant cannot be null.");
+        }
+        this.game = game;
+        this.firstParticipant = firstParticipant;
+        this.firstPoints = firstPoints;
+        this.secondParticipant = secondParticipant;
+        this.secondPoints = secondPoints;
+    }
+
+    public Game getGame() {
+        return this.game;
+    }
+
+    public Participant getFirstParticipant() {
+        return this.firstParticipant;
+    }
+
+    public int getFirstPoints() {
+        return this.firstPoints;
+    }
+
+    public Participant getSecondParticipant() {
+        return this.secondParticipant;
+    }
+
+    public int getSecondPoints() {
+        return this.secondPoints;
+    }
+
+    @Override
+    public String toString() {
+        return "GameResult{" + this.firstParticipant.getName() + " " + this.firstPoints + " - "
+                + this.secondPoints + " " + this.secondParticipant.getName() + "}";
+    }
+}
@@ -0,0 +1,19 @@
+package tournamentmanager.core.api;
+
+/**
+ * Receives the participants of a final ranking one at a time, see Tournament.forEachRankedParticipant().
+ *
+ * @param <E> The exception the visitor may throw, for instance an IOException when the ranking is written out.
+ */
+@FunctionalInterface
+public interface RankingVisitor<E extends Exception> {
+
+    /**
+     * Called for each ranked Participant, from the winner to the last ones.
+     *
+     * @param rank        The rank of the Participant, shared by the Participants ranked ex-aequo: one more than the
+     *                    number of Participants ranked before them.
+     * @param participant The Participant.
+     */
+    void visit(int rank, Participant participant) throws E;
+}
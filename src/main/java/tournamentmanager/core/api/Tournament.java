@@ -1,7 +1,10 @@
 package tournamentmanager.core.api;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.Flow;
 
 /**
  * Represents a single-elimination tournament, and can be used to manage both participants and games.
@@ -28,16 +31,38 @@ public interface Tournament {
      */
     void addParticipant(Participant participant) throws TournamentException;
 
+    /**
+     * Add several new participants to the Tournament at once.
+     * Participants that are already registered (or that appear twice in the collection) are only added once.
+     * Can only be called before the Tournament has started.
+     *
+     * @param participants The Participants to add.
+     * @throws TournamentException      If the Tournament has already started.
+     * @throws IllegalArgumentException If the provided collection is null.
+     */
+    void addParticipants(Collection<? extends Participant> participants) throws TournamentException;
+
+    /**
+     * Retrieve whether a Participant is registered in the Tournament.
+     *
+     * @param participant The Participant to look for.
+     * @return True if the Participant was added to the Tournament, false otherwise.
+     */
+    boolean containsParticipant(Participant participant);
+
     /**
      * Start the tournament.
      * This will shuffle the list of participantts, create the complete tournament tree,
      * and assign participants to their first games in the first round.
+     * When the number of participants is not a power of two, some participants get a bye, and start in the second
+     * round (see TournamentTreeBuilder.buildAllRounds()); implementations and builders may still require a power of two.
      * <p>
-     * Can only be called if the Tournament has not started, and if the number of participants is more than 1,
-     * and if the number of participants is a power of two. Cannot be undone.
+     * Can only be called if the Tournament has not started, and if the number of participants is more than 1.
+     * Cannot be undone.
      *
      * @throws TournamentException If the tournament has already started, or if there are strictly less than 2 participants,
-     *                             or if the number of participants is not a power of two.
+     *                             or if the implementation or the builder requires a power of two and the number of
+     *                             participants is not one. In that case, the Tournament is left unchanged.
      */
     void start(TournamentTreeBuilder tournamentTreeBuilder) throws TournamentException;
 
@@ -52,6 +77,30 @@ public interface Tournament {
      */
     void end() throws TournamentException;
 
+    /**
+     * Register the results of several Games at once, for instance a whole round.
+     * <p>
+     * The whole batch is validated first: a result is rejected if its Game is not part of the Tournament tree,
+     * is not ready to start, does not have exactly the Participants of the result, if the scores are ex-aequo,
+     * or if the batch contains another result for the same Game.
+     * Each valid result is then applied as a whole (the Game is started, scored and finished, and its winner is sent to
+     * the following Game), while rejected results leave their Game untouched.
+     * A valid result can still fail while it is applied, if its Game is changed by another thread in the meantime,
+     * or if a GameListener vetoes one of the changes with a ChangeVetoedException. It is then reported with the
+     * rejected results, and its Game is not rolled back: it is left as the failure found it, e.g. started, or in
+     * progress with the first points already added. The other results of the batch are still applied. Any other
+     * exception thrown by a GameListener is not caught, and leaves the rest of the batch unapplied.
+     * Large batches may be applied by several threads.
+     * <p>
+     * Can only be called if the Tournament is in progress.
+     *
+     * @param results The results to register.
+     * @return The rejected results, in the order of the batch, with the reason of each rejection. Empty if every result was applied.
+     * @throws TournamentException      If the Tournament is not in progress. In that case, no result is applied.
+     * @throws IllegalArgumentException If the provided collection is null, or contains null. In that case, no result is applied.
+     */
+    Map<GameResult, TournamentException> applyResults(Collection<GameResult> results) throws TournamentException;
+
     /**
      * Retrieve all the games of the Tournament tree.
      *
@@ -66,6 +115,19 @@ public interface Tournament {
      */
     List<List<Game>> getRounds();
 
+    /**
+     * Tell whether a Game is part of the Tournament tree.
+     * <p>
+     * The default implementation looks for the Game among getAllGames(); Tournaments that index their games override
+     * it with a constant-time lookup.
+     *
+     * @param game The Game to look for.
+     * @return True if the Game is one of the games of the tree, false otherwise or if the provided game is null.
+     */
+    default boolean containsGame(Game game) {
+        return game != null && this.getAllGames().contains(game);
+    }
+
     /**
      * Retrieve all Games of the tournament tree that are ready to start.
      * A Game is ready to start if it has two participants and if it has neither started or ended.
@@ -74,6 +136,25 @@ public interface Tournament {
      */
     List<Game> getGamesReadyToStart();
 
+    /**
+     * Take the next Game that is ready to start, waiting until there is one.
+     * <p>
+     * Games are published to a queue when they get their second participant: when the tournament starts for the
+     * first round, then when a finished Game sends its winner to a following Game. Each Game is handed out once,
+     * so several consumers never receive the same Game; Games that were started in the meantime are skipped.
+     *
+     * @return The next Game ready to start.
+     * @throws InterruptedException If the calling thread is interrupted while waiting.
+     */
+    Game takeReadyGame() throws InterruptedException;
+
+    /**
+     * Take the next Game that is ready to start, if any, without waiting. See takeReadyGame().
+     *
+     * @return The next Game ready to start, or null if no Game is ready to start for now.
+     */
+    Game pollReadyGame();
+
     /**
      * Retrieve all Games of the tournament tree that are finished.
      *
@@ -110,6 +191,50 @@ public interface Tournament {
      */
     List<Set<Participant>> computeFinalRanking() throws TournamentException;
 
+    /**
+     * Visit the final ranking, in the order of computeFinalRanking(), without building it: each Participant is given
+     * to the visitor with its rank as soon as it is read from the Tournament tree.
+     * <p>
+     * The default implementation walks a single-elimination tree from the final down to the first round: the winner
+     * of the final comes first, then the losers of each round, ex-aequo. Tournaments ranked by other rules override it.
+     * <p>
+     * Can only be called after the Tournament has ended.
+     *
+     * @param visitor The visitor receiving the ranked Participants.
+     * @throws TournamentException      If the Tournament has not ended.
+     * @throws IllegalArgumentException If the provided visitor is null.
+     */
+    default <E extends Exception> void forEachRankedParticipant(RankingVisitor<E> visitor) throws TournamentException, E {
+        if (visitor == null) {
+            throw new IllegalArgumentException("The visitor cannot be null.");
+        } else if (this.getStatus() != Status.FINISHED) {
+            throw new TournamentException("Cannot compute ranking of unfinished tournament.");
+        }
+        List<List<Game>> rounds = this.getRounds();
+        visitor.visit(1, rounds.get(rounds.size() - 1).get(0).getWinner());
+        int ranked = 1;
+        for (int r = rounds.size() - 1; r >= 0; r--) {
+            // Everyone who went further, including byes into a later round, is ranked before the losers of a round
+            List<Game> round = rounds.get(r);
+            for (Game game : round) {
+                visitor.visit(ranked + 1, game.getLoser());
+            }
+            ranked += round.size();
+        }
+    }
+
+    /**
+     * Retrieve the publisher of the changes of the Tournament, once it has started: games started, points added,
+     * games finished, participants advanced and eliminated, and the end of the Tournament, after which
+     * subscribers are completed.
+     * <p>
+     * Events are delivered asynchronously, according to the demand of each subscriber.
+     * POINTS_ADDED events still queued for a slow subscriber are replaced by newer ones for the same score.
+     *
+     * @return The publisher of the events of the Tournament.
+     */
+    Flow.Publisher<BracketEvent> getEventPublisher();
+
     /**
      * Retrieve the Status of the Tournament.
      * It can either be:
@@ -8,4 +8,8 @@ public class TournamentException extends Exception {
     public TournamentException(String message) {
         super(message);
     }
+
+    public TournamentException(String message, Throwable cause) {
+        super(message, cause);
+    }
 }
@@ -21,6 +21,11 @@ public interface TournamentTreeBuilder {
      * <p>
      * See buildInitialRound() regarding how the first round is built, and
      * buildNextRound() regarding how all other round is built.
+     * <p>
+     * If the number of participants is not a power of two, the bracket is completed to the next power of two with byes:
+     * a participant with a bye has no game in the first round, and is placed straight into a game of the second round.
+     * The first round then only holds the games of the participants without a bye. Byes are placed as in a standard
+     * seeded bracket, where the best seeds face the seeds beyond the number of participants.
      *
      * @param participants The list with all participants.
      * @return The complete tournament tree.
@@ -45,5 +50,14 @@ public interface TournamentTreeBuilder {
      */
     List<Game> buildNextRound(List<? extends Game> previousRound);
 
+    /**
+     * Check that a tree can be built for a given number of participants, so that a Tournament can refuse to start
+     * before building anything. Accepts any number by default, as byes complete the bracket.
+     *
+     * @param participantCount The number of participants of the tree.
+     * @throws TournamentException If this builder cannot build a tree for that number of participants.
+     */
+    default void checkParticipantCount(int participantCount) throws TournamentException {
+    }
 
 }
@@ -0,0 +1,162 @@
+package tournamentmanager.core.impl;
+
+import tournamentmanager.core.api.*;
+
+import java.util.*;
+
+/**
+ * Read-only view over one Game of a {@link BracketArchive}.
+ * <p>
+ * A view only holds its archive and its position, all state is read from the archive when asked.
+ * Two views over the same Game are equal. An archived Game never changes, so listeners are accepted but never notified.
+ */
+public final class ArchivedGame implements Game {
+
+    private final BracketArchive archive;
+    private final int position;
+
+    ArchivedGame(BracketArchive archive, int position) {
+        this.archive = archive;
+        this.position = position;
+    }
+
+    /**
+     * @return The position of this Game in the archive, in round order.
+     */
+    public int getPosition() {
+        return this.position;
+    }
+
+    @Override
+    public void addPoints(Participant participant, int points) throws TournamentException {
+        throw new TournamentException("Cannot change an archived game.");
+    }
+
+    @Override
+    public void addPreviousGame(Game game) throws TournamentException {
+        throw new TournamentException("Cannot change an archived game.");
+    }
+
+    @Override
+    public void addParticipant(Participant participant) throws TournamentException {
+        throw new TournamentException("Cannot change an archived game.");
+    }
+
+    @Override
+    public void start() throws TournamentException {
+        throw new TournamentException("Cannot change an archived game.");
+    }
+
+    @Override
+    public void finish() throws TournamentException {
+        throw new TournamentException("Cannot change an archived game.");
+    }
+
+    @Override
+    public List<Game> getPreviousGames() {
+        List<Game> previousGames = new ArrayList<>(2);
+        for (int previous : this.archive.previousGames(this.position)) {
+            previousGames.add(new ArchivedGame(this.archive, previous));
+        }
+        return Collections.unmodifiableList(previousGames);
+    }
+
+    @Override
+    public Status getStatus() {
+        return this.archive.status(this.position);
+    }
+
+    @Override
+    public List<Participant> getParticipants() {
+        List<Participant> participants = new ArrayList<>(2);
+        for (int slot = 0; slot < 2; slot++) {
+            int id = this.archive.participantId(this.position, slot);
+            if (id >= 0) {
+                participants.add(new ArchivedParticipant(this.archive, id));
+            }
+        }
+        return Collections.unmodifiableList(participants);
+    }
+
+    @Override
+    public Participant getWinner() throws TournamentException {
+        if (this.getStatus() != Status.FINISHED) {
+            throw new TournamentException("Cannot retrieve winner, the game is not finished.");
+        }
+        int winnerSlot = this.archive.points(this.position, 0) > this.archive.points(this.position, 1) ? 0 : 1;
+        return new ArchivedParticipant(this.archive, this.archive.participantId(this.position, winnerSlot));
+    }
+
+    @Override
+    public Participant getLoser() throws TournamentException {
+        if (this.getStatus() != Status.FINISHED) {
+            throw new TournamentException("Cannot retrieve loser, the game is not finished.");
+        }
+        int loserSlot = this.archive.points(this.position, 0) > this.archive.points(this.position, 1) ? 1 : 0;
+        return new ArchivedParticipant(this.archive, this.archive.participantId(this.position, loserSlot));
+    }
+
+    @Override
+    public Optional<Game> getFollowingGame() {
+        int following = this.archive.followingGame(this.position);
+        if (following < 0) {
+            return Optional.empty();
+        }
+        return Optional.of(new ArchivedGame(this.archive, following));
+    }
+
+    @Override
+    public void setFollowingGame(Game game) throws IllegalArgumentException {
+        throw new UnsupportedOperationException("Cannot change an archived game.");
+    }
+
+    @Override
+    public int getPoints(Participant participant) {
+        for (int slot = 0; slot < 2; slot++) {
+            int id = this.archive.participantId(this.position, slot);
+            if (id >= 0 && new ArchivedParticipant(this.archive, id).equals(participant)) {
+                return this.archive.points(this.position, slot);
+            }
+        }
+        throw new IllegalArgumentException("The participant is not part of this game.");
+    }
+
+    @Override
+    public void setStatus(Status status) {
+        throw new UnsupportedOperationException("Cannot change an archived game.");
+    }
+
+    @Override
+    public void addGameListener(GameListener listener) {
+        if (listener == null) {
+            throw new IllegalArgumentException("A listener cannot be null.");
+        }
+    }
+
+    @Override
+    public void removeGameListener(GameListener listener) {
+        // Listeners are never registered
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof ArchivedGame)) {
+            return false;
+        }
+        ArchivedGame other = (ArchivedGame) o;
+        return this.archive == other.archive && this.position == other.position;
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * System.identityHashCode(this.archive) + this.position;
+    }
+
+    @Override
+    public String toString() {
+        return "ArchivedGame" + this.position;
+    }
+}
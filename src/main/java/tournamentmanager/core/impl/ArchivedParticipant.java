@@ -0,0 +1,69 @@
+package tournamentmanager.core.impl;
+
+import tournamentmanager.core.api.Participant;
+
+/**
+ * Read-only view over one Participant of a {@link BracketArchive}.
+ * <p>
+ * The name and the elimination flag are read from the archive when asked.
+ * Two views over the same Participant are equal.
+ */
+public final class ArchivedParticipant implements Participant {
+
+    private final BracketArchive archive;
+    private final int id;
+
+    ArchivedParticipant(BracketArchive archive, int id) {
+        this.archive = archive;
+        this.id = id;
+    }
+
+    /**
+     * @return The index of this Participant in the archive.
+     */
+    public int getId() {
+        return this.id;
+    }
+
+    @Override
+    public String getName() {
+        return this.archive.participantName(this.id);
+    }
+
+    @Override
+    public boolean isEliminated() {
+        return this.archive.isEliminated(this.id);
+    }
+
+    @Override
+    public void eliminate() {
+        throw new UnsupportedOperationException("An archived participant cannot be changed.");
+    }
+
+    @Override
+    public void setName(String name) {
+        throw new UnsupportedOperationException("An archived participant cannot be changed.");
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof ArchivedParticipant)) {
+            return false;
+        }
+        ArchivedParticipant other = (ArchivedParticipant) o;
+        return this.archive == other.archive && this.id == other.id;
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * System.identityHashCode(this.archive) + this.id;
+    }
+
+    @Override
+    public String toString() {
+        return "ArchivedParticipant" + this.id;
+    }
+}
@@ -0,0 +1,73 @@
+package tournamentmanager.core.impl;
+
+import java.util.BitSet;
+
+/**
+ * BracketStore keeping the bracket state in heap arrays.
+ */
+class ArrayBracketStore implements BracketStore {
+
+    private final int size;
+    private final int[] slots;
+    private final int[] scores;
+    private final byte[] statuses;
+    private final BitSet eliminated;
+
+    ArrayBracketStore(int size) {
+        this.size = size;
+        this.slots = new int[2 * size];
+        this.scores = new int[2 * size];
+        this.statuses = new byte[size];
+        this.eliminated = new BitSet(size);
+    }
+
+    @Override
+    public int size() {
+        return this.size;
+    }
+
+    @Override
+    public int slot(int index) {
+        return this.slots[index];
+    }
+
+    @Override
+    public void setSlot(int index, int participant) {
+        this.slots[index] = participant;
+    }
+
+    @Override
+    public int score(int index) {
+        return this.scores[index];
+    }
+
+    @Override
+    public void setScore(int index, int points) {
+        this.scores[index] = points;
+    }
+
+    @Override
+    public byte status(int game) {
+        return this.statuses[game];
+    }
+
+    @Override
+    public void setStatus(int game, byte status) {
+        this.statuses[game] = status;
+    }
+
+    @Override
+    public boolean isEliminated(int participant) {
+        return this.eliminated.get(participant);
+    }
+
+    @Override
+    public void setEliminated(int participant) {
+        this.eliminated.set(participant);
+    }
+
+    @Override
+    public String participantName(int participant) {
+        return null;
+    }
+}
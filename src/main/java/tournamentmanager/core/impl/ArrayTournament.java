@@ -0,0 +1,682 @@
+package tournamentmanager.core.impl;
+
+import tournamentmanager.core.api.*;
+import tournamentmanager.util.Util;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.Flow;
+
+/**
+ * Tournament implementation for very large brackets, where participants and games are int handles.
+ * <p>
+ * Participants are dense handles starting at 0, either registered as Participant objects or as anonymous handles
+ * with addParticipants(int). Once started, the whole tree is a {@link HeapBracket}: games are numbered from 1
+ * (the final) to the number of participants - 1, and their slots, scores and statuses live in primitive arrays.
+ * <p>
+ * The raw API (start(int), addPoints(int, int, int), finish(int)...) works on these handles directly.
+ * The Tournament API is served through views, and Participant objects of anonymous handles are only created
+ * when they are requested.
+ * <p>
+ * When created with a state file, the bracket is stored in that memory-mapped file once the Tournament starts,
+ * every update is written through to it, and the Tournament can be reopened from it after a restart.
+ */
+public class ArrayTournament implements Tournament, AutoCloseable {
+
+    private static final Status[] STATUSES = Status.values();
+
+    private Status status = Status.NOTSTARTED;
+    private int participantCount;
+    // Registered Participant objects by handle, only allocated once an object is registered
+    private Participant[] participantObjects;
+    private final Map<Participant, Integer> handles = new HashMap<>();
+    private final Random random;
+    private final Path stateFile;
+    private MappedBracketStore mappedStore;
+    private HeapBracket bracket;
+    // Handles of the games that became ready to start, consumed from readyHead
+    private int[] readyGames;
+    private int readyHead;
+    private int readyTail;
+    private final BracketEventPublisher eventPublisher = new BracketEventPublisher();
+
+    public ArrayTournament() {
+        this(new Random());
+    }
+
+    /**
+     * @param random The source of randomness used to shuffle the participants when the Tournament starts.
+     */
+    public ArrayTournament(Random random) {
+        this.random = random;
+        this.stateFile = null;
+    }
+
+    /**
+     * Creates a Tournament whose bracket will be stored in a memory-mapped file when it starts.
+     *
+     * @param stateFile The file to create when the Tournament starts, replaced if it already exists.
+     */
+    public ArrayTournament(Path stateFile) {
+        if (stateFile == null) {
+            throw new IllegalArgumentException("The state file cannot be null.");
+        }
+        this.random = new Random();
+        this.stateFile = stateFile;
+    }
+
+    private ArrayTournament(Path stateFile, MappedBracketStore store) {
+        this.random = new Random();
+        this.stateFile = stateFile;
+        this.mappedStore = store;
+        this.bracket = new HeapBracket(store);
+        this.participantCount = store.size();
+        this.status = STATUSES[store.tournamentStatus()];
+        this.initReadyGames();
+        if (this.status == Status.FINISHED) {
+            this.eventPublisher.tournamentEnded();
+        }
+    }
+
+    /**
+     * Reopens a Tournament from the state file of a started ArrayTournament.
+     * The bracket is mapped again as is, nothing is rebuilt; only the winners and losers of games that were finished
+     * right before a crash are sent where they belong.
+     *
+     * @param stateFile The state file.
+     * @return The reopened Tournament.
+     * @throws IOException If the file cannot be read, or is not a bracket state file.
+     */
+    public static ArrayTournament open(Path stateFile) throws IOException {
+        return new ArrayTournament(stateFile, MappedBracketStore.open(stateFile));
+    }
+
+    @Override
+    public void addParticipant(Participant participant) throws TournamentException {
+        if (participant == null) {
+            throw new IllegalArgumentException("The participant cannot be null.");
+        }
+        if (this.getStatus() != Status.NOTSTARTED) {
+            throw new TournamentException("Cannot add a participant to a started tournament.");
+        }
+        if (this.handles.containsKey(participant)) {
+            return;
+        }
+        this.ensureObjectCapacity(this.participantCount + 1);
+        this.handles.put(participant, this.participantCount);
+        this.participantObjects[this.participantCount++] = participant;
+    }
+
+    @Override
+    public void addParticipants(Collection<? extends Participant> participants) throws TournamentException {
+        if (participants == null) {
+            throw new IllegalArgumentException("The collection of participants cannot be null.");
+        }
+        if (this.getStatus() != Status.NOTSTARTED) {
+            throw new TournamentException("Cannot add participants to a started tournament.");
+        }
+        this.ensureObjectCapacity(this.participantCount + participants.size());
+        for (Participant participant : participants) {
+            this.addParticipant(participant);
+        }
+    }
+
+    /**
+     * Registers anonymous participants, which only exist as handles until their Participant is requested.
+     *
+     * @param count The number of participants to add.
+     * @return The handle of the first added participant, the others following in order.
+     * @throws TournamentException If the Tournament has already started.
+     */
+    public int addParticipants(int count) throws TournamentException {
+        if (count < 0) {
+            throw new IllegalArgumentException("The number of participants cannot be negative.");
+        }
+        if (this.getStatus() != Status.NOTSTARTED) {
+            throw new TournamentException("Cannot add participants to a started tournament.");
+        }
+        int firstHandle = this.participantCount;
+        this.participantCount += count;
+        return firstHandle;
+    }
+
+    @Override
+    public boolean containsParticipant(Participant participant) {
+        return this.getHandle(participant) != HeapBracket.EMPTY;
+    }
+
+    /**
+     * @return The number of registered participants.
+     */
+    public int getParticipantCount() {
+        return this.participantCount;
+    }
+
+    /**
+     * Start the tournament, shuffling the participant handles into the first round.
+     *
+     * @throws TournamentException If the tournament has already started, or if there are strictly less than 2 participants,
+     *                             or if the number of participants is not a power of two.
+     */
+    public void start() throws TournamentException {
+        if (this.getStatus() != Status.NOTSTARTED) {
+            throw new TournamentException("Cannot start a tournament that has already started.");
+        } else if (this.participantCount < 2) {
+            throw new TournamentException("A tournament requires at least two participants.");
+        } else if (!Util.isPowerOfTwo(this.participantCount)) {
+            throw new TournamentException("A tournament requires a number of participants equal to a power of two.");
+        }
+
+        int[] firstRound = new int[this.participantCount];
+        for (int i = 0; i < firstRound.length; i++) {
+            firstRound[i] = i;
+        }
+        for (int i = firstRound.length - 1; i > 0; i--) {
+            int j = this.random.nextInt(i + 1);
+            int handle = firstRound[i];
+            firstRound[i] = firstRound[j];
+            firstRound[j] = handle;
+        }
+        Participant[] objects = this.participantObjects == null ? null : Arrays.copyOf(this.participantObjects, this.participantCount);
+        if (this.stateFile == null) {
+            this.bracket = new HeapBracket(firstRound, objects);
+        } else {
+            try {
+                this.mappedStore = MappedBracketStore.create(this.stateFile, this.participantCount, objects);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Cannot create the state file of the tournament.", e);
+            }
+            this.bracket = new HeapBracket(firstRound, objects, this.mappedStore);
+        }
+        this.participantObjects = null;
+        this.handles.clear();
+        this.initReadyGames();
+
+        this.setStatus(Status.INPROGRESS);
+    }
+
+    /**
+     * Start the tournament. The tree of an ArrayTournament is always a {@link HeapBracket},
+     * so the given builder is not used.
+     */
+    @Override
+    public void start(TournamentTreeBuilder tournamentTreeBuilder) throws TournamentException {
+        this.start();
+    }
+
+    @Override
+    public void end() throws TournamentException {
+        if (this.getStatus() != Status.INPROGRESS) {
+            throw new TournamentException("Cannot finish a tournament that is not in progress.");
+        }
+        if (this.bracket.statusCount(Status.FINISHED) != this.bracket.getSize() - 1) {
+            throw new TournamentException("Cannot end a tournament that had unfinished games.");
+        }
+        this.setStatus(Status.FINISHED);
+        this.eventPublisher.tournamentEnded();
+    }
+
+    /**
+     * Register the results of several Games at once. The Games are played in the order of the batch, by the calling
+     * thread, as the bracket arrays are not shared between threads.
+     */
+    @Override
+    public Map<GameResult, TournamentException> applyResults(Collection<GameResult> results) throws TournamentException {
+        if (results == null) {
+            throw new IllegalArgumentException("The collection of results cannot be null.");
+        }
+        if (this.getStatus() != Status.INPROGRESS) {
+            throw new TournamentException("Cannot register results in a tournament that is not in progress.");
+        }
+
+        // Validate the whole batch before applying anything
+        BitSet seenGames = new BitSet(this.bracket.getSize());
+        BitSet conflictingGames = new BitSet(this.bracket.getSize());
+        for (GameResult result : results) {
+            if (result == null) {
+                throw new IllegalArgumentException("A result cannot be null.");
+            }
+            int game = this.gameOf(result);
+            if (game != HeapBracket.EMPTY) {
+                if (seenGames.get(game)) {
+                    conflictingGames.set(game);
+                }
+                seenGames.set(game);
+            }
+        }
+        Map<GameResult, TournamentException> rejected = new LinkedHashMap<>();
+        int[] firstSlots = new int[results.size()];
+        int index = 0;
+        for (GameResult result : results) {
+            int game = this.gameOf(result);
+            int firstSlot = game == HeapBracket.EMPTY ? HeapBracket.EMPTY : this.bracket.slotOf(game, result.getFirstParticipant());
+            int secondSlot = game == HeapBracket.EMPTY ? HeapBracket.EMPTY : this.bracket.slotOf(game, result.getSecondParticipant());
+            firstSlots[index++] = firstSlot;
+            if (game == HeapBracket.EMPTY) {
+                rejected.put(result, new TournamentException("Cannot register a result for a game that is not part of this tournament."));
+            } else if (conflictingGames.get(game)) {
+                rejected.put(result, new TournamentException("Cannot register several results for the same game."));
+            } else if (this.bracket.status(game) != Status.NOTSTARTED || !this.bracket.isFull(game)) {
+                rejected.put(result, new TournamentException("Cannot register a result for a game that is not ready to start."));
+            } else if (firstSlot == HeapBracket.EMPTY || secondSlot == HeapBracket.EMPTY || firstSlot == secondSlot) {
+                rejected.put(result, new TournamentException("Cannot register a result whose participants are not the participants of the game."));
+            } else if (result.getFirstPoints() == result.getSecondPoints()) {
+                rejected.put(result, new TournamentException("Cannot set the game to 'finished', the scores are ex-aequo. A winner is required."));
+            }
+        }
+
+        Map<GameResult, TournamentException> failed = new HashMap<>();
+        index = 0;
+        for (GameResult result : results) {
+            int firstSlot = firstSlots[index++];
+            if (!rejected.containsKey(result)) {
+                int game = ((HeapGame) result.getGame()).getIndex();
+                try {
+                    this.bracket.start(game);
+                    this.bracket.addPoints(game, firstSlot, result.getFirstPoints());
+                    this.bracket.addPoints(game, 1 - firstSlot, result.getSecondPoints());
+                    this.bracket.finish(game);
+                } catch (TournamentException e) {
+                    failed.put(result, e);
+                } catch (ChangeVetoedException e) {
+                    // Reported like the other failures, instead of aborting the batch; the game keeps the changes already made
+                    failed.put(result, new TournamentException("A listener vetoed a change of the game, left "
+                            + this.bracket.status(game) + ": " + e.getMessage(), e));
+                }
+            }
+        }
+        if (!failed.isEmpty()) {
+            Map<GameResult, TournamentException> allRejected = new LinkedHashMap<>();
+            for (GameResult result : results) {
+                TournamentException reason = rejected.containsKey(result) ? rejected.get(result) : failed.get(result);
+                if (reason != null) {
+                    allRejected.put(result, reason);
+                }
+            }
+            return allRejected;
+        }
+        return rejected;
+    }
+
+    /**
+     * Forces the updates of a Tournament stored in a state file to the storage device.
+     * Updates are already visible in the file before, but may be lost if the machine crashes.
+     */
+    public void flush() {
+        if (this.mappedStore != null) {
+            this.mappedStore.force();
+        }
+    }
+
+    /**
+     * Flushes and closes the state file, if any. The Tournament cannot be used afterwards.
+     */
+    @Override
+    public void close() throws IOException {
+        if (this.mappedStore != null) {
+            this.flush();
+            this.mappedStore.close();
+        }
+    }
+
+    // Raw int-handle API
+
+    /**
+     * @return The number of rounds of the started Tournament.
+     */
+    public int getRoundCount() {
+        return this.bracket().getRoundCount();
+    }
+
+    /**
+     * @param round The round number, 0 being the first round.
+     * @return The handle of the first Game of the round, the other Games of the round following it.
+     */
+    public int getFirstGame(int round) {
+        if (round < 0 || round >= this.getRoundCount()) {
+            throw new IndexOutOfBoundsException("No round " + round + " in this tournament.");
+        }
+        return this.bracket.getSize() >> (round + 1);
+    }
+
+    /**
+     * @param round The round number, 0 being the first round.
+     * @return The number of Games in the round.
+     */
+    public int getGameCount(int round) {
+        return this.getFirstGame(round);
+    }
+
+    /**
+     * Sets a Game to INPROGRESS.
+     *
+     * @param game The Game handle.
+     * @throws TournamentException If the Game has already started, or if it does not have two participants.
+     */
+    public void start(int game) throws TournamentException {
+        this.bracket().start(this.checkGame(game));
+    }
+
+    /**
+     * Give or remove points to the participant in one slot of a Game.
+     *
+     * @param game   The Game handle.
+     * @param slot   The slot of the participant, 0 or 1.
+     * @param points The points to add (or to remove, using a negative value).
+     * @throws TournamentException If the Game is not INPROGRESS.
+     */
+    public void addPoints(int game, int slot, int points) throws TournamentException {
+        this.bracket().addPoints(this.checkGame(game), checkSlot(slot), points);
+    }
+
+    /**
+     * Sets a Game to FINISHED, sends its winner to the following Game and eliminates its loser.
+     *
+     * @param game The Game handle.
+     * @throws TournamentException If the Game is not INPROGRESS, or if the scores are ex-aequo.
+     */
+    public void finish(int game) throws TournamentException {
+        this.bracket().finish(this.checkGame(game));
+    }
+
+    /**
+     * Take the handle of the next Game that is ready to start, waiting until there is one. See takeReadyGame().
+     *
+     * @return The Game handle.
+     * @throws InterruptedException If the calling thread is interrupted while waiting.
+     */
+    public synchronized int takeReadyGameHandle() throws InterruptedException {
+        while (true) {
+            while (this.readyHead == this.readyTail) {
+                this.wait();
+            }
+            int game = this.readyGames[this.readyHead++];
+            if (this.bracket.status(game) == Status.NOTSTARTED) {
+                return game;
+            }
+        }
+    }
+
+    /**
+     * Take the handle of the next Game that is ready to start, if any, without waiting. See pollReadyGame().
+     *
+     * @return The Game handle, or -1 if no Game is ready to start for now.
+     */
+    public synchronized int pollReadyGameHandle() {
+        while (this.readyHead < this.readyTail) {
+            int game = this.readyGames[this.readyHead++];
+            if (this.bracket.status(game) == Status.NOTSTARTED) {
+                return game;
+            }
+        }
+        return HeapBracket.EMPTY;
+    }
+
+    /**
+     * @return The Status of a Game.
+     */
+    public Status getStatus(int game) {
+        return this.bracket().status(this.checkGame(game));
+    }
+
+    /**
+     * @return The handle of the participant in one slot of a Game, or -1 if the slot is still empty.
+     */
+    public int getParticipant(int game, int slot) {
+        return this.bracket().participantId(this.checkGame(game), checkSlot(slot));
+    }
+
+    /**
+     * @return The points of the participant in one slot of a Game.
+     */
+    public int getPoints(int game, int slot) {
+        return this.bracket().points(this.checkGame(game), checkSlot(slot));
+    }
+
+    /**
+     * @return The handle of the winner of a Game.
+     * @throws TournamentException If the Game is not finished.
+     */
+    public int getWinner(int game) throws TournamentException {
+        if (this.getStatus(game) != Status.FINISHED) {
+            throw new TournamentException("Cannot retrieve winner, the game is not finished.");
+        }
+        return this.bracket.participantId(game, this.bracket.winnerSlot(game));
+    }
+
+    /**
+     * @return Whether a participant has lost a Game.
+     */
+    public boolean isEliminated(int participant) {
+        return this.bracket().isEliminated(this.checkParticipant(participant));
+    }
+
+    /**
+     * Retrieve the Participant of a handle, creating it if the participant is anonymous.
+     *
+     * @param participant The participant handle.
+     * @return The Participant.
+     */
+    public Participant getParticipant(int participant) {
+        return this.bracket().participant(this.checkParticipant(participant));
+    }
+
+    /**
+     * @return The handle of a Participant, or -1 if it is not part of the Tournament.
+     */
+    public int getHandle(Participant participant) {
+        if (this.bracket != null) {
+            return this.bracket.handleOf(participant);
+        }
+        return this.handles.getOrDefault(participant, HeapBracket.EMPTY);
+    }
+
+    // Tournament API, served through views
+
+    @Override
+    public List<Game> getAllGames() {
+        if (this.bracket == null) {
+            return new ArrayList<>();
+        }
+        List<Game> allGames = new ArrayList<>(this.bracket.getSize() - 1);
+        for (int first = this.bracket.getSize() >> 1; first >= 1; first >>= 1) {
+            for (int game = first; game < 2 * first; game++) {
+                allGames.add(new HeapGame(this.bracket, game));
+            }
+        }
+        return allGames;
+    }
+
+    @Override
+    public List<List<Game>> getRounds() {
+        if (this.bracket == null) {
+            return Collections.emptyList();
+        }
+        return Collections.unmodifiableList(this.bracket.getRounds());
+    }
+
+    @Override
+    public boolean containsGame(Game game) {
+        return game instanceof HeapGame && this.bracket != null && ((HeapGame) game).getBracket() == this.bracket;
+    }
+
+    @Override
+    public List<Game> getGamesReadyToStart() {
+        List<Game> result = new ArrayList<>();
+        if (this.bracket != null) {
+            for (int first = this.bracket.getSize() >> 1; first >= 1; first >>= 1) {
+                for (int game = first; game < 2 * first; game++) {
+                    if (this.bracket.status(game) == Status.NOTSTARTED && this.bracket.isFull(game)) {
+                        result.add(new HeapGame(this.bracket, game));
+                    }
+                }
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public Game takeReadyGame() throws InterruptedException {
+        return new HeapGame(this.bracket, this.takeReadyGameHandle());
+    }
+
+    @Override
+    public Game pollReadyGame() {
+        int game = this.pollReadyGameHandle();
+        return game == HeapBracket.EMPTY ? null : new HeapGame(this.bracket, game);
+    }
+
+    @Override
+    public List<Game> getFinishedGames() {
+        return this.gamesWithStatus(Status.FINISHED);
+    }
+
+    @Override
+    public List<Game> getGamesInProgress() {
+        return this.gamesWithStatus(Status.INPROGRESS);
+    }
+
+    @Override
+    public List<Game> getFutureGames() {
+        return this.gamesWithStatus(Status.NOTSTARTED);
+    }
+
+    @Override
+    public List<Set<Participant>> computeFinalRanking() throws TournamentException {
+        if (this.status != Status.FINISHED) {
+            throw new TournamentException("Cannot compute ranking of unfinished tournament.");
+        }
+        List<Set<Participant>> finalRanking = new ArrayList<>(this.bracket.getRoundCount() + 1);
+        finalRanking.add(Set.of(this.bracket.participant(this.getWinner(1))));
+        for (int round = this.bracket.getRoundCount() - 1; round >= 0; round--) {
+            int first = this.getFirstGame(round);
+            Set<Participant> exaequo = new HashSet<>(2 * first);
+            for (int game = first; game < 2 * first; game++) {
+                exaequo.add(this.bracket.participant(this.bracket.participantId(game, 1 - this.bracket.winnerSlot(game))));
+            }
+            finalRanking.add(exaequo);
+        }
+        return finalRanking;
+    }
+
+    /**
+     * Visits the ranking from the arrays of the bracket, without creating a Game for each game.
+     */
+    @Override
+    public <E extends Exception> void forEachRankedParticipant(RankingVisitor<E> visitor) throws TournamentException, E {
+        if (visitor == null) {
+            throw new IllegalArgumentException("The visitor cannot be null.");
+        } else if (this.status != Status.FINISHED) {
+            throw new TournamentException("Cannot compute ranking of unfinished tournament.");
+        }
+        visitor.visit(1, this.bracket.participant(this.getWinner(1)));
+        for (int round = this.bracket.getRoundCount() - 1; round >= 0; round--) {
+            // The first game of a round is also the number of participants ranked before its losers
+            int first = this.getFirstGame(round);
+            for (int game = first; game < 2 * first; game++) {
+                visitor.visit(first + 1, this.bracket.participant(this.bracket.participantId(game, 1 - this.bracket.winnerSlot(game))));
+            }
+        }
+    }
+
+    @Override
+    public Flow.Publisher<BracketEvent> getEventPublisher() {
+        return this.eventPublisher;
+    }
+
+    @Override
+    public Status getStatus() {
+        return this.status;
+    }
+
+    private void setStatus(Status status) {
+        this.status = status;
+        if (this.mappedStore != null) {
+            this.mappedStore.setTournamentStatus((byte) status.ordinal());
+        }
+    }
+
+    private List<Game> gamesWithStatus(Status gameStatus) {
+        if (this.bracket == null) {
+            return new ArrayList<>();
+        }
+        List<Game> result = new ArrayList<>(this.bracket.statusCount(gameStatus));
+        for (int first = this.bracket.getSize() >> 1; first >= 1; first >>= 1) {
+            for (int game = first; game < 2 * first; game++) {
+                if (this.bracket.status(game) == gameStatus) {
+                    result.add(new HeapGame(this.bracket, game));
+                }
+            }
+        }
+        return result;
+    }
+
+    private synchronized void initReadyGames() {
+        this.readyGames = new int[this.bracket.getSize()];
+        for (int round = 0; round < this.bracket.getRoundCount(); round++) {
+            int first = this.bracket.getSize() >> (round + 1);
+            for (int game = first; game < 2 * first; game++) {
+                if (this.bracket.status(game) == Status.NOTSTARTED && this.bracket.isFull(game)) {
+                    this.readyGames[this.readyTail++] = game;
+                }
+            }
+        }
+        this.bracket.setReadyGameHandler(this::publishReadyGame);
+        this.bracket.setBracketListener(this.eventPublisher);
+        this.notifyAll();
+    }
+
+    private synchronized void publishReadyGame(int game) {
+        if (this.readyTail == this.readyGames.length) {
+            // Only happens when finished games are replayed through setStatus()
+            this.readyGames = Arrays.copyOf(this.readyGames, 2 * this.readyGames.length);
+        }
+        this.readyGames[this.readyTail++] = game;
+        this.notifyAll();
+    }
+
+    private int gameOf(GameResult result) {
+        if (result.getGame() instanceof HeapGame && ((HeapGame) result.getGame()).getBracket() == this.bracket) {
+            return ((HeapGame) result.getGame()).getIndex();
+        }
+        return HeapBracket.EMPTY;
+    }
+
+    private void ensureObjectCapacity(int capacity) {
+        if (this.participantObjects == null) {
+            this.participantObjects = new Participant[Math.max(16, capacity)];
+        } else if (this.participantObjects.length < capacity) {
+            this.participantObjects = Arrays.copyOf(this.participantObjects, Math.max(capacity, 2 * this.participantObjects.length));
+        }
+    }
+
+    private HeapBracket bracket() {
+        if (this.bracket == null) {
+            throw new IllegalStateException("The tournament has not started.");
+        }
+        return this.bracket;
+    }
+
+    private int checkGame(int game) {
+        if (!this.bracket().contains(game)) {
+            throw new IndexOutOfBoundsException("No game " + game + " in this tournament.");
+        }
+        return game;
+    }
+
+    private int checkParticipant(int participant) {
+        if (participant < 0 || participant >= this.participantCount) {
+            throw new IndexOutOfBoundsException("No participant " + participant + " in this tournament.");
+        }
+        return participant;
+    }
+
+    private static int checkSlot(int slot) {
+        if (slot != 0 && slot != 1) {
+            throw new IllegalArgumentException("A game only has slots 0 and 1.");
+        }
+        return slot;
+    }
+}
@@ -0,0 +1,431 @@
+package tournamentmanager.core.impl;
+
+import tournamentmanager.core.api.Game;
+import tournamentmanager.core.api.Participant;
+import tournamentmanager.core.api.Status;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+
+/**
+ * Compact binary archive of a whole Tournament, read back through a memory-mapped file.
+ * <p>
+ * The file is made of a 64 bytes header (magic number, format version, tournament status, counts, and the offset of
+ * each section), then four sections:
+ * - the names: the name index of each participant (-1 for no name), the offset of each distinct name, then the
+ * names themselves, each as a varint length and UTF-8 bytes, so that a name shared by many participants is stored once;
+ * - the topology: the number of rounds, the number of games of each round, then for each game the distance to its
+ * following game (0 for the final), all as varints;
+ * - the games, in round order, as fixed 20 bytes records: both participant indexes (-1 for an empty slot),
+ * both scores and the game status;
+ * - the elimination flags, one bit per participant.
+ * <p>
+ * Opening an archive only maps the file: Games and Participants are views reading their state from the file when
+ * asked, and only the topology is decoded, on first use. Archived Games and Participants cannot be changed.
+ */
+public final class BracketArchive implements AutoCloseable {
+
+    private static final int MAGIC = 0x544D4241;
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 64;
+    private static final int GAME_RECORD_SIZE = 20;
+    private static final int EMPTY = -1;
+    private static final Status[] STATUSES = Status.values();
+
+    private final FileChannel channel;
+    private final Status status;
+    private final int participantCount;
+    private final int gameCount;
+    private final int nameCount;
+    private final MappedByteBuffer names;
+    private final MappedByteBuffer topologyBuffer;
+    private final MappedByteBuffer games;
+    private final MappedByteBuffer flags;
+    private volatile Topology topology;
+
+    private BracketArchive(FileChannel channel, ByteBuffer header) throws IOException {
+        this.channel = channel;
+        this.status = STATUSES[header.get(8)];
+        this.participantCount = header.getInt(12);
+        this.gameCount = header.getInt(16);
+        this.nameCount = header.getInt(20);
+        this.names = this.map(header.getLong(24), header.getLong(32));
+        this.topologyBuffer = this.map(header.getLong(32), header.getLong(40));
+        this.games = this.map(header.getLong(40), header.getLong(48));
+        this.flags = this.map(header.getLong(48), header.getLong(56));
+    }
+
+    private MappedByteBuffer map(long from, long to) throws IOException {
+        return this.channel.map(FileChannel.MapMode.READ_ONLY, from, to - from);
+    }
+
+    /**
+     * Writes the current state of a Tournament to an archive file.
+     *
+     * @param tournament The Tournament to archive.
+     * @param file       The file to write, replaced if it already exists.
+     * @throws IOException              If the file cannot be written.
+     * @throws IllegalArgumentException If an argument is null.
+     */
+    public static void write(TournamentImpl tournament, Path file) throws IOException {
+        if (tournament == null || file == null) {
+            throw new IllegalArgumentException("The tournament and the file cannot be null.");
+        }
+        List<Participant> participants = tournament.getParticipants();
+        Map<Participant, Integer> participantIds = new HashMap<>();
+        for (int id = 0; id < participants.size(); id++) {
+            participantIds.put(participants.get(id), id);
+        }
+        List<List<Game>> rounds = tournament.getRounds();
+        List<Game> allGames = tournament.getAllGames();
+        Map<Game, Integer> positions = new HashMap<>();
+        for (int position = 0; position < allGames.size(); position++) {
+            positions.put(allGames.get(position), position);
+        }
+
+        // Name dictionary
+        Map<String, Integer> nameIds = new HashMap<>();
+        List<byte[]> encodedNames = new ArrayList<>();
+        int[] participantNames = new int[participants.size()];
+        for (int id = 0; id < participants.size(); id++) {
+            Participant participant = participants.get(id);
+            String name = participant == null ? null : participant.getName();
+            if (name == null) {
+                participantNames[id] = EMPTY;
+                continue;
+            }
+            Integer nameId = nameIds.get(name);
+            if (nameId == null) {
+                nameId = encodedNames.size();
+                nameIds.put(name, nameId);
+                encodedNames.add(name.getBytes(StandardCharsets.UTF_8));
+            }
+            participantNames[id] = nameId;
+        }
+
+        try (FileChannel output = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            SectionWriter writer = new SectionWriter(output, HEADER_SIZE);
+            long namesPosition = writer.position();
+            for (int nameId : participantNames) {
+                writer.putInt(nameId);
+            }
+            int offset = 0;
+            for (byte[] name : encodedNames) {
+                writer.putInt(offset);
+                offset += varintSize(name.length) + name.length;
+            }
+            for (byte[] name : encodedNames) {
+                writer.putVarint(name.length);
+                writer.putBytes(name);
+            }
+
+            long topologyPosition = writer.position();
+            writer.putVarint(rounds.size());
+            for (List<Game> round : rounds) {
+                writer.putVarint(round.size());
+            }
+            for (int position = 0; position < allGames.size(); position++) {
+                Optional<Game> following = allGames.get(position).getFollowingGame();
+                writer.putVarint(following.isPresent() ? positions.get(following.get()) - position : 0);
+            }
+
+            long gamesPosition = writer.position();
+            for (Game game : allGames) {
+                List<Participant> gameParticipants = game.getParticipants();
+                for (int slot = 0; slot < 2; slot++) {
+                    writer.putInt(slot < gameParticipants.size() ? participantIds.get(gameParticipants.get(slot)) : EMPTY);
+                }
+                for (int slot = 0; slot < 2; slot++) {
+                    writer.putInt(slot < gameParticipants.size() ? game.getPoints(gameParticipants.get(slot)) : 0);
+                }
+                writer.putInt(game.getStatus().ordinal());
+            }
+
+            long flagsPosition = writer.position();
+            long word = 0;
+            for (int id = 0; id < participants.size(); id++) {
+                Participant participant = participants.get(id);
+                if (participant != null && participant.isEliminated()) {
+                    word |= 1L << (id & 63);
+                }
+                if ((id & 63) == 63 || id == participants.size() - 1) {
+                    writer.putLong(word);
+                    word = 0;
+                }
+            }
+            long end = writer.position();
+            writer.flush();
+
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+            header.putInt(MAGIC).putInt(VERSION).put((byte) tournament.getStatus().ordinal()).put(new byte[3])
+                    .putInt(participants.size()).putInt(allGames.size()).putInt(encodedNames.size())
+                    .putLong(namesPosition).putLong(topologyPosition).putLong(gamesPosition).putLong(flagsPosition).putLong(end)
+                    .flip();
+            while (header.hasRemaining()) {
+                output.write(header, header.position());
+            }
+        }
+    }
+
+    /**
+     * Opens an archive file. Only the header is read; the rest of the file is mapped and read on demand.
+     *
+     * @param file The file written by write().
+     * @throws IOException If the file cannot be read, or is not an archive of a supported version.
+     */
+    public static BracketArchive open(Path file) throws IOException {
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.READ);
+        try {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+            while (header.hasRemaining() && channel.read(header) >= 0) {
+                // read the whole header
+            }
+            if (header.position() < HEADER_SIZE || header.getInt(0) != MAGIC) {
+                throw new IOException("Not a bracket archive: " + file);
+            }
+            if (header.getInt(4) != VERSION) {
+                throw new IOException("Unsupported bracket archive version " + header.getInt(4) + ": " + file);
+            }
+            if (channel.size() < header.getLong(56)) {
+                throw new IOException("Truncated bracket archive: " + file);
+            }
+            return new BracketArchive(channel, header);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        this.channel.close();
+    }
+
+    /**
+     * @return The Status of the Tournament when it was archived.
+     */
+    public Status getStatus() {
+        return this.status;
+    }
+
+    /**
+     * @return The participants, in the order of the draw once the Tournament has started.
+     */
+    public List<Participant> getParticipants() {
+        return new AbstractList<Participant>() {
+            @Override
+            public Participant get(int index) {
+                Objects.checkIndex(index, participantCount);
+                return new ArchivedParticipant(BracketArchive.this, index);
+            }
+
+            @Override
+            public int size() {
+                return participantCount;
+            }
+        };
+    }
+
+    /**
+     * @return All the games of the Tournament tree, in round order.
+     */
+    public List<Game> getAllGames() {
+        return this.gameList(0, this.gameCount);
+    }
+
+    /**
+     * @return The rounds of the Tournament.
+     */
+    public List<List<Game>> getRounds() {
+        int[] roundStarts = this.topology().roundStarts;
+        List<List<Game>> rounds = new ArrayList<>(roundStarts.length - 1);
+        for (int r = 0; r + 1 < roundStarts.length; r++) {
+            rounds.add(this.gameList(roundStarts[r], roundStarts[r + 1]));
+        }
+        return Collections.unmodifiableList(rounds);
+    }
+
+    private List<Game> gameList(int from, int to) {
+        return new AbstractList<Game>() {
+            @Override
+            public Game get(int index) {
+                Objects.checkIndex(index, to - from);
+                return new ArchivedGame(BracketArchive.this, from + index);
+            }
+
+            @Override
+            public int size() {
+                return to - from;
+            }
+        };
+    }
+
+    String participantName(int participant) {
+        int nameId = this.names.getInt(4 * participant);
+        if (nameId == EMPTY) {
+            return null;
+        }
+        int dataStart = 4 * this.participantCount + 4 * this.nameCount;
+        ByteBuffer name = this.names.duplicate();
+        name.position(dataStart + this.names.getInt(4 * this.participantCount + 4 * nameId));
+        byte[] bytes = new byte[readVarint(name)];
+        name.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    boolean isEliminated(int participant) {
+        return (this.flags.getLong(8 * (participant >>> 6)) & (1L << (participant & 63))) != 0;
+    }
+
+    int participantId(int game, int slot) {
+        return this.games.getInt(GAME_RECORD_SIZE * game + 4 * slot);
+    }
+
+    int points(int game, int slot) {
+        return this.games.getInt(GAME_RECORD_SIZE * game + 8 + 4 * slot);
+    }
+
+    Status status(int game) {
+        return STATUSES[this.games.getInt(GAME_RECORD_SIZE * game + 16)];
+    }
+
+    int followingGame(int game) {
+        return this.topology().following[game];
+    }
+
+    int[] previousGames(int game) {
+        Topology current = this.topology();
+        int first = current.previous[2 * game];
+        int second = current.previous[2 * game + 1];
+        if (first == EMPTY) {
+            return new int[0];
+        } else if (second == EMPTY) {
+            return new int[]{first};
+        }
+        return new int[]{first, second};
+    }
+
+    private Topology topology() {
+        Topology current = this.topology;
+        if (current == null) {
+            // Decoding twice in a race is harmless, both results are equal
+            current = new Topology(this.topologyBuffer.duplicate(), this.gameCount);
+            this.topology = current;
+        }
+        return current;
+    }
+
+    /**
+     * The decoded topology: round boundaries, and the following and previous games of each game.
+     */
+    private static final class Topology {
+
+        private final int[] roundStarts;
+        private final int[] following;
+        private final int[] previous;
+
+        Topology(ByteBuffer buffer, int gameCount) {
+            this.roundStarts = new int[readVarint(buffer) + 1];
+            for (int r = 1; r < this.roundStarts.length; r++) {
+                this.roundStarts[r] = this.roundStarts[r - 1] + readVarint(buffer);
+            }
+            this.following = new int[gameCount];
+            this.previous = new int[2 * gameCount];
+            Arrays.fill(this.previous, EMPTY);
+            for (int game = 0; game < gameCount; game++) {
+                int distance = readVarint(buffer);
+                this.following[game] = distance == 0 ? EMPTY : game + distance;
+                if (distance != 0) {
+                    int slot = this.previous[2 * this.following[game]] == EMPTY ? 0 : 1;
+                    this.previous[2 * this.following[game] + slot] = game;
+                }
+            }
+        }
+    }
+
+    private static int readVarint(ByteBuffer buffer) {
+        int value = 0;
+        for (int shift = 0; ; shift += 7) {
+            byte b = buffer.get();
+            value |= (b & 0x7F) << shift;
+            if (b >= 0) {
+                return value;
+            }
+        }
+    }
+
+    private static int varintSize(int value) {
+        int size = 1;
+        while ((value >>>= 7) != 0) {
+            size++;
+        }
+        return size;
+    }
+
+    /**
+     * Buffered sequential writer of the sections of an archive.
+     */
+    private static final class SectionWriter {
+
+        private final FileChannel channel;
+        private final ByteBuffer buffer = ByteBuffer.allocate(1 << 16);
+        private long position;
+
+        SectionWriter(FileChannel channel, long position) {
+            this.channel = channel;
+            this.position = position;
+        }
+
+        long position() {
+            return this.position + this.buffer.position();
+        }
+
+        void putInt(int value) throws IOException {
+            this.ensure(4);
+            this.buffer.putInt(value);
+        }
+
+        void putLong(long value) throws IOException {
+            this.ensure(8);
+            this.buffer.putLong(value);
+        }
+
+        void putVarint(int value) throws IOException {
+            this.ensure(5);
+            while ((value & ~0x7F) != 0) {
+                this.buffer.put((byte) ((value & 0x7F) | 0x80));
+                value >>>= 7;
+            }
+            this.buffer.put((byte) value);
+        }
+
+        void putBytes(byte[] bytes) throws IOException {
+            for (int from = 0; from < bytes.length; ) {
+                this.ensure(1);
+                int count = Math.min(this.buffer.remaining(), bytes.length - from);
+                this.buffer.put(bytes, from, count);
+                from += count;
+            }
+        }
+
+        void flush() throws IOException {
+            this.buffer.flip();
+            while (this.buffer.hasRemaining()) {
+                this.position += this.channel.write(this.buffer, this.position);
+            }
+            this.buffer.clear();
+        }
+
+        private void ensure(int size) throws IOException {
+            if (this.buffer.remaining() < size) {
+                this.flush();
+            }
+        }
+    }
+}
@@ -0,0 +1,266 @@
+package tournamentmanager.core.impl;
+
+import tournamentmanager.core.api.*;
+
+import java.util.*;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Publishes the changes of a Tournament as BracketEvents, translated from the events of its Games.
+ * <p>
+ * Each subscriber has its own queue, delivered on the executor according to the demand of the subscriber.
+ * Points updates that are still queued for a subscriber are coalesced: a new POINTS_ADDED event for the same
+ * Participant of the same Game replaces the queued one, so a slow subscriber receives the latest score instead of
+ * every intermediate one, and its queue never holds more than a few events per Game.
+ */
+public class BracketEventPublisher implements Flow.Publisher<BracketEvent>, GameListener {
+
+    private static final BracketSubscription[] NO_SUBSCRIPTIONS = new BracketSubscription[0];
+
+    private final Executor executor;
+    private volatile BracketSubscription[] subscriptions = NO_SUBSCRIPTIONS;
+    private boolean closed;
+
+    public BracketEventPublisher() {
+        this(ForkJoinPool.commonPool());
+    }
+
+    /**
+     * @param executor The executor delivering the events to the subscribers.
+     */
+    public BracketEventPublisher(Executor executor) {
+        if (executor == null) {
+            throw new IllegalArgumentException("The executor cannot be null.");
+        }
+        this.executor = executor;
+    }
+
+    @Override
+    public void subscribe(Flow.Subscriber<? super BracketEvent> subscriber) {
+        if (subscriber == null) {
+            throw new NullPointerException("The subscriber cannot be null.");
+        }
+        BracketSubscription subscription = new BracketSubscription(subscriber);
+        synchronized (this) {
+            if (this.closed) {
+                subscription.completed = true;
+            } else {
+                BracketSubscription[] newSubscriptions = Arrays.copyOf(this.subscriptions, this.subscriptions.length + 1);
+                newSubscriptions[this.subscriptions.length] = subscription;
+                this.subscriptions = newSubscriptions;
+            }
+        }
+        subscriber.onSubscribe(subscription);
+        subscription.subscribed();
+    }
+
+    /**
+     * @return Whether some subscribers are currently subscribed.
+     */
+    public boolean hasSubscribers() {
+        return this.subscriptions.length > 0;
+    }
+
+    /**
+     * Publishes TOURNAMENT_ENDED, then completes every subscriber once it received its queued events.
+     */
+    public void tournamentEnded() {
+        BracketSubscription[] current;
+        synchronized (this) {
+            this.closed = true;
+            current = this.subscriptions;
+            this.subscriptions = NO_SUBSCRIPTIONS;
+        }
+        BracketEvent event = new BracketEvent(BracketEvent.Type.TOURNAMENT_ENDED, null, null, 0);
+        for (BracketSubscription subscription : current) {
+            subscription.offer(event);
+            subscription.complete();
+        }
+    }
+
+    @Override
+    public void participantAdded(Game game, Participant participant) {
+        if (this.hasSubscribers()) {
+            this.publish(new BracketEvent(BracketEvent.Type.PARTICIPANT_ADVANCED, game, participant, 0));
+        }
+    }
+
+    @Override
+    public void statusChanged(Game game, Status previousStatus, Status newStatus) {
+        if (!this.hasSubscribers()) {
+            return;
+        }
+        if (newStatus == Status.INPROGRESS && previousStatus == Status.NOTSTARTED) {
+            this.publish(new BracketEvent(BracketEvent.Type.GAME_STARTED, game, null, 0));
+        } else if (newStatus == Status.FINISHED) {
+            try {
+                this.publish(new BracketEvent(BracketEvent.Type.GAME_FINISHED, game, game.getWinner(), 0));
+                // Games eliminate their loser before notifying their listeners; in a double-elimination bracket,
+                // or in a Swiss round, the loser is not eliminated and plays on
+                Participant loser = game.getLoser();
+                if (loser.isEliminated()) {
+                    this.publish(new BracketEvent(BracketEvent.Type.PARTICIPANT_ELIMINATED, game, loser, 0));
+                }
+            } catch (TournamentException e) {
+                throw new RuntimeException("INTERNAL ERROR: a finished game has no winner! This should never happen.", e);
+            }
+        }
+    }
+
+    @Override
+    public void pointsAdded(Game game, Participant participant, int points) {
+        if (this.hasSubscribers()) {
+            this.publish(new BracketEvent(BracketEvent.Type.POINTS_ADDED, game, participant, game.getPoints(participant)));
+        }
+    }
+
+    private void publish(BracketEvent event) {
+        for (BracketSubscription subscription : this.subscriptions) {
+            subscription.offer(event);
+        }
+    }
+
+    private synchronized void remove(BracketSubscription subscription) {
+        List<BracketSubscription> newSubscriptions = new ArrayList<>(Arrays.asList(this.subscriptions));
+        newSubscriptions.remove(subscription);
+        this.subscriptions = newSubscriptions.toArray(NO_SUBSCRIPTIONS);
+    }
+
+    /**
+     * A queued event; the event of a POINTS_ADDED entry is replaced while it is still queued.
+     */
+    private static final class Pending {
+        private BracketEvent event;
+
+        Pending(BracketEvent event) {
+            this.event = event;
+        }
+    }
+
+    /**
+     * The queue and demand of one subscriber. Signals are delivered by at most one drain task at a time.
+     */
+    private final class BracketSubscription implements Flow.Subscription {
+
+        private final Flow.Subscriber<? super BracketEvent> subscriber;
+        private final ArrayDeque<Pending> queue = new ArrayDeque<>();
+        private final Map<Map.Entry<Game, Participant>, Pending> queuedPoints = new HashMap<>();
+        private long demand;
+        private boolean ready;
+        private boolean draining;
+        private boolean completed;
+        private boolean cancelled;
+        private Throwable error;
+
+        BracketSubscription(Flow.Subscriber<? super BracketEvent> subscriber) {
+            this.subscriber = subscriber;
+        }
+
+        synchronized void subscribed() {
+            this.ready = true;
+            this.schedule();
+        }
+
+        synchronized void offer(BracketEvent event) {
+            if (this.cancelled || this.completed) {
+                return;
+            }
+            if (event.getType() == BracketEvent.Type.POINTS_ADDED) {
+                Map.Entry<Game, Participant> key = new AbstractMap.SimpleImmutableEntry<>(event.getGame(), event.getParticipant());
+                Pending queued = this.queuedPoints.get(key);
+                if (queued != null) {
+                    queued.event = event;
+                    return;
+                }
+                queued = new Pending(event);
+                this.queuedPoints.put(key, queued);
+                this.queue.add(queued);
+            } else {
+                this.queue.add(new Pending(event));
+            }
+            this.schedule();
+        }
+
+        synchronized void complete() {
+            this.completed = true;
+            this.schedule();
+        }
+
+        @Override
+        public void request(long n) {
+            synchronized (this) {
+                if (n <= 0) {
+                    this.error = new IllegalArgumentException("The requested number of events must be positive.");
+                } else {
+                    this.demand = this.demand + n < 0 ? Long.MAX_VALUE : this.demand + n;
+                }
+                this.schedule();
+            }
+        }
+
+        @Override
+        public void cancel() {
+            synchronized (this) {
+                this.cancelled = true;
+                this.queue.clear();
+                this.queuedPoints.clear();
+            }
+            remove(this);
+        }
+
+        // Must hold the lock
+        private void schedule() {
+            if (this.draining || !this.ready || this.cancelled) {
+                return;
+            }
+            if (this.error != null || (this.demand > 0 && !this.queue.isEmpty()) || (this.completed && this.queue.isEmpty())) {
+                this.draining = true;
+                executor.execute(this::drain);
+            }
+        }
+
+        private void drain() {
+            while (true) {
+                BracketEvent event = null;
+                Throwable failure = null;
+                synchronized (this) {
+                    if (this.cancelled) {
+                        this.draining = false;
+                        return;
+                    } else if (this.error != null) {
+                        failure = this.error;
+                        this.cancelled = true;
+                    } else if (this.demand > 0 && !this.queue.isEmpty()) {
+                        event = this.queue.poll().event;
+                        if (event.getType() == BracketEvent.Type.POINTS_ADDED) {
+                            this.queuedPoints.remove(new AbstractMap.SimpleImmutableEntry<>(event.getGame(), event.getParticipant()));
+                        }
+                        this.demand--;
+                    } else if (this.completed && this.queue.isEmpty()) {
+                        this.cancelled = true;
+                    } else {
+                        this.draining = false;
+                        return;
+                    }
+                }
+                if (failure != null) {
+                    remove(this);
+                    this.subscriber.onError(failure);
+                    return;
+                } else if (event == null) {
+                    this.subscriber.onComplete();
+                    return;
+                }
+                try {
+                    this.subscriber.onNext(event);
+                } catch (RuntimeException e) {
+                    // A failing subscriber is cancelled
+                    this.cancel();
+                    return;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,146 @@
+package tournamentmanager.core.impl;
+
+import tournamentmanager.core.api.Status;
+import tournamentmanager.util.PersistentVector;
+
+import java.util.*;
+
+/**
+ * Immutable, versioned state of a whole tournament tree, published by TournamentImpl.
+ * <p>
+ * A snapshot is a consistent view that readers can use from any thread without locking: a finished game always
+ * appears with its winner in the following game. Successive snapshots share the state of the games that did not
+ * change, so publishing a new version only copies the paths to the changed games.
+ */
+public final class BracketSnapshot {
+
+    static final BracketSnapshot EMPTY = new BracketSnapshot(0, Status.NOTSTARTED, new int[]{0},
+            PersistentVector.of(Collections.emptyList()));
+
+    private final long version;
+    private final Status tournamentStatus;
+    // Position of the first game of each round, and the total number of games at the end; shared by all versions
+    private final int[] roundStarts;
+    private final PersistentVector<GameSnapshot> games;
+    // Games grouped by status, computed on first use
+    private volatile Map<Status, List<GameSnapshot>> gamesByStatus;
+
+    private BracketSnapshot(long version, Status tournamentStatus, int[] roundStarts, PersistentVector<GameSnapshot> games) {
+        this.version = version;
+        this.tournamentStatus = tournamentStatus;
+        this.roundStarts = roundStarts;
+        this.games = games;
+    }
+
+    static BracketSnapshot of(long version, Status tournamentStatus, int[] roundStarts, List<GameSnapshot> games) {
+        return new BracketSnapshot(version, tournamentStatus, roundStarts, PersistentVector.of(games));
+    }
+
+    /**
+     * Records a finished game together with the arrival of its winner in the following game and, in a
+     * double-elimination bracket, of its loser in its loser game.
+     *
+     * @param followingPosition The position of the following game, or -1 if the game is the final.
+     * @param loserPosition     The position of the loser game, or -1 if the loser is eliminated.
+     */
+    BracketSnapshot withFinishedGame(GameSnapshot game, int followingPosition, int loserPosition) {
+        PersistentVector<GameSnapshot> newGames = this.games.with(game.getPosition(), game);
+        if (followingPosition >= 0) {
+            newGames = newGames.with(followingPosition, newGames.get(followingPosition).withParticipant(game.getWinner()));
+        }
+        if (loserPosition >= 0) {
+            newGames = newGames.with(loserPosition, newGames.get(loserPosition).withParticipant(game.getLoser()));
+        }
+        return new BracketSnapshot(this.version + 1, this.tournamentStatus, this.roundStarts, newGames);
+    }
+
+    /**
+     * Records a game in progress, after it started or scored. A game that this snapshot already shows as finished is
+     * left as it is, as its final state was recorded when it finished.
+     *
+     * @return The new snapshot, or this snapshot if the game is not in progress anymore.
+     */
+    BracketSnapshot withGameInProgress(GameSnapshot game) {
+        if (game.getStatus() != Status.INPROGRESS || this.games.get(game.getPosition()).getStatus() == Status.FINISHED) {
+            return this;
+        }
+        return new BracketSnapshot(this.version + 1, this.tournamentStatus, this.roundStarts,
+                this.games.with(game.getPosition(), game));
+    }
+
+    /**
+     * Appends a round, whose games must be positioned right after the last game. Copies the whole vector, as the
+     * games it holds are positioned once when the tree is built.
+     */
+    BracketSnapshot withRound(List<GameSnapshot> round) {
+        int[] newRoundStarts = Arrays.copyOf(this.roundStarts, this.roundStarts.length + 1);
+        newRoundStarts[newRoundStarts.length - 1] = newRoundStarts[newRoundStarts.length - 2] + round.size();
+        List<GameSnapshot> newGames = new ArrayList<>(this.games.asList());
+        newGames.addAll(round);
+        return new BracketSnapshot(this.version + 1, this.tournamentStatus, newRoundStarts, PersistentVector.of(newGames));
+    }
+
+    BracketSnapshot withTournamentStatus(Status tournamentStatus) {
+        return new BracketSnapshot(this.version + 1, tournamentStatus, this.roundStarts, this.games);
+    }
+
+    /**
+     * @return The version of the snapshot, incremented by each change.
+     */
+    public long getVersion() {
+        return this.version;
+    }
+
+    public Status getTournamentStatus() {
+        return this.tournamentStatus;
+    }
+
+    public List<GameSnapshot> getAllGames() {
+        return this.games.asList();
+    }
+
+    public List<List<GameSnapshot>> getRounds() {
+        List<List<GameSnapshot>> rounds = new ArrayList<>(this.roundStarts.length - 1);
+        for (int round = 0; round < this.roundStarts.length - 1; round++) {
+            rounds.add(this.games.subList(this.roundStarts[round], this.roundStarts[round + 1]));
+        }
+        return Collections.unmodifiableList(rounds);
+    }
+
+    /**
+     * @return The games that had the given status when the snapshot was taken, in round order.
+     */
+    public List<GameSnapshot> getGames(Status status) {
+        return this.gamesByStatus().get(status);
+    }
+
+    public List<GameSnapshot> getGamesReadyToStart() {
+        List<GameSnapshot> ready = new ArrayList<>();
+        for (GameSnapshot game : this.getGames(Status.NOTSTARTED)) {
+            if (game.isReadyToStart()) {
+                ready.add(game);
+            }
+        }
+        return Collections.unmodifiableList(ready);
+    }
+
+    private Map<Status, List<GameSnapshot>> gamesByStatus() {
+        Map<Status, List<GameSnapshot>> result = this.gamesByStatus;
+        if (result == null) {
+            // Racing readers compute the same immutable result, so no lock is needed
+            Map<Status, List<GameSnapshot>> grouped = new EnumMap<>(Status.class);
+            for (Status status : Status.values()) {
+                grouped.put(status, new ArrayList<>());
+            }
+            for (GameSnapshot game : this.games.asList()) {
+                grouped.get(game.getStatus()).add(game);
+            }
+            for (Status status : Status.values()) {
+                grouped.put(status, Collections.unmodifiableList(grouped.get(status)));
+            }
+            result = Collections.unmodifiableMap(grouped);
+            this.gamesByStatus = result;
+        }
+        return result;
+    }
+}
@@ -0,0 +1,35 @@
+package tournamentmanager.core.impl;
+
+/**
+ * Storage of the state of a {@link HeapBracket}.
+ * <p>
+ * Slots and scores are indexed by 2 * game + slot, statuses by game, and eliminations by participant handle.
+ */
+interface BracketStore {
+
+    /**
+     * @return The number of participants of the bracket.
+     */
+    int size();
+
+    int slot(int index);
+
+    void setSlot(int index, int participant);
+
+    int score(int index);
+
+    void setScore(int index, int points);
+
+    byte status(int game);
+
+    void setStatus(int game, byte status);
+
+    boolean isEliminated(int participant);
+
+    void setEliminated(int participant);
+
+    /**
+     * @return The stored name of a participant, or null if the store does not keep names.
+     */
+    String participantName(int participant);
+}
@@ -0,0 +1,323 @@
+package tournamentmanager.core.impl;
+
+import tournamentmanager.core.api.*;
+
+import java.util.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Game implementation that can be shared by many threads, for instance several referee terminals.
+ * <p>
+ * Each participant slot has its own atomic score counter, so concurrent addPoints() never block each other.
+ * The status is a compare-and-set state machine (NOTSTARTED, INPROGRESS, FINISHED) stored in a single
+ * state word, which also counts the addPoints() calls in flight: finish() first closes the game to new points,
+ * then waits for the calls in flight to complete before reading the scores.
+ * A call to addPoints() therefore either counts in the final score, or fails because the game is finished.
+ * <p>
+ * The veto listeners run while a call holds its place in the state word, and may be slow (e.g. a journal waiting for
+ * the disk): threads waiting for the state word spin briefly, then park for growing delays, up to a millisecond.
+ */
+public class ConcurrentGameImpl implements Game {
+
+    private static final int NOTSTARTED = 0;
+    private static final int INPROGRESS = 1;
+    private static final int FINISHED = 2;
+    // Transient phase of finish(), seen as INPROGRESS from the outside
+    private static final int FINISHING = 3;
+    private static final int PHASE_MASK = 3;
+    private static final int WRITER = 4;
+    // Waits shorter than this number of attempts spin, longer ones park
+    private static final int SPINS = 64;
+    private static final long MAX_PARK_NANOS = 1_000_000;
+
+    private static final Status[] STATUSES = {Status.NOTSTARTED, Status.INPROGRESS, Status.FINISHED, Status.INPROGRESS};
+    private static final GameListener[] NO_LISTENERS = new GameListener[0];
+
+    private final AtomicReferenceArray<Participant> slots = new AtomicReferenceArray<>(2);
+    private final AtomicIntegerArray scores = new AtomicIntegerArray(2);
+    private final AtomicInteger state = new AtomicInteger(NOTSTARTED);
+    private volatile Game followingGame;
+    private volatile List<Game> previousGames = Collections.emptyList();
+    private volatile GameListener[] listeners = NO_LISTENERS;
+
+    @Override
+    public void addParticipant(Participant participant) throws TournamentException {
+        if (participant == null) {
+            throw new IllegalArgumentException("The participant cannot be null.");
+        }
+        for (int slot = 0; slot < 2; slot++) {
+            if (this.slots.compareAndSet(slot, null, participant)) {
+                for (GameListener listener : this.listeners) {
+                    listener.participantAdded(this, participant);
+                }
+                return;
+            } else if (participant.equals(this.slots.get(slot))) {
+                throw new TournamentException("Cannot add participant to game, participant is already part of this game.");
+            }
+        }
+        throw new TournamentException("Cannot add participant to game, game already has two participants.");
+    }
+
+    @Override
+    public void addPoints(Participant participant, int points) throws TournamentException {
+        if (participant == null) {
+            throw new IllegalArgumentException("The participant cannot be null.");
+        }
+        int phase = phase(this.state.get());
+        if (phase == NOTSTARTED || phase == FINISHED) {
+            throw new TournamentException("Cannot change status of a game that is not in progress.");
+        }
+        int slot = this.slotOf(participant);
+        if (slot < 0) {
+            throw new IllegalArgumentException("Cannot add points to a participants that is not part of this game.");
+        }
+
+        // Register as a writer, unless the game is being finished
+        for (int attempt = 0; ; ) {
+            int current = this.state.get();
+            phase = phase(current);
+            if (phase == FINISHING) {
+                backOff(attempt++);
+            } else if (phase != INPROGRESS) {
+                throw new TournamentException("Cannot change status of a game that is not in progress.");
+            } else if (this.state.compareAndSet(current, current + WRITER)) {
+                break;
+            }
+        }
+        try {
+            GameListener[] listeners = this.listeners;
+            // Last registered, first consulted: see GameListener.statusChanging()
+            for (int i = listeners.length - 1; i >= 0; i--) {
+                listeners[i].pointsAdding(this, participant, points);
+            }
+            this.scores.getAndAdd(slot, points);
+        } finally {
+            this.state.getAndAdd(-WRITER);
+        }
+        for (GameListener listener : this.listeners) {
+            listener.pointsAdded(this, participant, points);
+        }
+    }
+
+    @Override
+    public void start() throws TournamentException {
+        if (phase(this.state.get()) != NOTSTARTED) {
+            throw new TournamentException("Cannot start a game that has already started.");
+        } else if (this.slots.get(1) == null) {
+            throw new TournamentException("Cannot start a game that does not have two participants.");
+        }
+        // A racing start() may also be announced, but only one of them changes the status
+        this.fireStatusChanging(Status.NOTSTARTED, Status.INPROGRESS);
+        if (!this.state.compareAndSet(NOTSTARTED, INPROGRESS)) {
+            throw new TournamentException("Cannot start a game that has already started.");
+        }
+        this.fireStatusChanged(Status.NOTSTARTED, Status.INPROGRESS);
+    }
+
+    @Override
+    public void finish() throws TournamentException {
+        // Close the game to new points
+        for (int attempt = 0; ; ) {
+            int current = this.state.get();
+            int phase = phase(current);
+            if (phase == FINISHING) {
+                backOff(attempt++);
+            } else if (phase != INPROGRESS) {
+                throw new TournamentException("Cannot finish a game that has not started.");
+            } else if (this.state.compareAndSet(current, current - INPROGRESS + FINISHING)) {
+                break;
+            }
+        }
+        // Wait for the points in flight
+        for (int attempt = 0; this.state.get() != FINISHING; attempt++) {
+            backOff(attempt);
+        }
+
+        if (this.scores.get(0) == this.scores.get(1)) {
+            this.state.set(INPROGRESS);
+            throw new TournamentException("Cannot set the game to 'finished', the scores are ex-aequo. A winner is required.");
+        }
+        try {
+            this.fireStatusChanging(Status.INPROGRESS, Status.FINISHED);
+        } catch (RuntimeException e) {
+            this.state.set(INPROGRESS);
+            throw e;
+        }
+        this.state.set(FINISHED);
+        // Eliminated before the listeners are notified, so that they see the outcome of the game
+        this.getLoser().eliminate();
+        this.fireStatusChanged(Status.INPROGRESS, Status.FINISHED);
+
+        Game following = this.followingGame;
+        if (following != null) {
+            following.addParticipant(this.getWinner());
+        }
+    }
+
+    /**
+     * Waits before the next attempt to read the state word: spins for the first attempts, as the state usually changes
+     * within a few instructions, then parks, as the thread holding it may be running slow listeners.
+     */
+    private static void backOff(int attempt) {
+        if (attempt < SPINS) {
+            Thread.onSpinWait();
+        } else {
+            LockSupport.parkNanos(Math.min(1L << Math.min(attempt - SPINS + 10, 20), MAX_PARK_NANOS));
+        }
+    }
+
+    @Override
+    public List<Game> getPreviousGames() {
+        return this.previousGames;
+    }
+
+    @Override
+    public Status getStatus() {
+        return STATUSES[phase(this.state.get())];
+    }
+
+    @Override
+    public List<Participant> getParticipants() {
+        Participant first = this.slots.get(0);
+        Participant second = this.slots.get(1);
+        if (first == null) {
+            return Collections.emptyList();
+        } else if (second == null) {
+            return List.of(first);
+        }
+        return List.of(first, second);
+    }
+
+    @Override
+    public Participant getWinner() throws TournamentException {
+        if (phase(this.state.get()) != FINISHED) {
+            throw new TournamentException("Cannot retrieve winner, the game is not finished.");
+        }
+        int first = this.scores.get(0);
+        int second = this.scores.get(1);
+        if (first > second) {
+            return this.slots.get(0);
+        } else if (second > first) {
+            return this.slots.get(1);
+        } else {
+            return null; //never happens
+        }
+    }
+
+    @Override
+    public Participant getLoser() throws TournamentException {
+        if (phase(this.state.get()) != FINISHED) {
+            throw new TournamentException("Cannot retrieve loser, the game is not finished.");
+        }
+        int first = this.scores.get(0);
+        int second = this.scores.get(1);
+        if (first < second) {
+            return this.slots.get(0);
+        } else if (second < first) {
+            return this.slots.get(1);
+        } else {
+            return null; //never happens
+        }
+    }
+
+    @Override
+    public Optional<Game> getFollowingGame() {
+        return Optional.ofNullable(this.followingGame);
+    }
+
+    @Override
+    public void setFollowingGame(Game game) throws IllegalArgumentException {
+        if (game == null) {
+            throw new IllegalArgumentException("A game cannot be null.");
+        }
+        this.followingGame = game;
+    }
+
+    @Override
+    public synchronized void addPreviousGame(Game game) throws TournamentException {
+        if (phase(this.state.get()) != NOTSTARTED) {
+            throw new TournamentException("Cannot modify the previous games after the game has started.");
+        } else if (game == null) {
+            throw new IllegalArgumentException("A game cannot be null.");
+        } else if (this.previousGames.contains(game)) {
+            throw new TournamentException("Cannot add a previous game, already present.");
+        } else if (this.previousGames.size() >= 2) {
+            throw new TournamentException("Cannot add a previous game, there are already two previous games.");
+        }
+        List<Game> newPreviousGames = new ArrayList<>(this.previousGames);
+        newPreviousGames.add(game);
+        this.previousGames = Collections.unmodifiableList(newPreviousGames);
+    }
+
+    @Override
+    public int getPoints(Participant participant) {
+        int slot = this.slotOf(participant);
+        if (slot < 0) {
+            throw new IllegalArgumentException("The participant is not part of this game.");
+        }
+        return this.scores.get(slot);
+    }
+
+    @Override
+    public void setStatus(Status status) {
+        if (this.getStatus() != status) {
+            this.fireStatusChanging(this.getStatus(), status);
+        }
+        int current;
+        do {
+            current = this.state.get();
+        } while (!this.state.compareAndSet(current, (current & ~PHASE_MASK) | status.ordinal()));
+        Status previousStatus = STATUSES[phase(current)];
+        if (previousStatus != status) {
+            this.fireStatusChanged(previousStatus, status);
+        }
+    }
+
+    @Override
+    public synchronized void addGameListener(GameListener listener) {
+        if (listener == null) {
+            throw new IllegalArgumentException("A listener cannot be null.");
+        }
+        GameListener[] newListeners = Arrays.copyOf(this.listeners, this.listeners.length + 1);
+        newListeners[this.listeners.length] = listener;
+        this.listeners = newListeners;
+    }
+
+    @Override
+    public synchronized void removeGameListener(GameListener listener) {
+        List<GameListener> newListeners = new ArrayList<>(Arrays.asList(this.listeners));
+        newListeners.remove(listener);
+        this.listeners = newListeners.toArray(NO_LISTENERS);
+    }
+
+    private int slotOf(Participant participant) {
+        if (participant == null) {
+            return -1;
+        } else if (participant.equals(this.slots.get(0))) {
+            return 0;
+        } else if (participant.equals(this.slots.get(1))) {
+            return 1;
+        }
+        return -1;
+    }
+
+    private void fireStatusChanging(Status currentStatus, Status newStatus) {
+        GameListener[] listeners = this.listeners;
+        for (int i = listeners.length - 1; i >= 0; i--) {
+            listeners[i].statusChanging(this, currentStatus, newStatus);
+        }
+    }
+
+    private void fireStatusChanged(Status previousStatus, Status newStatus) {
+        for (GameListener listener : this.listeners) {
+            listener.statusChanged(this, previousStatus, newStatus);
+        }
+    }
+
+    private static int phase(int state) {
+        return state & PHASE_MASK;
+    }
+}
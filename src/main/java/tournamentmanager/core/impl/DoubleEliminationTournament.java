@@ -0,0 +1,210 @@
+package tournamentmanager.core.impl;
+
+import tournamentmanager.core.api.*;
+import tournamentmanager.util.Util;
+
+import java.util.*;
+
+/**
+ * Double-elimination Tournament: a participant is only eliminated after losing two games.
+ * <p>
+ * The winners bracket is the single-elimination tree built by the TournamentTreeBuilder given to start(). When the
+ * Tournament starts, the losers bracket is built next to it, and each game of the winners bracket is given the game
+ * of the losers bracket where its loser drops (see GameImpl.setLoserGame()): these destinations are computed once
+ * from index tables, so that finishing a game routes both its winner and its loser in constant time.
+ * <p>
+ * The losers bracket alternates two kinds of rounds: rounds where the participants that dropped from the winners
+ * bracket meet the survivors of the losers bracket, and rounds where these survivors meet each other. The champions
+ * of both brackets then meet in the grand final. If the champion of the losers bracket wins it, both have lost once,
+ * and a reset game is appended as a last round, whose winner wins the Tournament.
+ * <p>
+ * The rounds of the Tournament are the rounds of the winners bracket, then the rounds of the losers bracket, then the
+ * grand final, and the reset when it is played. The number of participants must be a power of two, and the games
+ * built by the TournamentTreeBuilder must be GameImpl games. Results registered with applyResults() are applied by a
+ * single thread, as games of both brackets send participants to the same games.
+ */
+public class DoubleEliminationTournament extends TournamentImpl {
+
+    private int winnersRoundCount;
+    private int losersRoundCount;
+
+    @Override
+    List<List<Game>> buildRounds(TournamentTreeBuilder builder, List<Participant> participants) throws TournamentException {
+        int size = participants.size();
+        if (!Util.isPowerOfTwo(size)) {
+            throw new TournamentException("A double-elimination tournament requires a number of participants equal to a power of two.");
+        }
+        List<List<Game>> winnersRounds = builder.buildAllRounds(participants);
+        for (List<Game> round : winnersRounds) {
+            for (Game game : round) {
+                if (!(game instanceof GameImpl)) {
+                    throw new IllegalArgumentException("A double-elimination bracket can only be built of GameImpl games.");
+                }
+            }
+        }
+
+        // Round r of the losers bracket has size / 2^(r/2 + 2) games: each pair of rounds halves the survivors
+        int losersRoundCount = 2 * (winnersRounds.size() - 1);
+        List<List<Game>> losersRounds = new ArrayList<>(losersRoundCount);
+        for (int r = 0; r < losersRoundCount; r++) {
+            int gameCount = size >> (r / 2 + 2);
+            List<Game> round = new ArrayList<>(gameCount);
+            for (int i = 0; i < gameCount; i++) {
+                round.add(new GameImpl());
+            }
+            losersRounds.add(round);
+            if (r > 0) {
+                // Same number of games after a round where participants dropped in, half as many after the others
+                List<Game> previousRound = losersRounds.get(r - 1);
+                for (int i = 0; i < previousRound.size(); i++) {
+                    link(previousRound.get(i), round.get(r % 2 == 1 ? i : i / 2));
+                }
+            }
+        }
+
+        Game winnersFinal = winnersRounds.get(winnersRounds.size() - 1).get(0);
+        GrandFinal grandFinal = new GrandFinal(winnersFinal);
+        link(winnersFinal, grandFinal);
+        if (losersRoundCount > 0) {
+            link(losersRounds.get(losersRoundCount - 1).get(0), grandFinal);
+        }
+
+        // Losers of the first round drop into the first round of the losers bracket, the others into the round
+        // where they meet its survivors; with two participants, the loser of the only game goes to the grand final
+        for (int r = 0; r < winnersRounds.size(); r++) {
+            List<Game> round = winnersRounds.get(r);
+            List<Game> destinations = losersRoundCount == 0 ? Collections.singletonList(grandFinal)
+                    : losersRounds.get(r == 0 ? 0 : 2 * r - 1);
+            int[] routes = loserRoutes(r, round.size());
+            for (int i = 0; i < round.size(); i++) {
+                ((GameImpl) round.get(i)).setLoserGame(destinations.get(routes[i]));
+            }
+        }
+
+        this.winnersRoundCount = winnersRounds.size();
+        this.losersRoundCount = losersRoundCount;
+        List<List<Game>> rounds = new ArrayList<>(winnersRounds.size() + losersRoundCount + 2);
+        rounds.addAll(winnersRounds);
+        rounds.addAll(losersRounds);
+        rounds.add(Collections.singletonList(grandFinal));
+        return rounds;
+    }
+
+    /**
+     * Computes the index table giving, for each game of a round of the winners bracket, the position of the game of
+     * the losers bracket where its loser drops.
+     * <p>
+     * Losers of the first round are paired in order. Later rounds drop into the losers bracket in reverse order, then
+     * with both halves swapped, alternately, so that participants who met in the winners bracket do not meet again
+     * right away.
+     */
+    private static int[] loserRoutes(int round, int gameCount) {
+        int[] routes = new int[gameCount];
+        for (int i = 0; i < gameCount; i++) {
+            if (round == 0) {
+                routes[i] = i / 2;
+            } else if (round % 2 == 1) {
+                routes[i] = gameCount - 1 - i;
+            } else {
+                routes[i] = (i + gameCount / 2) % gameCount;
+            }
+        }
+        return routes;
+    }
+
+    private static void link(Game game, Game following) {
+        try {
+            following.addPreviousGame(game);
+        } catch (TournamentException e) {
+            throw new RuntimeException("INTERNAL ERROR: failed when adding previous games to a new Game, should never happen!", e);
+        }
+        game.setFollowingGame(following);
+    }
+
+    /**
+     * Compute the final ranking of the double-elimination Tournament: the winner of the last game (the grand final,
+     * or the reset), its loser, then the participants eliminated in each round of the losers bracket, from the last
+     * round to the first one. Participants eliminated in the same round are ex-æquo.
+     *
+     * @return The final ranking.
+     * @throws TournamentException If the Tournament has not ended.
+     */
+    @Override
+    public List<Set<Participant>> computeFinalRanking() throws TournamentException {
+        if (this.getStatus() != Status.FINISHED) {
+            throw new TournamentException("Cannot compute ranking of unfinished tournament.");
+        }
+        List<List<Game>> rounds = this.getRounds();
+        Game lastGame = rounds.get(rounds.size() - 1).get(0);
+        List<Set<Participant>> finalRanking = new ArrayList<>(this.losersRoundCount + 2);
+        finalRanking.add(Set.of(lastGame.getWinner()));
+        finalRanking.add(Set.of(lastGame.getLoser()));
+        for (int r = this.winnersRoundCount + this.losersRoundCount - 1; r >= this.winnersRoundCount; r--) {
+            List<Game> round = rounds.get(r);
+            Set<Participant> exaequo = new HashSet<>(2 * round.size());
+            for (Game game : round) {
+                exaequo.add(game.getLoser());
+            }
+            finalRanking.add(exaequo);
+        }
+        return finalRanking;
+    }
+
+    /**
+     * Visits the ranking of computeFinalRanking(), from the last game and the losers bracket, without building it.
+     */
+    @Override
+    public <E extends Exception> void forEachRankedParticipant(RankingVisitor<E> visitor) throws TournamentException, E {
+        if (visitor == null) {
+            throw new IllegalArgumentException("The visitor cannot be null.");
+        } else if (this.getStatus() != Status.FINISHED) {
+            throw new TournamentException("Cannot compute ranking of unfinished tournament.");
+        }
+        List<List<Game>> rounds = this.getRounds();
+        Game lastGame = rounds.get(rounds.size() - 1).get(0);
+        visitor.visit(1, lastGame.getWinner());
+        visitor.visit(2, lastGame.getLoser());
+        int ranked = 2;
+        for (int r = this.winnersRoundCount + this.losersRoundCount - 1; r >= this.winnersRoundCount; r--) {
+            List<Game> round = rounds.get(r);
+            for (Game game : round) {
+                visitor.visit(ranked + 1, game.getLoser());
+            }
+            ranked += round.size();
+        }
+    }
+
+    @Override
+    boolean appliesResultsInParallel() {
+        return false;
+    }
+
+    /**
+     * Grand final, which appends the reset game to the Tournament when the champion of the losers bracket wins it.
+     */
+    private final class GrandFinal extends GameImpl {
+
+        private final Game winnersFinal;
+
+        GrandFinal(Game winnersFinal) {
+            this.winnersFinal = winnersFinal;
+        }
+
+        @Override
+        public void finish() throws TournamentException {
+            List<Participant> participants = this.getParticipants();
+            if (this.getStatus() == Status.INPROGRESS && !this.getFollowingGame().isPresent()) {
+                Participant undefeated = this.winnersFinal.getWinner();
+                Participant challenger = participants.get(0).equals(undefeated) ? participants.get(1) : participants.get(0);
+                if (this.getPoints(challenger) > this.getPoints(undefeated)) {
+                    // The reset must be part of the tree before the participants are sent to it
+                    Game reset = new GameImpl();
+                    appendRound(Collections.singletonList(reset));
+                    this.setFollowingGame(reset);
+                    this.setLoserGame(reset);
+                }
+            }
+            super.finish();
+        }
+    }
+}
@@ -6,20 +6,54 @@ import java.util.*;
 
 public class GameImpl implements Game {
 
-    private final Map<Participant, Integer> participants = new HashMap<>();
+    // Two participant slots, filled in order, each with its own primitive score
+    private Participant first;
+    private Participant second;
+    private int firstPoints;
+    private int secondPoints;
+    private List<Participant> participantsView;
     private Status status = Status.NOTSTARTED;
     private Game followingGame;
+    // Game where the loser goes instead of being eliminated, in a double-elimination bracket
+    private Game loserGame;
     private List<Game> previousGames = new ArrayList<>();
+    private GameListener[] listeners = NO_LISTENERS;
+
+    private final boolean eliminatesLoser;
+
+    private static final GameListener[] NO_LISTENERS = new GameListener[0];
+
+    public GameImpl() {
+        this(true);
+    }
+
+    /**
+     * @param eliminatesLoser Whether the loser is eliminated when the Game finishes without a loser Game;
+     *                        false for games that eliminate no one, such as the games of a Swiss round.
+     */
+    public GameImpl(boolean eliminatesLoser) {
+        this.eliminatesLoser = eliminatesLoser;
+    }
 
     @Override
     public void addParticipant(Participant participant) throws TournamentException {
         if (participant == null) {
             throw new IllegalArgumentException("The participant cannot be null.");
         }
-        if (this.participants.size() >= 2) {
+        if (this.second != null) {
             throw new TournamentException("Cannot add participant to game, game already has two participants.");
         }
-        this.participants.put(participant, 0);
+        if (participant.equals(this.first)) {
+            throw new TournamentException("Cannot add participant to game, participant is already part of this game.");
+        }
+        if (this.first == null) {
+            this.first = participant;
+        } else {
+            this.second = participant;
+        }
+        for (GameListener listener : this.listeners) {
+            listener.participantAdded(this, participant);
+        }
     }
 
     @Override
@@ -30,11 +64,21 @@ public class GameImpl implements Game {
         if (this.status != Status.INPROGRESS) {
             throw new TournamentException("Cannot change status of a game that is not in progress.");
         }
-        if (participants.containsKey(participant)) {
-            participants.put(participant, participants.get(participant) + points);
-        } else {
+        if (!participant.equals(this.first) && !participant.equals(this.second)) {
             throw new IllegalArgumentException("Cannot add points to a participants that is not part of this game.");
         }
+        // Last registered, first consulted: see GameListener.statusChanging()
+        for (int i = this.listeners.length - 1; i >= 0; i--) {
+            this.listeners[i].pointsAdding(this, participant, points);
+        }
+        if (participant.equals(this.first)) {
+            this.firstPoints += points;
+        } else {
+            this.secondPoints += points;
+        }
+        for (GameListener listener : this.listeners) {
+            listener.pointsAdded(this, participant, points);
+        }
     }
 
 
@@ -42,10 +86,12 @@ public class GameImpl implements Game {
     public void start() throws TournamentException {
         if (this.status != Status.NOTSTARTED) {
             throw new TournamentException("Cannot start a game that has already started.");
-        } else if (this.participants.size() < 2) {
+        } else if (this.second == null) {
             throw new TournamentException("Cannot start a game that does not have two participants.");
         }
+        this.fireStatusChanging(Status.NOTSTARTED, Status.INPROGRESS);
         this.status = Status.INPROGRESS;
+        this.fireStatusChanged(Status.NOTSTARTED, Status.INPROGRESS);
     }
 
     @Override
@@ -55,25 +101,40 @@ public class GameImpl implements Game {
             throw new TournamentException("Cannot finish a game that has not started.");
         }
 
-        List<Integer> scores = List.copyOf(this.participants.values());
-        if (scores.get(0).equals(scores.get(1))) {
+        if (this.firstPoints == this.secondPoints) {
             throw new TournamentException("Cannot set the game to 'finished', the scores are ex-aequo. A winner is required.");
         }
 
+        this.fireStatusChanging(Status.INPROGRESS, Status.FINISHED);
         this.status = Status.FINISHED;
+        // Eliminated before the listeners are notified, so that they see the outcome of the game
+        if (this.loserGame == null && this.eliminatesLoser) {
+            this.getLoser().eliminate();
+        }
+        this.fireStatusChanged(Status.INPROGRESS, Status.FINISHED);
 
         if (this.followingGame != null) {
             this.followingGame.addParticipant(this.getWinner());
         }
-        this.getLoser().eliminate();
-
+        if (this.loserGame != null) {
+            this.loserGame.addParticipant(this.getLoser());
+        }
 
     }
 
 
+    /**
+     * Retrieve the participants of the Game, in the order they were added.
+     * The returned list is an unmodifiable view, which reflects the participants added later on.
+     *
+     * @return The participants of the Game.
+     */
     @Override
     public List<Participant> getParticipants() {
-        return List.copyOf(this.participants.keySet());
+        if (this.participantsView == null) {
+            this.participantsView = new ParticipantsView();
+        }
+        return this.participantsView;
     }
 
 
@@ -82,13 +143,10 @@ public class GameImpl implements Game {
         if (this.status != Status.FINISHED) {
             throw new TournamentException("Cannot retrieve winner, the game is not finished.");
         }
-        List<Participant> plist = List.copyOf(this.participants.keySet());
-        Participant p1 = plist.get(0);
-        Participant p2 = plist.get(1);
-        if (this.participants.get(p1) > this.participants.get(p2)) {
-            return p1;
-        } else if (this.participants.get(p2) > this.participants.get(p1)) {
-            return p2;
+        if (this.firstPoints > this.secondPoints) {
+            return this.first;
+        } else if (this.secondPoints > this.firstPoints) {
+            return this.second;
         } else {
             return null; //never happens
         }
@@ -99,13 +157,10 @@ public class GameImpl implements Game {
         if (this.status != Status.FINISHED) {
             throw new TournamentException("Cannot retrieve loser, the game is not finished.");
         }
-        List<Participant> plist = List.copyOf(this.participants.keySet());
-        Participant p1 = plist.get(0);
-        Participant p2 = plist.get(1);
-        if (this.participants.get(p1) < this.participants.get(p2)) {
-            return p1;
-        } else if (this.participants.get(p2) < this.participants.get(p1)) {
-            return p2;
+        if (this.firstPoints < this.secondPoints) {
+            return this.first;
+        } else if (this.secondPoints < this.firstPoints) {
+            return this.second;
         } else {
             return null; //never happens
         }
@@ -135,6 +190,30 @@ public class GameImpl implements Game {
         this.followingGame = game;
     }
 
+    /**
+     * Retrieve the Game where the loser of this Game will go, if any.
+     *
+     * @return The Game where the loser will go, or an empty Optional if the loser is eliminated.
+     */
+    public Optional<Game> getLoserGame() {
+        return Optional.ofNullable(this.loserGame);
+    }
+
+    /**
+     * Sets the Game where the loser of this Game will go, for instance a Game of the losers bracket of a
+     * double-elimination tournament. When the Game finishes, its loser is then added to that Game instead of being
+     * eliminated.
+     *
+     * @param game The Game to set as loser Game.
+     * @throws IllegalArgumentException If the provided Game is null.
+     */
+    public void setLoserGame(Game game) {
+        if (game == null) {
+            throw new IllegalArgumentException("A game cannot be null.");
+        }
+        this.loserGame = game;
+    }
+
     @Override
     public void addPreviousGame(Game game) throws TournamentException {
         if (status != Status.NOTSTARTED) {
@@ -151,7 +230,77 @@ public class GameImpl implements Game {
 
     //Added this for Game Class testability
     public int getPoints(Participant participant){
-        return this.participants.get(participant);
+        if (participant != null && participant.equals(this.first)) {
+            return this.firstPoints;
+        } else if (participant != null && participant.equals(this.second)) {
+            return this.secondPoints;
+        }
+        throw new IllegalArgumentException("The participant is not part of this game.");
+    }
+    public void setStatus(Status status){
+        Status previousStatus = this.status;
+        if (previousStatus != status) {
+            this.fireStatusChanging(previousStatus, status);
+        }
+        this.status = status;
+        if (previousStatus != status) {
+            this.fireStatusChanged(previousStatus, status);
+        }
+    }
+
+    @Override
+    public void addGameListener(GameListener listener) {
+        if (listener == null) {
+            throw new IllegalArgumentException("A listener cannot be null.");
+        }
+        GameListener[] newListeners = Arrays.copyOf(this.listeners, this.listeners.length + 1);
+        newListeners[this.listeners.length] = listener;
+        this.listeners = newListeners;
+    }
+
+    @Override
+    public void removeGameListener(GameListener listener) {
+        for (int i = 0; i < this.listeners.length; i++) {
+            if (this.listeners[i] == listener) {
+                GameListener[] newListeners = new GameListener[this.listeners.length - 1];
+                System.arraycopy(this.listeners, 0, newListeners, 0, i);
+                System.arraycopy(this.listeners, i + 1, newListeners, i, newListeners.length - i);
+                this.listeners = newListeners;
+                return;
+            }
+        }
+    }
+
+    private void fireStatusChanging(Status currentStatus, Status newStatus) {
+        for (int i = this.listeners.length - 1; i >= 0; i--) {
+            this.listeners[i].statusChanging(this, currentStatus, newStatus);
+        }
+    }
+
+    private void fireStatusChanged(Status previousStatus, Status newStatus) {
+        for (GameListener listener : this.listeners) {
+            listener.statusChanged(this, previousStatus, newStatus);
+        }
+    }
+
+    /**
+     * Read-only list over the two participant slots.
+     */
+    private class ParticipantsView extends AbstractList<Participant> implements RandomAccess {
+
+        @Override
+        public Participant get(int index) {
+            if (index == 0 && first != null) {
+                return first;
+            } else if (index == 1 && second != null) {
+                return second;
+            }
+            throw new IndexOutOfBoundsException("No participant " + index + " in this game.");
+        }
+
+        @Override
+        public int size() {
+            return first == null ? 0 : second == null ? 1 : 2;
+        }
     }
-    public void setStatus(Status status){this.status = status;}
 }
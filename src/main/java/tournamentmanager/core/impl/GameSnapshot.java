@@ -0,0 +1,120 @@
+package tournamentmanager.core.impl;
+
+import tournamentmanager.core.api.Game;
+import tournamentmanager.core.api.Participant;
+import tournamentmanager.core.api.Status;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Immutable state of a Game, as captured in a {@link BracketSnapshot}.
+ */
+public final class GameSnapshot {
+
+    private final Game game;
+    private final int position;
+    private final Status status;
+    private final Participant first;
+    private final Participant second;
+    private final int firstPoints;
+    private final int secondPoints;
+
+    private GameSnapshot(Game game, int position, Status status, Participant first, Participant second,
+                         int firstPoints, int secondPoints) {
+        this.game = game;
+        this.position = position;
+        this.status = status;
+        this.first = first;
+        this.second = second;
+        this.firstPoints = firstPoints;
+        this.secondPoints = secondPoints;
+    }
+
+    /**
+     * Captures the current state of a Game.
+     */
+    static GameSnapshot of(Game game, int position) {
+        List<Participant> participants = game.getParticipants();
+        Participant first = participants.isEmpty() ? null : participants.get(0);
+        Participant second = participants.size() < 2 ? null : participants.get(1);
+        return new GameSnapshot(game, position, game.getStatus(), first, second,
+                first == null ? 0 : game.getPoints(first), second == null ? 0 : game.getPoints(second));
+    }
+
+    /**
+     * @return A copy of this snapshot where the given participant fills the first free slot, if it is not already
+     * part of the Game.
+     */
+    GameSnapshot withParticipant(Participant participant) {
+        if (participant.equals(this.first) || participant.equals(this.second)) {
+            return this;
+        } else if (this.first == null) {
+            return new GameSnapshot(this.game, this.position, this.status, participant, null, 0, 0);
+        }
+        return new GameSnapshot(this.game, this.position, this.status, this.first, participant, this.firstPoints, 0);
+    }
+
+    /**
+     * @return The live Game this snapshot was taken from, to act on it.
+     */
+    public Game getGame() {
+        return this.game;
+    }
+
+    /**
+     * @return The position of the Game in the tree, counting the games round by round.
+     */
+    public int getPosition() {
+        return this.position;
+    }
+
+    public Status getStatus() {
+        return this.status;
+    }
+
+    public List<Participant> getParticipants() {
+        if (this.first == null) {
+            return Collections.emptyList();
+        } else if (this.second == null) {
+            return List.of(this.first);
+        }
+        return List.of(this.first, this.second);
+    }
+
+    public int getPoints(Participant participant) {
+        if (participant != null && participant.equals(this.first)) {
+            return this.firstPoints;
+        } else if (participant != null && participant.equals(this.second)) {
+            return this.secondPoints;
+        }
+        throw new IllegalArgumentException("The participant is not part of this game.");
+    }
+
+    /**
+     * @return The winner of the Game, or null if the Game was not finished when the snapshot was taken.
+     */
+    public Participant getWinner() {
+        if (this.status != Status.FINISHED) {
+            return null;
+        }
+        return this.firstPoints > this.secondPoints ? this.first : this.second;
+    }
+
+    /**
+     * @return The loser of the Game, or null if the Game was not finished when the snapshot was taken.
+     */
+    public Participant getLoser() {
+        if (this.status != Status.FINISHED) {
+            return null;
+        }
+        return this.firstPoints > this.secondPoints ? this.second : this.first;
+    }
+
+    /**
+     * @return Whether the Game was ready to start when the snapshot was taken.
+     */
+    public boolean isReadyToStart() {
+        return this.status == Status.NOTSTARTED && this.second != null;
+    }
+}
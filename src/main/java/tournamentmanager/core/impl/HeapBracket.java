@@ -0,0 +1,471 @@
+package tournamentmanager.core.impl;
+
+import tournamentmanager.core.api.Game;
+import tournamentmanager.core.api.GameListener;
+import tournamentmanager.core.api.Participant;
+import tournamentmanager.core.api.Status;
+import tournamentmanager.core.api.TournamentException;
+import tournamentmanager.util.Util;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.RandomAccess;
+import java.util.function.IntConsumer;
+
+/**
+ * Array-backed Tournament tree, laid out as an implicit binary heap.
+ * <p>
+ * Games are numbered from 1 (the final Game) to size - 1, where size is the number of participants.
+ * The following Game of game i is game i / 2, and its previous Games are games 2i and 2i + 1.
+ * The first round is made of games size / 2 to size - 1.
+ * <p>
+ * Each Game has two participant slots and two scores, all stored in flat arrays indexed by 2i and 2i + 1
+ * (heap arrays by default, or a memory-mapped file).
+ * The winner of game i always goes to slot i % 2 of its following Game.
+ * {@link HeapGame} instances are lightweight views over these arrays.
+ */
+public class HeapBracket {
+
+    static final int EMPTY = -1;
+
+    private static final Status[] STATUSES = Status.values();
+
+    // Participant objects by handle, materialized on demand for anonymous participants
+    private Participant[] participants;
+    private final int size;
+    private final BracketStore store;
+    private final int[] statusCounts = new int[STATUSES.length];
+    // Handles of the Participant objects, only built once a handle is looked up
+    private Map<Participant, Integer> handles;
+    // Listeners of each game, only allocated once a first listener is registered
+    private GameListener[][] listeners;
+    // Notified of the games that get their second participant, if set
+    private IntConsumer readyGameHandler;
+    // Notified of the changes of every game, if set
+    private GameListener bracketListener;
+
+    /**
+     * Creates the bracket, and fills the first round with the participants, in order.
+     *
+     * @param participants The participants, whose number must be a power of two greater than 1.
+     * @throws IllegalArgumentException If the number of participants is not a power of two greater than 1.
+     */
+    public HeapBracket(List<Participant> participants) {
+        this(identity(participants.size()), participants.toArray(new Participant[0]));
+    }
+
+    /**
+     * Creates the bracket from participant handles.
+     * <p>
+     * Handles are dense integers, starting at 0. The first round holds the handles of firstRound, in order.
+     * If participants is null or holds null entries, the matching Participant objects are created on demand.
+     *
+     * @param firstRound   The participant handles, whose number must be a power of two greater than 1.
+     * @param participants The Participant of each handle, or null if they are all anonymous.
+     * @throws IllegalArgumentException If the number of handles is not a power of two greater than 1.
+     */
+    public HeapBracket(int[] firstRound, Participant[] participants) {
+        this(firstRound, participants, new ArrayBracketStore(checkSize(firstRound.length)));
+    }
+
+    /**
+     * Creates the bracket from participant handles, in the given store.
+     */
+    HeapBracket(int[] firstRound, Participant[] participants, BracketStore store) {
+        this.size = checkSize(firstRound.length);
+        this.participants = participants;
+        this.store = store;
+        this.statusCounts[Status.NOTSTARTED.ordinal()] = this.size - 1;
+        // Slots 0 and 1 are unused, the first round holds the handles in order
+        for (int index = 0; index < this.size; index++) {
+            store.setSlot(index, EMPTY);
+            store.setSlot(this.size + index, firstRound[index]);
+        }
+    }
+
+    /**
+     * Reattaches a bracket to a store that already holds its state.
+     */
+    HeapBracket(BracketStore store) {
+        this.size = checkSize(store.size());
+        this.store = store;
+        for (int game = 1; game < this.size; game++) {
+            this.statusCounts[store.status(game)]++;
+        }
+    }
+
+    private static int checkSize(int size) {
+        if (size < 2 || !Util.isPowerOfTwo(size)) {
+            throw new IllegalArgumentException("A heap bracket requires a number of participants equal to a power of two.");
+        }
+        return size;
+    }
+
+    private static int[] identity(int size) {
+        int[] handles = new int[size];
+        for (int i = 0; i < size; i++) {
+            handles[i] = i;
+        }
+        return handles;
+    }
+
+    /**
+     * @return The number of participants of the bracket.
+     */
+    public int getSize() {
+        return this.size;
+    }
+
+    /**
+     * @return The number of rounds of the bracket.
+     */
+    public int getRoundCount() {
+        return Integer.numberOfTrailingZeros(this.size);
+    }
+
+    /**
+     * Retrieve a round of the bracket, as a list of Game views.
+     *
+     * @param round The round number, 0 being the first round.
+     * @return The Games of the round.
+     */
+    public List<Game> getRound(int round) {
+        if (round < 0 || round >= this.getRoundCount()) {
+            throw new IndexOutOfBoundsException("No round " + round + " in this bracket.");
+        }
+        return new RoundView(this.size >> (round + 1), this.size >> (round + 1));
+    }
+
+    /**
+     * @return All rounds of the bracket, from the first round to the final.
+     */
+    public List<List<Game>> getRounds() {
+        List<List<Game>> rounds = new ArrayList<>(this.getRoundCount());
+        for (int round = 0; round < this.getRoundCount(); round++) {
+            rounds.add(this.getRound(round));
+        }
+        return rounds;
+    }
+
+    /**
+     * Retrieve a view over a Game of the bracket.
+     *
+     * @param game The index of the Game, between 1 and size - 1.
+     * @return The Game view.
+     */
+    public Game getGame(int game) {
+        this.checkGame(game);
+        return new HeapGame(this, game);
+    }
+
+    BracketStore getStore() {
+        return this.store;
+    }
+
+    int participantId(int game, int slot) {
+        return this.store.slot(2 * game + slot);
+    }
+
+    Participant participant(int id) {
+        if (id == EMPTY) {
+            return null;
+        }
+        if (this.participants == null) {
+            this.participants = new Participant[this.size];
+        }
+        if (this.participants[id] == null) {
+            String name = this.store.participantName(id);
+            ParticipantImpl participant = new ParticipantImpl(name == null ? "participant-" + id : name);
+            participant.setEliminated(this.store.isEliminated(id));
+            this.participants[id] = participant;
+            if (this.handles != null) {
+                this.handles.put(participant, id);
+            }
+        }
+        return this.participants[id];
+    }
+
+    int handleOf(Participant participant) {
+        if (this.handles == null) {
+            this.handles = new HashMap<>();
+            if (this.participants != null) {
+                for (int id = 0; id < this.participants.length; id++) {
+                    if (this.participants[id] != null) {
+                        this.handles.put(this.participants[id], id);
+                    }
+                }
+            }
+        }
+        return this.handles.getOrDefault(participant, EMPTY);
+    }
+
+    int slotOf(int game, Participant participant) {
+        for (int slot = 0; slot < 2; slot++) {
+            int id = this.store.slot(2 * game + slot);
+            if (id != EMPTY && this.participant(id).equals(participant)) {
+                return slot;
+            }
+        }
+        return EMPTY;
+    }
+
+    boolean isEliminated(int id) {
+        return this.store.isEliminated(id);
+    }
+
+    int statusCount(Status status) {
+        return this.statusCounts[status.ordinal()];
+    }
+
+    int points(int game, int slot) {
+        return this.store.score(2 * game + slot);
+    }
+
+    Status status(int game) {
+        return STATUSES[this.store.status(game)];
+    }
+
+    void setStatus(int game, Status status) {
+        Status previousStatus = this.status(game);
+        if (previousStatus != status) {
+            this.fireStatusChanging(game, previousStatus, status);
+        }
+        this.storeStatus(game, previousStatus, status);
+        if (previousStatus != status) {
+            this.fireStatusChanged(game, previousStatus, status);
+        }
+    }
+
+    private void storeStatus(int game, Status previousStatus, Status status) {
+        this.store.setStatus(game, (byte) status.ordinal());
+        this.statusCounts[previousStatus.ordinal()]--;
+        this.statusCounts[status.ordinal()]++;
+    }
+
+    boolean isFull(int game) {
+        return this.store.slot(2 * game) != EMPTY && this.store.slot(2 * game + 1) != EMPTY;
+    }
+
+    void start(int game) throws TournamentException {
+        if (this.store.status(game) != Status.NOTSTARTED.ordinal()) {
+            throw new TournamentException("Cannot start a game that has already started.");
+        } else if (!this.isFull(game)) {
+            throw new TournamentException("Cannot start a game that does not have two participants.");
+        }
+        this.setStatus(game, Status.INPROGRESS);
+    }
+
+    void addPoints(int game, int slot, int points) throws TournamentException {
+        if (this.store.status(game) != Status.INPROGRESS.ordinal()) {
+            throw new TournamentException("Cannot change status of a game that is not in progress.");
+        }
+        GameListener[] gameListeners = this.listeners == null ? null : this.listeners[game];
+        Game view = null;
+        Participant participant = null;
+        if (gameListeners != null || this.bracketListener != null) {
+            view = new HeapGame(this, game);
+            participant = this.participant(this.store.slot(2 * game + slot));
+            if (gameListeners != null) {
+                // Last registered, first consulted, the bracket listener being registered before any other
+                for (int i = gameListeners.length - 1; i >= 0; i--) {
+                    gameListeners[i].pointsAdding(view, participant, points);
+                }
+            }
+            if (this.bracketListener != null) {
+                this.bracketListener.pointsAdding(view, participant, points);
+            }
+        }
+        this.store.setScore(2 * game + slot, this.store.score(2 * game + slot) + points);
+        if (view != null) {
+            if (gameListeners != null) {
+                for (GameListener listener : gameListeners) {
+                    listener.pointsAdded(view, participant, points);
+                }
+            }
+            if (this.bracketListener != null) {
+                this.bracketListener.pointsAdded(view, participant, points);
+            }
+        }
+    }
+
+    void finish(int game) throws TournamentException {
+        if (this.store.status(game) != Status.INPROGRESS.ordinal()) {
+            throw new TournamentException("Cannot finish a game that has not started.");
+        }
+        int winnerSlot = this.winnerSlot(game);
+        if (winnerSlot == EMPTY) {
+            throw new TournamentException("Cannot set the game to 'finished', the scores are ex-aequo. A winner is required.");
+        }
+
+        this.fireStatusChanging(game, Status.INPROGRESS, Status.FINISHED);
+        this.storeStatus(game, Status.INPROGRESS, Status.FINISHED);
+        // Eliminated before the listeners are notified, so that they see the outcome of the game
+        int loser = this.store.slot(2 * game + 1 - winnerSlot);
+        this.store.setEliminated(loser);
+        if (this.participants != null && this.participants[loser] != null) {
+            this.participants[loser].eliminate();
+        }
+        this.fireStatusChanged(game, Status.INPROGRESS, Status.FINISHED);
+
+        if (game > 1) {
+            int winner = this.store.slot(2 * game + winnerSlot);
+            this.store.setSlot(2 * (game >> 1) + (game & 1), winner);
+            this.fireParticipantAdded(game >> 1, winner);
+            if (this.readyGameHandler != null && this.isFull(game >> 1)) {
+                this.readyGameHandler.accept(game >> 1);
+            }
+        }
+    }
+
+    /**
+     * @return The slot of the participant with the most points, or EMPTY if the scores are ex-aequo.
+     */
+    int winnerSlot(int game) {
+        int first = this.store.score(2 * game);
+        int second = this.store.score(2 * game + 1);
+        if (first > second) {
+            return 0;
+        } else if (second > first) {
+            return 1;
+        }
+        return EMPTY;
+    }
+
+    /**
+     * Sets the handler notified with the index of each game that gets its second participant when a game finishes.
+     */
+    void setReadyGameHandler(IntConsumer readyGameHandler) {
+        this.readyGameHandler = readyGameHandler;
+    }
+
+    /**
+     * Sets the listener notified of the changes of every game, after the listeners of the game itself.
+     */
+    void setBracketListener(GameListener bracketListener) {
+        this.bracketListener = bracketListener;
+    }
+
+    void addListener(int game, GameListener listener) {
+        if (this.listeners == null) {
+            this.listeners = new GameListener[this.size][];
+        }
+        GameListener[] gameListeners = this.listeners[game];
+        if (gameListeners == null) {
+            this.listeners[game] = new GameListener[]{listener};
+        } else {
+            gameListeners = Arrays.copyOf(gameListeners, gameListeners.length + 1);
+            gameListeners[gameListeners.length - 1] = listener;
+            this.listeners[game] = gameListeners;
+        }
+    }
+
+    void removeListener(int game, GameListener listener) {
+        GameListener[] gameListeners = this.listeners == null ? null : this.listeners[game];
+        if (gameListeners == null) {
+            return;
+        }
+        for (int i = 0; i < gameListeners.length; i++) {
+            if (gameListeners[i] == listener) {
+                GameListener[] newListeners = new GameListener[gameListeners.length - 1];
+                System.arraycopy(gameListeners, 0, newListeners, 0, i);
+                System.arraycopy(gameListeners, i + 1, newListeners, i, newListeners.length - i);
+                this.listeners[game] = newListeners.length == 0 ? null : newListeners;
+                return;
+            }
+        }
+    }
+
+    private void fireParticipantAdded(int game, int participant) {
+        GameListener[] gameListeners = this.listeners == null ? null : this.listeners[game];
+        if (gameListeners != null || this.bracketListener != null) {
+            Game view = new HeapGame(this, game);
+            Participant added = this.participant(participant);
+            if (gameListeners != null) {
+                for (GameListener listener : gameListeners) {
+                    listener.participantAdded(view, added);
+                }
+            }
+            if (this.bracketListener != null) {
+                this.bracketListener.participantAdded(view, added);
+            }
+        }
+    }
+
+    private void fireStatusChanging(int game, Status currentStatus, Status newStatus) {
+        GameListener[] gameListeners = this.listeners == null ? null : this.listeners[game];
+        if (gameListeners != null || this.bracketListener != null) {
+            Game view = new HeapGame(this, game);
+            if (gameListeners != null) {
+                for (int i = gameListeners.length - 1; i >= 0; i--) {
+                    gameListeners[i].statusChanging(view, currentStatus, newStatus);
+                }
+            }
+            if (this.bracketListener != null) {
+                this.bracketListener.statusChanging(view, currentStatus, newStatus);
+            }
+        }
+    }
+
+    private void fireStatusChanged(int game, Status previousStatus, Status newStatus) {
+        GameListener[] gameListeners = this.listeners == null ? null : this.listeners[game];
+        if (gameListeners != null || this.bracketListener != null) {
+            Game view = new HeapGame(this, game);
+            if (gameListeners != null) {
+                for (GameListener listener : gameListeners) {
+                    listener.statusChanged(view, previousStatus, newStatus);
+                }
+            }
+            if (this.bracketListener != null) {
+                this.bracketListener.statusChanged(view, previousStatus, newStatus);
+            }
+        }
+    }
+
+    /**
+     * @return The round number of a game, 0 being the first round.
+     */
+    int roundOf(int game) {
+        return this.getRoundCount() - 1 - (31 - Integer.numberOfLeadingZeros(game));
+    }
+
+    boolean contains(int game) {
+        return game >= 1 && game < this.size;
+    }
+
+    private void checkGame(int game) {
+        if (!this.contains(game)) {
+            throw new IndexOutOfBoundsException("No game " + game + " in this bracket.");
+        }
+    }
+
+    /**
+     * A contiguous range of Games, whose views are created on access.
+     */
+    private class RoundView extends AbstractList<Game> implements RandomAccess {
+
+        private final int first;
+        private final int count;
+
+        RoundView(int first, int count) {
+            this.first = first;
+            this.count = count;
+        }
+
+        @Override
+        public Game get(int index) {
+            if (index < 0 || index >= this.count) {
+                throw new IndexOutOfBoundsException("No game " + index + " in this round.");
+            }
+            return new HeapGame(HeapBracket.this, this.first + index);
+        }
+
+        @Override
+        public int size() {
+            return this.count;
+        }
+    }
+}
@@ -0,0 +1,206 @@
+package tournamentmanager.core.impl;
+
+import tournamentmanager.core.api.*;
+
+import java.util.*;
+
+/**
+ * Lightweight view over one Game of a {@link HeapBracket}.
+ * <p>
+ * A view only holds its bracket and its index, all state lives in the bracket.
+ * Two views over the same Game are equal.
+ * <p>
+ * The position of a Game in the bracket fixes its previous and following Games,
+ * so they cannot be changed through this view.
+ */
+public final class HeapGame implements Game {
+
+    private final HeapBracket bracket;
+    private final int index;
+
+    HeapGame(HeapBracket bracket, int index) {
+        this.bracket = bracket;
+        this.index = index;
+    }
+
+    /**
+     * @return The bracket holding the state of this Game.
+     */
+    public HeapBracket getBracket() {
+        return this.bracket;
+    }
+
+    /**
+     * @return The index of this Game in its bracket, 1 being the final Game.
+     */
+    public int getIndex() {
+        return this.index;
+    }
+
+    @Override
+    public void addPoints(Participant participant, int points) throws TournamentException {
+        if (participant == null) {
+            throw new IllegalArgumentException("The participant cannot be null.");
+        }
+        if (this.bracket.status(this.index) != Status.INPROGRESS) {
+            throw new TournamentException("Cannot change status of a game that is not in progress.");
+        }
+        this.bracket.addPoints(this.index, this.slotOf(participant), points);
+    }
+
+    @Override
+    public void addPreviousGame(Game game) throws TournamentException {
+        if (this.bracket.status(this.index) != Status.NOTSTARTED) {
+            throw new TournamentException("Cannot modify the previous games after the game has started.");
+        } else if (game == null) {
+            throw new IllegalArgumentException("A game cannot be null.");
+        } else if (this.getPreviousGames().contains(game)) {
+            throw new TournamentException("Cannot add a previous game, already present.");
+        }
+        throw new TournamentException("Cannot add a previous game, previous games are fixed by the position of the game in the bracket.");
+    }
+
+    @Override
+    public void addParticipant(Participant participant) throws TournamentException {
+        if (participant == null) {
+            throw new IllegalArgumentException("The participant cannot be null.");
+        }
+        if (this.bracket.isFull(this.index)) {
+            throw new TournamentException("Cannot add participant to game, game already has two participants.");
+        }
+        throw new TournamentException("Cannot add participant to game, participants are assigned by the bracket.");
+    }
+
+    @Override
+    public void start() throws TournamentException {
+        this.bracket.start(this.index);
+    }
+
+    @Override
+    public List<Game> getPreviousGames() {
+        int previous = 2 * this.index;
+        if (!this.bracket.contains(previous)) {
+            return Collections.emptyList();
+        }
+        return List.of(new HeapGame(this.bracket, previous), new HeapGame(this.bracket, previous + 1));
+    }
+
+    @Override
+    public void finish() throws TournamentException {
+        this.bracket.finish(this.index);
+    }
+
+    @Override
+    public Status getStatus() {
+        return this.bracket.status(this.index);
+    }
+
+    @Override
+    public List<Participant> getParticipants() {
+        Participant first = this.bracket.participant(this.bracket.participantId(this.index, 0));
+        Participant second = this.bracket.participant(this.bracket.participantId(this.index, 1));
+        if (first == null && second == null) {
+            return Collections.emptyList();
+        } else if (first == null) {
+            return List.of(second);
+        } else if (second == null) {
+            return List.of(first);
+        }
+        return List.of(first, second);
+    }
+
+    @Override
+    public Participant getWinner() throws TournamentException {
+        if (this.getStatus() != Status.FINISHED) {
+            throw new TournamentException("Cannot retrieve winner, the game is not finished.");
+        }
+        int winnerSlot = this.bracket.winnerSlot(this.index);
+        if (winnerSlot == HeapBracket.EMPTY) {
+            return null; //never happens
+        }
+        return this.bracket.participant(this.bracket.participantId(this.index, winnerSlot));
+    }
+
+    @Override
+    public Participant getLoser() throws TournamentException {
+        if (this.getStatus() != Status.FINISHED) {
+            throw new TournamentException("Cannot retrieve loser, the game is not finished.");
+        }
+        int winnerSlot = this.bracket.winnerSlot(this.index);
+        if (winnerSlot == HeapBracket.EMPTY) {
+            return null; //never happens
+        }
+        return this.bracket.participant(this.bracket.participantId(this.index, 1 - winnerSlot));
+    }
+
+    @Override
+    public Optional<Game> getFollowingGame() {
+        if (this.index == 1) {
+            return Optional.empty();
+        }
+        return Optional.of(new HeapGame(this.bracket, this.index >> 1));
+    }
+
+    @Override
+    public void setFollowingGame(Game game) throws IllegalArgumentException {
+        if (game == null) {
+            throw new IllegalArgumentException("A game cannot be null.");
+        }
+        if (!this.getFollowingGame().map(game::equals).orElse(false)) {
+            throw new IllegalArgumentException("The following game is fixed by the position of the game in the bracket.");
+        }
+    }
+
+    @Override
+    public int getPoints(Participant participant) {
+        return this.bracket.points(this.index, this.slotOf(participant));
+    }
+
+    @Override
+    public void setStatus(Status status) {
+        this.bracket.setStatus(this.index, status);
+    }
+
+    @Override
+    public void addGameListener(GameListener listener) {
+        if (listener == null) {
+            throw new IllegalArgumentException("A listener cannot be null.");
+        }
+        this.bracket.addListener(this.index, listener);
+    }
+
+    @Override
+    public void removeGameListener(GameListener listener) {
+        this.bracket.removeListener(this.index, listener);
+    }
+
+    private int slotOf(Participant participant) {
+        int slot = this.bracket.slotOf(this.index, participant);
+        if (slot == HeapBracket.EMPTY) {
+            throw new IllegalArgumentException("The participant is not part of this game.");
+        }
+        return slot;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof HeapGame)) {
+            return false;
+        }
+        HeapGame other = (HeapGame) o;
+        return this.bracket == other.bracket && this.index == other.index;
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * System.identityHashCode(this.bracket) + this.index;
+    }
+
+    @Override
+    public String toString() {
+        return "HeapGame" + this.index;
+    }
+}
@@ -0,0 +1,61 @@
+package tournamentmanager.core.impl;
+
+import tournamentmanager.core.api.Game;
+import tournamentmanager.core.api.Participant;
+import tournamentmanager.core.api.TournamentException;
+import tournamentmanager.core.api.TournamentTreeBuilder;
+import tournamentmanager.util.Util;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * TournamentTreeBuilder that stores the whole Tournament tree in a {@link HeapBracket}.
+ * <p>
+ * Instead of a graph of GameImpl objects, all games live in a few contiguous arrays,
+ * and the returned Games are views whose navigation is simple index arithmetic.
+ * A heap bracket has no byes, so the number of participants must be a power of two.
+ */
+public class HeapTournamentTreeBuilder implements TournamentTreeBuilder {
+
+    @Override
+    public void checkParticipantCount(int participantCount) throws TournamentException {
+        if (!Util.isPowerOfTwo(participantCount)) {
+            throw new TournamentException("A heap bracket requires a number of participants equal to a power of two.");
+        }
+    }
+
+    @Override
+    public List<List<Game>> buildAllRounds(List<Participant> rankedParticipants) {
+        if (rankedParticipants.isEmpty()) {
+            return Collections.emptyList();
+        }
+        return new HeapBracket(rankedParticipants).getRounds();
+    }
+
+    @Override
+    public List<Game> buildInitialRound(List<Participant> participants) {
+        if (participants.isEmpty()) {
+            return Collections.emptyList();
+        }
+        return new HeapBracket(participants).getRound(0);
+    }
+
+    @Override
+    public List<Game> buildNextRound(List<? extends Game> previousRound) {
+        if (previousRound.size() < 2) {
+            return Collections.emptyList();
+        }
+        if (!(previousRound.get(0) instanceof HeapGame)) {
+            throw new IllegalArgumentException("A heap bracket round can only follow games of a heap bracket.");
+        }
+        HeapGame first = (HeapGame) previousRound.get(0);
+        HeapBracket bracket = first.getBracket();
+        int round = bracket.roundOf(first.getIndex());
+        List<Game> expectedRound = bracket.getRound(round);
+        if (!expectedRound.equals(previousRound)) {
+            throw new IllegalArgumentException("The previous round must be a complete round of a heap bracket.");
+        }
+        return bracket.getRound(round + 1);
+    }
+}
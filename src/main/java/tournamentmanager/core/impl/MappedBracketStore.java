@@ -0,0 +1,248 @@
+package tournamentmanager.core.impl;
+
+import tournamentmanager.core.api.Participant;
+import tournamentmanager.core.api.Status;
+import tournamentmanager.util.Util;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * BracketStore keeping the bracket state in a memory-mapped file, so that every update is written through to the file
+ * and a bracket can be reattached after a restart without being rebuilt.
+ * <p>
+ * The file has a fixed layout:
+ * - a 64 bytes header: magic number, format version, number of participants, tournament status;
+ * - the participant slots (2 ints per game), then the scores (2 ints per game);
+ * - the game statuses (1 byte per game), then the elimination flags (1 byte per participant);
+ * - the participant names: one offset per participant (-1 for anonymous participants), then the UTF-8 encoded names.
+ */
+class MappedBracketStore implements BracketStore, AutoCloseable {
+
+    private static final int MAGIC = 0x544D4252;
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 64;
+    private static final int STATUS_POSITION = 12;
+
+    private final FileChannel channel;
+    private final int size;
+    private final MappedByteBuffer header;
+    private final MappedByteBuffer slotsBuffer;
+    private final MappedByteBuffer scoresBuffer;
+    private final IntBuffer slots;
+    private final IntBuffer scores;
+    private final MappedByteBuffer flags;
+    private final MappedByteBuffer names;
+
+    private MappedBracketStore(FileChannel channel, int size) throws IOException {
+        this.channel = channel;
+        this.size = size;
+        long position = 0;
+        this.header = channel.map(FileChannel.MapMode.READ_WRITE, position, HEADER_SIZE);
+        position += HEADER_SIZE;
+        this.slotsBuffer = channel.map(FileChannel.MapMode.READ_WRITE, position, 8L * size);
+        this.slots = this.slotsBuffer.asIntBuffer();
+        position += 8L * size;
+        this.scoresBuffer = channel.map(FileChannel.MapMode.READ_WRITE, position, 8L * size);
+        this.scores = this.scoresBuffer.asIntBuffer();
+        position += 8L * size;
+        this.flags = channel.map(FileChannel.MapMode.READ_WRITE, position, 2L * size);
+        position += 2L * size;
+        this.names = channel.map(FileChannel.MapMode.READ_ONLY, position, channel.size() - position);
+    }
+
+    /**
+     * Creates a new state file, and writes the names of the participants in it.
+     *
+     * @param file         The file to create, replaced if it already exists.
+     * @param size         The number of participants.
+     * @param participants The Participant of each handle, or null if they are all anonymous.
+     */
+    static MappedBracketStore create(Path file, int size, Participant[] participants) throws IOException {
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            long namesPosition = HEADER_SIZE + 18L * size;
+            ByteBuffer offsets = ByteBuffer.allocate(4 * size);
+            channel.position(namesPosition + 4L * size);
+            int offset = 0;
+            for (int id = 0; id < size; id++) {
+                Participant participant = participants == null ? null : participants[id];
+                if (participant == null || participant.getName() == null) {
+                    offsets.putInt(-1);
+                    continue;
+                }
+                byte[] name = participant.getName().getBytes(StandardCharsets.UTF_8);
+                ByteBuffer entry = ByteBuffer.allocate(4 + name.length);
+                entry.putInt(name.length).put(name).flip();
+                while (entry.hasRemaining()) {
+                    channel.write(entry);
+                }
+                offsets.putInt(offset);
+                offset += 4 + name.length;
+            }
+            offsets.flip();
+            channel.write(offsets, namesPosition);
+
+            MappedBracketStore store = new MappedBracketStore(channel, size);
+            store.header.putInt(0, MAGIC);
+            store.header.putInt(4, VERSION);
+            store.header.putInt(8, size);
+            return store;
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Reattaches to an existing state file. A game is marked finished before its winner advances and its loser is
+     * eliminated, so the effects of the games found finished are applied again, in case the process died in between.
+     *
+     * @param file The file written by a previous store.
+     * @throws IOException If the file cannot be read, or is not a bracket state file.
+     */
+    static MappedBracketStore open(Path file) throws IOException {
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            ByteBuffer header = ByteBuffer.allocate(12);
+            while (header.hasRemaining() && channel.read(header) >= 0) {
+                // read the whole fixed part of the header
+            }
+            header.flip();
+            if (header.remaining() < 12 || header.getInt(0) != MAGIC) {
+                throw new IOException("Not a bracket state file: " + file);
+            }
+            if (header.getInt(4) != VERSION) {
+                throw new IOException("Unsupported bracket state file version " + header.getInt(4) + ": " + file);
+            }
+            int size = header.getInt(8);
+            if (size < 2 || !Util.isPowerOfTwo(size)) {
+                throw new IOException("Invalid number of participants " + size + " in bracket state file: " + file);
+            }
+            if (channel.size() < HEADER_SIZE + 22L * size) {
+                throw new IOException("Truncated bracket state file: " + file);
+            }
+            MappedBracketStore store = new MappedBracketStore(channel, size);
+            store.completeFinishedGames();
+            return store;
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Sends the winner of each finished game to its parent, and eliminates its loser, where that was not written yet.
+     * Games are visited from the first round up, so that a winner is in place before its own game is checked.
+     */
+    private void completeFinishedGames() {
+        for (int game = this.size - 1; game >= 1; game--) {
+            if (this.status(game) != Status.FINISHED.ordinal()) {
+                continue;
+            }
+            int first = this.score(2 * game);
+            int second = this.score(2 * game + 1);
+            if (first == second) {
+                continue;
+            }
+            int winnerSlot = first > second ? 0 : 1;
+            int parentSlot = 2 * (game >> 1) + (game & 1);
+            if (game > 1 && this.slot(parentSlot) == HeapBracket.EMPTY) {
+                this.setSlot(parentSlot, this.slot(2 * game + winnerSlot));
+            }
+            int loser = this.slot(2 * game + 1 - winnerSlot);
+            if (loser != HeapBracket.EMPTY && !this.isEliminated(loser)) {
+                this.setEliminated(loser);
+            }
+        }
+    }
+
+    byte tournamentStatus() {
+        return this.header.get(STATUS_POSITION);
+    }
+
+    void setTournamentStatus(byte status) {
+        this.header.put(STATUS_POSITION, status);
+    }
+
+    /**
+     * Forces the updates written so far to the storage device.
+     */
+    void force() {
+        this.slotsBuffer.force();
+        this.scoresBuffer.force();
+        this.flags.force();
+        this.header.force();
+    }
+
+    @Override
+    public void close() throws IOException {
+        this.channel.close();
+    }
+
+    @Override
+    public int size() {
+        return this.size;
+    }
+
+    @Override
+    public int slot(int index) {
+        return this.slots.get(index);
+    }
+
+    @Override
+    public void setSlot(int index, int participant) {
+        this.slots.put(index, participant);
+    }
+
+    @Override
+    public int score(int index) {
+        return this.scores.get(index);
+    }
+
+    @Override
+    public void setScore(int index, int points) {
+        this.scores.put(index, points);
+    }
+
+    @Override
+    public byte status(int game) {
+        return this.flags.get(game);
+    }
+
+    @Override
+    public void setStatus(int game, byte status) {
+        this.flags.put(game, status);
+    }
+
+    @Override
+    public boolean isEliminated(int participant) {
+        return this.flags.get(this.size + participant) != 0;
+    }
+
+    @Override
+    public void setEliminated(int participant) {
+        this.flags.put(this.size + participant, (byte) 1);
+    }
+
+    @Override
+    public String participantName(int participant) {
+        int offset = this.names.getInt(4 * participant);
+        if (offset < 0) {
+            return null;
+        }
+        int position = 4 * this.size + offset;
+        byte[] name = new byte[this.names.getInt(position)];
+        ByteBuffer nameBuffer = this.names.duplicate();
+        nameBuffer.position(position + 4);
+        nameBuffer.get(name);
+        return new String(name, StandardCharsets.UTF_8);
+    }
+}
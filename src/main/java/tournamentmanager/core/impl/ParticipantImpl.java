@@ -5,7 +5,8 @@ import tournamentmanager.core.api.Participant;
 public class ParticipantImpl implements Participant {
 
     private String name;
-    private boolean eliminated = false;
+    // Volatile, as the loser of a game may be eliminated by the thread that finished it
+    private volatile boolean eliminated = false;
 
     public ParticipantImpl(String name) {
         this.name = name;
@@ -4,15 +4,55 @@ import tournamentmanager.core.api.*;
 import tournamentmanager.util.Util;
 
 import java.util.*;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.Flow;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.atomic.AtomicReference;
 
 /**
  * Basic Tournament implementation.
+ * <p>
+ * Once started, the tournament can be played from several threads when its tree is made of ConcurrentGameImpl games
+ * (see TournamentTreeBuilderImpl(Supplier)): the status index is made of concurrent sets, so that games finishing in
+ * parallel never contend on a global lock, and end() is a compare-and-set on the tournament status.
+ * Participants must still be registered, and the tournament started, from a single thread.
  */
 public class TournamentImpl implements Tournament {
 
-    private final List<Participant> participants = new ArrayList<>();
-    private Status status = Status.NOTSTARTED;
+    // Number of valid results from which a batch is applied by several threads
+    private static final int PARALLEL_RESULTS_THRESHOLD = 4096;
+
+    private final ArrayList<Participant> participants = new ArrayList<>();
+    // Hash index over the participants list, so that duplicate checks do not scan the list
+    private Set<Participant> participantIndex = new HashSet<>();
+    // Number of participants the index can hold before it rehashes
+    private int participantIndexCapacity = 12;
+    private final AtomicReference<Status> status = new AtomicReference<>(Status.NOTSTARTED);
     private List<List<Game>> rounds = new ArrayList<>();
+    // Position of each game in the tree, in round order, written by start() and appendRound() while other threads
+    // read it through the status sets and the snapshots
+    private final Map<Game, Integer> gamePositions = new ConcurrentHashMap<>();
+    // Games indexed by status, kept up to date by listening to the games of the tree
+    private final Map<Status, Set<Game>> gamesByStatus = new EnumMap<>(Status.class);
+    private final Set<Game> gamesReadyToStart;
+    // Games published when they become ready to start, consumed by takeReadyGame() and pollReadyGame()
+    private final BlockingQueue<Game> readyQueue = new LinkedBlockingQueue<>();
+    private final GameListener statusIndexer = new StatusIndexer();
+    private volatile GameListener[] gameListeners = new GameListener[0];
+    // Immutable view of the tree, replaced by the thread changing a game
+    private final AtomicReference<BracketSnapshot> snapshot = new AtomicReference<>(BracketSnapshot.EMPTY);
+    private final BracketEventPublisher eventPublisher = new BracketEventPublisher();
+
+    public TournamentImpl() {
+        Comparator<Game> roundOrder = Comparator.comparingInt(this.gamePositions::get);
+        for (Status gameStatus : Status.values()) {
+            this.gamesByStatus.put(gameStatus, new ConcurrentSkipListSet<>(roundOrder));
+        }
+        this.gamesReadyToStart = new ConcurrentSkipListSet<>(roundOrder);
+        this.addGameListener(this.eventPublisher);
+    }
 
 
     @Override
@@ -20,28 +60,143 @@ public class TournamentImpl implements Tournament {
         if (this.getStatus() != Status.NOTSTARTED) {
             throw new TournamentException("Cannot add a participant to a started tournament.");
         }
-        if (!this.participants.contains(participant)) {
+        if (this.participantIndex.add(participant)) {
             this.participants.add(participant);
         }
     }
 
+    @Override
+    public void addParticipants(Collection<? extends Participant> newParticipants) throws TournamentException {
+        if (newParticipants == null) {
+            throw new IllegalArgumentException("The collection of participants cannot be null.");
+        }
+        if (this.getStatus() != Status.NOTSTARTED) {
+            throw new TournamentException("Cannot add participants to a started tournament.");
+        }
+        int expectedSize = this.participants.size() + newParticipants.size();
+        this.participants.ensureCapacity(expectedSize);
+        if (expectedSize > this.participantIndexCapacity) {
+            // Rehash once to the final size instead of growing step by step, and at least double the capacity,
+            // so that registering in many chunks still rehashes a logarithmic number of times
+            this.participantIndexCapacity = Math.max(expectedSize, 2 * this.participantIndexCapacity);
+            Set<Participant> resizedIndex = new HashSet<>((int) (this.participantIndexCapacity / .75f) + 1);
+            resizedIndex.addAll(this.participantIndex);
+            this.participantIndex = resizedIndex;
+        }
+        for (Participant participant : newParticipants) {
+            if (this.participantIndex.add(participant)) {
+                this.participants.add(participant);
+            }
+        }
+    }
+
+    @Override
+    public boolean containsParticipant(Participant participant) {
+        return this.participantIndex.contains(participant);
+    }
+
     @Override
     public void start(TournamentTreeBuilder ttb) throws TournamentException {
+        this.checkStartable(ttb);
+        Collections.shuffle(this.participants);
+        this.buildTree(ttb);
+    }
+
+    /**
+     * Start the tournament with the given draw instead of shuffling the participants, for instance to rebuild a
+     * tournament recorded in a journal. Same requirements as start().
+     *
+     * @param ttb       The builder of the tournament tree.
+     * @param drawOrder The registered participants, in the order in which they are assigned to the first games.
+     * @throws TournamentException      If the tournament cannot be started, see start().
+     * @throws IllegalArgumentException If the draw is null, or is not an ordering of the registered participants.
+     */
+    public void startWithDrawOrder(TournamentTreeBuilder ttb, List<? extends Participant> drawOrder) throws TournamentException {
+        if (drawOrder == null) {
+            throw new IllegalArgumentException("The draw cannot be null.");
+        }
+        this.checkStartable(ttb);
+        if (drawOrder.size() != this.participants.size() || !this.participantIndex.containsAll(drawOrder)
+                || new HashSet<>(drawOrder).size() != drawOrder.size()) {
+            throw new IllegalArgumentException("The draw must contain each registered participant exactly once.");
+        }
+        this.participants.clear();
+        this.participants.addAll(drawOrder);
+        this.buildTree(ttb);
+    }
+
+    /**
+     * Start the tournament with a seeded draw instead of shuffling the participants.
+     * <p>
+     * Participants are sorted by the seeding (in parallel for large fields), then placed as in a standard bracket:
+     * seed 1 meets the last seed in the first round, and the best seeds can only meet as late as possible.
+     * When the number of participants is not a power of two, the best seeds get the byes.
+     * Same requirements as start().
+     *
+     * @param ttb     The builder of the tournament tree.
+     * @param seeding The order of the participants, from the best seed to the last one.
+     * @throws TournamentException      If the tournament cannot be started, see start().
+     * @throws IllegalArgumentException If the seeding is null.
+     */
+    public void startSeeded(TournamentTreeBuilder ttb, Comparator<? super Participant> seeding) throws TournamentException {
+        if (seeding == null) {
+            throw new IllegalArgumentException("The seeding cannot be null.");
+        }
+        this.checkStartable(ttb);
+        Participant[] ranked = this.participants.toArray(new Participant[0]);
+        Arrays.parallelSort(ranked, seeding);
+        // Positions of the seeds beyond the number of participants are byes, and are skipped
+        int[] seeds = Util.seedingOrder(Util.bracketSize(ranked.length));
+        this.participants.clear();
+        for (int seed : seeds) {
+            if (seed < ranked.length) {
+                this.participants.add(ranked[seed]);
+            }
+        }
+        this.buildTree(ttb);
+    }
+
+    private void checkStartable(TournamentTreeBuilder builder) throws TournamentException {
         if (this.getStatus() != Status.NOTSTARTED) {
             throw new TournamentException("Cannot start a tournament that has already started.");
         } else if (this.participants.size() < 2) {
             throw new TournamentException("A tournament requires at least two participants.");
-        } else if (!Util.isPowerOfTwo(this.participants.size())) {
-            throw new TournamentException("A tournament requires a number of participants equal to a power of two.");
         }
+        builder.checkParticipantCount(this.participants.size());
+    }
 
-        // Build tournament tree
-        TournamentTreeBuilder builder = ttb;
-        Collections.shuffle(this.participants);
-        this.rounds = builder.buildAllRounds(Collections.unmodifiableList(this.participants));
+    /**
+     * Builds the rounds of the tree when the tournament starts. Overridden by tournaments whose tree is not a single
+     * bracket, such as DoubleEliminationTournament.
+     *
+     * @throws TournamentException If the participants cannot be arranged in such a tree.
+     */
+    List<List<Game>> buildRounds(TournamentTreeBuilder builder, List<Participant> participants) throws TournamentException {
+        return builder.buildAllRounds(participants);
+    }
+
+    private void buildTree(TournamentTreeBuilder builder) throws TournamentException {
+        this.rounds = this.buildRounds(builder, Collections.unmodifiableList(this.participants));
+        int[] roundStarts = new int[this.rounds.size() + 1];
+        List<GameSnapshot> gameSnapshots = new ArrayList<>();
+        for (int r = 0; r < this.rounds.size(); r++) {
+            roundStarts[r] = this.gamePositions.size();
+            for (Game game : this.rounds.get(r)) {
+                gameSnapshots.add(GameSnapshot.of(game, this.gamePositions.size()));
+                this.gamePositions.put(game, this.gamePositions.size());
+            }
+        }
+        roundStarts[this.rounds.size()] = this.gamePositions.size();
+        for (List<Game> round : this.rounds) {
+            for (Game game : round) {
+                this.indexGame(game, game.getStatus());
+                game.addGameListener(this.statusIndexer);
+            }
+        }
 
         // Set status
-        this.status = Status.INPROGRESS;
+        this.status.set(Status.INPROGRESS);
+        this.snapshot.set(BracketSnapshot.of(this.snapshot.get().getVersion() + 1, Status.INPROGRESS, roundStarts, gameSnapshots));
     }
 
 
@@ -52,15 +207,122 @@ public class TournamentImpl implements Tournament {
         }
 
         // Check that all games have ended
-        for (Game game : this.getAllGames()) {
-            if (game.getStatus() != Status.FINISHED) {
-                throw new TournamentException("Cannot end a tournament that had unfinished games.");
+        if (!this.gamesByStatus.get(Status.NOTSTARTED).isEmpty() || !this.gamesByStatus.get(Status.INPROGRESS).isEmpty()) {
+            throw new TournamentException("Cannot end a tournament that had unfinished games.");
+        }
+
+        // Set status, unless another thread ended the tournament in the meantime
+        if (!this.status.compareAndSet(Status.INPROGRESS, Status.FINISHED)) {
+            throw new TournamentException("Cannot finish a tournament that is not in progress.");
+        }
+        this.snapshot.updateAndGet(current -> current.withTournamentStatus(Status.FINISHED));
+        this.eventPublisher.tournamentEnded();
+
+    }
+
+    @Override
+    public Map<GameResult, TournamentException> applyResults(Collection<GameResult> results) throws TournamentException {
+        if (results == null) {
+            throw new IllegalArgumentException("The collection of results cannot be null.");
+        }
+        if (this.getStatus() != Status.INPROGRESS) {
+            throw new TournamentException("Cannot register results in a tournament that is not in progress.");
+        }
+
+        // Validate the whole batch before applying anything
+        Map<Game, GameResult> resultsByGame = new HashMap<>(Math.max(16, (int) (results.size() / .75f) + 1));
+        Set<Game> conflictingGames = new HashSet<>();
+        for (GameResult result : results) {
+            if (result == null) {
+                throw new IllegalArgumentException("A result cannot be null.");
+            }
+            if (resultsByGame.putIfAbsent(result.getGame(), result) != null) {
+                conflictingGames.add(result.getGame());
+            }
+        }
+        Map<GameResult, TournamentException> rejected = new LinkedHashMap<>();
+        List<GameResult> valid = new ArrayList<>(results.size());
+        for (GameResult result : results) {
+            String reason = this.validateResult(result, conflictingGames);
+            if (reason == null) {
+                valid.add(result);
+            } else {
+                rejected.put(result, new TournamentException(reason));
             }
         }
 
-        // Set status
-        this.status = Status.FINISHED;
+        // Sibling games feed the same following game, so they are applied by the same task
+        Map<GameResult, TournamentException> failed = new ConcurrentHashMap<>();
+        if (valid.size() < PARALLEL_RESULTS_THRESHOLD || !this.appliesResultsInParallel()) {
+            for (GameResult result : valid) {
+                applyResult(result, failed);
+            }
+        } else {
+            Map<Optional<Game>, List<GameResult>> resultsByFollowingGame = new HashMap<>();
+            for (GameResult result : valid) {
+                resultsByFollowingGame.computeIfAbsent(result.getGame().getFollowingGame(), game -> new ArrayList<>(2))
+                        .add(result);
+            }
+            resultsByFollowingGame.values().parallelStream()
+                    .forEach(siblings -> siblings.forEach(result -> applyResult(result, failed)));
+        }
 
+        if (!failed.isEmpty()) {
+            Map<GameResult, TournamentException> allRejected = new LinkedHashMap<>();
+            for (GameResult result : results) {
+                TournamentException reason = rejected.containsKey(result) ? rejected.get(result) : failed.get(result);
+                if (reason != null) {
+                    allRejected.put(result, reason);
+                }
+            }
+            return allRejected;
+        }
+        return rejected;
+    }
+
+    /**
+     * Whether large batches of results may be applied by several threads, which requires that only sibling games
+     * (grouped by their following game) send participants to the same game.
+     */
+    boolean appliesResultsInParallel() {
+        return true;
+    }
+
+    private String validateResult(GameResult result, Set<Game> conflictingGames) {
+        Game game = result.getGame();
+        if (!this.gamePositions.containsKey(game)) {
+            return "Cannot register a result for a game that is not part of this tournament.";
+        } else if (conflictingGames.contains(game)) {
+            return "Cannot register several results for the same game.";
+        } else if (game.getStatus() != Status.NOTSTARTED || game.getParticipants().size() != 2) {
+            return "Cannot register a result for a game that is not ready to start.";
+        }
+        List<Participant> gameParticipants = game.getParticipants();
+        if (result.getFirstParticipant().equals(result.getSecondParticipant())
+                || !gameParticipants.contains(result.getFirstParticipant())
+                || !gameParticipants.contains(result.getSecondParticipant())) {
+            return "Cannot register a result whose participants are not the participants of the game.";
+        } else if (result.getFirstPoints() == result.getSecondPoints()) {
+            return "Cannot set the game to 'finished', the scores are ex-aequo. A winner is required.";
+        }
+        return null;
+    }
+
+    private static void applyResult(GameResult result, Map<GameResult, TournamentException> failed) {
+        Game game = result.getGame();
+        try {
+            game.start();
+            game.addPoints(result.getFirstParticipant(), result.getFirstPoints());
+            game.addPoints(result.getSecondParticipant(), result.getSecondPoints());
+            game.finish();
+        } catch (TournamentException e) {
+            // Only happens if the game was changed by another thread since the validation
+            failed.put(result, e);
+        } catch (ChangeVetoedException e) {
+            // Reported like the other failures, instead of aborting the batch; the game keeps the changes already made
+            failed.put(result, new TournamentException("A listener vetoed a change of the game, left "
+                    + game.getStatus() + ": " + e.getMessage(), e));
+        }
     }
 
     @Override
@@ -81,73 +343,249 @@ public class TournamentImpl implements Tournament {
         return Collections.unmodifiableList(this.rounds);
     }
 
+    @Override
+    public boolean containsGame(Game game) {
+        return game != null && this.gamePositions.containsKey(game);
+    }
+
     @Override
     public List<Game> getGamesReadyToStart() {
-        List<Game> result = new ArrayList<>();
-        for (Game game : this.getAllGames()) {
-            if (game.getParticipants().size() == 2 && game.getStatus() == Status.NOTSTARTED) {
-                result.add(game);
+        return new ArrayList<>(this.gamesReadyToStart);
+    }
+
+    @Override
+    public Game takeReadyGame() throws InterruptedException {
+        while (true) {
+            Game game = this.readyQueue.take();
+            if (game.getStatus() == Status.NOTSTARTED) {
+                return game;
             }
         }
-        return result;
     }
 
     @Override
-    public List<Game> getFinishedGames() {
-        List<Game> result = new ArrayList<>();
-        for (Game game : this.getAllGames()) {
-            if (game.getStatus() == Status.FINISHED) {
-                result.add(game);
-            }
+    public Game pollReadyGame() {
+        Game game = this.readyQueue.poll();
+        while (game != null && game.getStatus() != Status.NOTSTARTED) {
+            game = this.readyQueue.poll();
         }
-        return result;
+        return game;
+    }
+
+    @Override
+    public List<Game> getFinishedGames() {
+        return new ArrayList<>(this.gamesByStatus.get(Status.FINISHED));
     }
 
     @Override
     public List<Game> getGamesInProgress() {
-        List<Game> result = new ArrayList<>();
-        for (Game game : this.getAllGames()) {
-            if (game.getStatus() == Status.INPROGRESS) {
-                result.add(game);
-            }
-        }
-        return result;
+        return new ArrayList<>(this.gamesByStatus.get(Status.INPROGRESS));
     }
 
     @Override
     public List<Game> getFutureGames() {
-        List<Game> result = new ArrayList<>();
-        for (Game game : this.getAllGames()) {
-            if (game.getStatus() == Status.NOTSTARTED) {
-                result.add(game);
-            }
-        }
-        return result;
+        return new ArrayList<>(this.gamesByStatus.get(Status.NOTSTARTED));
     }
 
     @Override
     public List<Set<Participant>> computeFinalRanking() throws TournamentException {
-        if (this.status != Status.FINISHED) {
+        if (this.status.get() != Status.FINISHED) {
             throw new TournamentException("Cannot compute ranking of unfinished tournament.");
         }
-        List<Set<Participant>> finalRanking = new ArrayList<>();
-        for (List<Game> round : this.rounds) {
-            Set<Participant> exaequo = new HashSet<>();
+        // Built from the final down to the first round, with each set sized for the losers of its round
+        List<Set<Participant>> finalRanking = new ArrayList<>(this.rounds.size() + 1);
+        finalRanking.add(Set.of(this.rounds.get(this.rounds.size() - 1).get(0).getWinner()));
+        for (int r = this.rounds.size() - 1; r >= 0; r--) {
+            List<Game> round = this.rounds.get(r);
+            Set<Participant> exaequo = new HashSet<>(2 * round.size());
             for (Game game : round) {
                 exaequo.add(game.getLoser());
-
             }
             finalRanking.add(exaequo);
         }
-        Set<Participant> winner = Set.of(this.rounds.get(this.rounds.size() - 1).get(0).getWinner());
-        finalRanking.add(winner);
-        Collections.reverse(finalRanking);
         return finalRanking;
     }
 
+    @Override
+    public Flow.Publisher<BracketEvent> getEventPublisher() {
+        return this.eventPublisher;
+    }
+
     @Override
     public Status getStatus() {
-        return this.status;
+        return this.status.get();
+    }
+
+    /**
+     * Retrieve the registered participants: in registration order before the Tournament starts,
+     * then in the order of the draw.
+     *
+     * @return An unmodifiable view of the participants.
+     */
+    public List<Participant> getParticipants() {
+        return Collections.unmodifiableList(this.participants);
+    }
+
+    /**
+     * Retrieve the latest immutable snapshot of the Tournament tree, which readers can use from any thread without
+     * locking.
+     * <p>
+     * A new snapshot is published by the thread changing a Game, once the change is made: when a Game starts, when
+     * points are added, and when it finishes, with its winner already in the following Game, so that no snapshot shows
+     * a finished Game whose winner has not advanced. Reading a snapshot never copies the tree, nor blocks the writers.
+     *
+     * @return The latest snapshot; an empty snapshot if the Tournament has not started.
+     */
+    public BracketSnapshot getSnapshot() {
+        return this.snapshot.get();
+    }
+
+    /**
+     * Registers a listener that will be notified of the changes of every Game of the Tournament tree.
+     * The listener receives the changes that happen once the Tournament has started.
+     *
+     * @param listener The listener to register.
+     * @throws IllegalArgumentException If the provided listener is null.
+     */
+    public synchronized void addGameListener(GameListener listener) {
+        if (listener == null) {
+            throw new IllegalArgumentException("A listener cannot be null.");
+        }
+        GameListener[] newListeners = Arrays.copyOf(this.gameListeners, this.gameListeners.length + 1);
+        newListeners[this.gameListeners.length] = listener;
+        this.gameListeners = newListeners;
+    }
+
+    /**
+     * Unregisters a listener previously registered with addGameListener().
+     *
+     * @param listener The listener to unregister.
+     */
+    public synchronized void removeGameListener(GameListener listener) {
+        List<GameListener> newListeners = new ArrayList<>(Arrays.asList(this.gameListeners));
+        newListeners.remove(listener);
+        this.gameListeners = newListeners.toArray(new GameListener[0]);
+    }
+
+    /**
+     * Appends a round to the started tree, for instance a game that is only played depending on the result of the
+     * final. Must be called by the thread that changes the last game being played, before any participant is added to
+     * the new games, while no other game can change.
+     */
+    void appendRound(List<Game> round) {
+        List<GameSnapshot> gameSnapshots = new ArrayList<>(round.size());
+        for (Game game : round) {
+            gameSnapshots.add(GameSnapshot.of(game, this.gamePositions.size()));
+            this.gamePositions.put(game, this.gamePositions.size());
+        }
+        this.rounds.add(round);
+        for (Game game : round) {
+            this.indexGame(game, game.getStatus());
+            game.addGameListener(this.statusIndexer);
+        }
+        this.snapshot.updateAndGet(current -> current.withRound(gameSnapshots));
+    }
+
+    private void indexGame(Game game, Status gameStatus) {
+        this.gamesByStatus.get(gameStatus).add(game);
+        if (gameStatus == Status.NOTSTARTED && game.getParticipants().size() == 2) {
+            this.markReady(game);
+        }
+    }
+
+    private void publishGameInProgress(Game game) {
+        int position = this.gamePositions.get(game);
+        // Captured inside the update, so that a capture that lost the race to another writer is retried with the
+        // latest state of the game, and an older capture never replaces a newer one
+        this.snapshot.updateAndGet(current -> current.withGameInProgress(GameSnapshot.of(game, position)));
+    }
+
+    private void publishFinishedGame(Game game) {
+        GameSnapshot finished = GameSnapshot.of(game, this.gamePositions.get(game));
+        int followingPosition = -1;
+        int loserPosition = -1;
+        // A game can only finish without a winner if its status was forced with setStatus(), and then no one advances
+        List<Participant> players = finished.getParticipants();
+        if (players.size() == 2 && finished.getPoints(players.get(0)) != finished.getPoints(players.get(1))) {
+            followingPosition = game.getFollowingGame().map(this.gamePositions::get).orElse(-1);
+            if (game instanceof GameImpl) {
+                loserPosition = ((GameImpl) game).getLoserGame().map(this.gamePositions::get).orElse(-1);
+            }
+        }
+        int following = followingPosition;
+        int loser = loserPosition;
+        this.snapshot.updateAndGet(current -> current.withFinishedGame(finished, following, loser));
+    }
+
+    private void markReady(Game game) {
+        // Only the thread that actually adds the game publishes it, so that it is queued once
+        if (this.gamesReadyToStart.add(game)) {
+            this.readyQueue.add(game);
+        }
+    }
+
+    /**
+     * Moves the games between the status sets as they change.
+     */
+    private class StatusIndexer implements GameListener {
+
+        @Override
+        public void participantAdded(Game game, Participant participant) {
+            // The snapshot already shows the participant, published with the end of the game it comes from
+            if (game.getStatus() == Status.NOTSTARTED && game.getParticipants().size() == 2) {
+                markReady(game);
+                // The game may have been started by another thread since the check
+                if (game.getStatus() != Status.NOTSTARTED) {
+                    gamesReadyToStart.remove(game);
+                }
+            }
+            for (GameListener listener : gameListeners) {
+                listener.participantAdded(game, participant);
+            }
+        }
+
+        @Override
+        public void pointsAdded(Game game, Participant participant, int points) {
+            publishGameInProgress(game);
+            for (GameListener listener : gameListeners) {
+                listener.pointsAdded(game, participant, points);
+            }
+        }
+
+        @Override
+        public void pointsAdding(Game game, Participant participant, int points) {
+            GameListener[] listeners = gameListeners;
+            for (int i = listeners.length - 1; i >= 0; i--) {
+                listeners[i].pointsAdding(game, participant, points);
+            }
+        }
+
+        @Override
+        public void statusChanging(Game game, Status currentStatus, Status newStatus) {
+            GameListener[] listeners = gameListeners;
+            for (int i = listeners.length - 1; i >= 0; i--) {
+                listeners[i].statusChanging(game, currentStatus, newStatus);
+            }
+        }
+
+        @Override
+        public void statusChanged(Game game, Status previousStatus, Status newStatus) {
+            // Indexed under its new status before it leaves the old one, so that a concurrent end() never finds every
+            // unfinished set empty while the game is still being played
+            indexGame(game, newStatus);
+            gamesByStatus.get(previousStatus).remove(game);
+            if (newStatus != Status.NOTSTARTED) {
+                gamesReadyToStart.remove(game);
+            }
+            if (previousStatus == Status.INPROGRESS && newStatus == Status.FINISHED) {
+                publishFinishedGame(game);
+            } else {
+                publishGameInProgress(game);
+            }
+            for (GameListener listener : gameListeners) {
+                listener.statusChanged(game, previousStatus, newStatus);
+            }
+        }
     }
 
 }
@@ -4,19 +4,101 @@ import tournamentmanager.core.api.Game;
 import tournamentmanager.core.api.Participant;
 import tournamentmanager.core.api.TournamentException;
 import tournamentmanager.core.api.TournamentTreeBuilder;
+import tournamentmanager.util.Util;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Supplier;
 
 public class TournamentTreeBuilderImpl implements TournamentTreeBuilder {
 
+    private final Supplier<? extends Game> gameFactory;
+
+    public TournamentTreeBuilderImpl() {
+        this(GameImpl::new);
+    }
+
+    /**
+     * Creates a builder whose games are created by the given factory, for instance ConcurrentGameImpl::new
+     * to build a tree whose games can be played and finished from several threads.
+     *
+     * @param gameFactory The factory creating each empty Game of the tree.
+     * @throws IllegalArgumentException If the provided factory is null.
+     */
+    public TournamentTreeBuilderImpl(Supplier<? extends Game> gameFactory) {
+        if (gameFactory == null) {
+            throw new IllegalArgumentException("The game factory cannot be null.");
+        }
+        this.gameFactory = gameFactory;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * When the number of participants is not a power of two, the bracket is completed to the next power of two with
+     * byes, see buildRoundsWithByes().
+     */
     @Override
     public List<List<Game>> buildAllRounds(List<Participant> rankedParticipants) {
-        List<List<Game>> rounds = new ArrayList<>();
+        if (rankedParticipants.size() > 2 && !Util.isPowerOfTwo(rankedParticipants.size())) {
+            return this.buildRoundsWithByes(rankedParticipants);
+        }
+        List<List<Game>> rounds = new ArrayList<>(Integer.SIZE - Integer.numberOfLeadingZeros(rankedParticipants.size()));
         List<Game> nextRound = buildInitialRound(rankedParticipants);
         while (!nextRound.isEmpty()) {
             rounds.add(nextRound);
-            nextRound = new ArrayList<>(buildNextRound(nextRound));
+            nextRound = buildNextRound(nextRound);
+        }
+        return rounds;
+    }
+
+    /**
+     * Builds a tree whose bracket is completed to the next power of two with byes.
+     * <p>
+     * Each slot of the first round of the completed bracket holds either a game, or a single participant who gets a bye
+     * and is placed straight into a game of the second round: no game is created for a bye. The list is read as a
+     * seeding, as in a standard bracket (see Util.seedingOrder()): a slot is a bye when its opponent would be a seed
+     * beyond the number of participants. The participants are then assigned in the order of the list, one to each bye
+     * slot and two to each game, so that a list in seeding order (see TournamentImpl.startSeeded()) gives the byes
+     * to the best seeds.
+     */
+    private List<List<Game>> buildRoundsWithByes(List<Participant> participants) {
+        Participant[] rankedParticipants = participants.toArray(new Participant[0]);
+        int bracketSize = Util.bracketSize(rankedParticipants.length);
+        int slotCount = bracketSize / 2;
+        int[] seeds = Util.seedingOrder(bracketSize);
+
+        List<Game> firstRound = new ArrayList<>(rankedParticipants.length - slotCount);
+        List<Game> secondRound = new ArrayList<>(slotCount / 2);
+        int next = 0;
+        for (int slot = 0; slot < slotCount; slot++) {
+            if (slot % 2 == 0) {
+                secondRound.add(this.gameFactory.get());
+            }
+            Game following = secondRound.get(slot / 2);
+            try {
+                if (seeds[2 * slot + 1] >= rankedParticipants.length) {
+                    following.addParticipant(rankedParticipants[next++]);
+                } else {
+                    Game game = this.gameFactory.get();
+                    game.addParticipant(rankedParticipants[next++]);
+                    game.addParticipant(rankedParticipants[next++]);
+                    following.addPreviousGame(game);
+                    game.setFollowingGame(following);
+                    firstRound.add(game);
+                }
+            } catch (TournamentException e) {
+                throw new RuntimeException(
+                        "INTERNAL ERROR: a game was not constructed correctly! This should never happen.", e);
+            }
+        }
+
+        List<List<Game>> rounds = new ArrayList<>(Integer.numberOfTrailingZeros(bracketSize));
+        rounds.add(firstRound);
+        List<Game> nextRound = secondRound;
+        while (!nextRound.isEmpty()) {
+            rounds.add(nextRound);
+            nextRound = buildNextRound(nextRound);
         }
         return rounds;
     }
@@ -24,34 +106,34 @@ public class TournamentTreeBuilderImpl implements TournamentTreeBuilder {
     @Override
     public List<Game> buildInitialRound(List<Participant> participants) {
 
-        List<Participant> remainingRankedParticipants = new ArrayList<>(participants);
-        List<Game> initialRound = new ArrayList<>();
-        int amountOfInitialGames = participants.size() / 2;
+        if (participants.size() % 2 != 0) {
+            throw new RuntimeException("INTERNAL ERROR: there are participants remaining! This should never happen.");
+        }
+        // Single indexed pass, so that building the round stays linear in the number of participants
+        Participant[] rankedParticipants = participants.toArray(new Participant[0]);
+        int amountOfInitialGames = rankedParticipants.length / 2;
+        List<Game> initialRound = new ArrayList<>(amountOfInitialGames);
         for (int i = 0; i < amountOfInitialGames; i++) {
-            Game game = new GameImpl();
+            Game game = this.gameFactory.get();
             try {
-
-                game.addParticipant(remainingRankedParticipants.remove(0));
-                game.addParticipant(remainingRankedParticipants.remove(0));
+                game.addParticipant(rankedParticipants[2 * i]);
+                game.addParticipant(rankedParticipants[2 * i + 1]);
             } catch (TournamentException e) {
                 throw new RuntimeException(
                         "INTERNAL ERROR: a game was not constructed correctly! This should never happen.");
             }
             initialRound.add(game);
         }
-        if (remainingRankedParticipants.size() > 0) {
-            throw new RuntimeException("INTERNAL ERROR: there are participants remaining! This should never happen.");
-        }
         return initialRound;
     }
 
     @Override
     public List<Game> buildNextRound(List<? extends Game> previousRound) {
-        List<Game> nextRound = new ArrayList<>();
+        List<Game> nextRound = new ArrayList<>(previousRound.size() / 2);
         for (int i = 0; i < previousRound.size() - 1; i = i + 2) {
             Game gameA = previousRound.get(i);
             Game gameB = previousRound.get(i + 1);
-            Game newGame = new GameImpl();
+            Game newGame = this.gameFactory.get();
             try {
                 newGame.addPreviousGame(gameA);
                 newGame.addPreviousGame(gameB);
@@ -0,0 +1,305 @@
+package tournamentmanager.io;
+
+import tournamentmanager.core.api.*;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * Writes the games and the final ranking of a Tournament as CSV or JSON, streamed to an OutputStream or a channel.
+ * <p>
+ * The bracket is walked once, round by round, and each game is encoded straight into a fixed buffer, flushed to the
+ * output whenever it is full: the memory used does not depend on the size of the Tournament, and no list of games or
+ * set of participants is built. The ranking is streamed with Tournament.forEachRankedParticipant(), so that it follows
+ * the rules of each kind of Tournament. Outputs are flushed, but not closed.
+ */
+public class BracketExporter {
+
+    public enum Format {
+        CSV,
+        JSON
+    }
+
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private final Format format;
+
+    /**
+     * @param format The format of the exports.
+     * @throws IllegalArgumentException If the format is null.
+     */
+    public BracketExporter(Format format) {
+        if (format == null) {
+            throw new IllegalArgumentException("The format cannot be null.");
+        }
+        this.format = format;
+    }
+
+    /**
+     * Writes every game of the Tournament, in round order: its round, its position in the round, its status,
+     * its participants with their points, and its winner once finished.
+     *
+     * @throws IOException If the output cannot be written.
+     */
+    public void exportGames(Tournament tournament, OutputStream output) throws IOException {
+        this.exportGames(tournament, Channels.newChannel(output));
+        output.flush();
+    }
+
+    /**
+     * See exportGames(Tournament, OutputStream).
+     *
+     * @throws IOException If the channel cannot be written.
+     */
+    public void exportGames(Tournament tournament, WritableByteChannel channel) throws IOException {
+        if (tournament == null || channel == null) {
+            throw new IllegalArgumentException("The tournament and the output cannot be null.");
+        }
+        Writer writer = new Writer(channel);
+        List<List<Game>> rounds = tournament.getRounds();
+        if (this.format == Format.CSV) {
+            writer.append("round,game,status,participant1,points1,participant2,points2,winner\n");
+        } else {
+            writer.append("{\"rounds\":[");
+        }
+        for (int r = 0; r < rounds.size(); r++) {
+            List<Game> round = rounds.get(r);
+            if (this.format == Format.JSON) {
+                writer.append(r == 0 ? "[" : ",[");
+            }
+            for (int g = 0; g < round.size(); g++) {
+                if (this.format == Format.CSV) {
+                    writeCsvGame(writer, r, g, round.get(g));
+                } else {
+                    if (g > 0) {
+                        writer.append(',');
+                    }
+                    writeJsonGame(writer, g, round.get(g));
+                }
+            }
+            if (this.format == Format.JSON) {
+                writer.append(']');
+            }
+        }
+        if (this.format == Format.JSON) {
+            writer.append("]}\n");
+        }
+        writer.flush();
+    }
+
+    /**
+     * Writes the final ranking of the Tournament, in the order of Tournament.computeFinalRanking(), with the rank of
+     * each participant. Participants ranked ex-aequo share the same rank, which is one more than the number of
+     * participants ranked before them. Each participant is written as it is read, see forEachRankedParticipant().
+     *
+     * @throws TournamentException If the Tournament has not ended.
+     * @throws IOException         If the output cannot be written.
+     */
+    public void exportRanking(Tournament tournament, OutputStream output) throws IOException, TournamentException {
+        this.exportRanking(tournament, Channels.newChannel(output));
+        output.flush();
+    }
+
+    /**
+     * See exportRanking(Tournament, OutputStream).
+     *
+     * @throws TournamentException If the Tournament has not ended.
+     * @throws IOException         If the channel cannot be written.
+     */
+    public void exportRanking(Tournament tournament, WritableByteChannel channel) throws IOException, TournamentException {
+        if (tournament == null || channel == null) {
+            throw new IllegalArgumentException("The tournament and the output cannot be null.");
+        } else if (tournament.getStatus() != Status.FINISHED) {
+            throw new TournamentException("Cannot compute ranking of unfinished tournament.");
+        }
+        Writer writer = new Writer(channel);
+        writer.append(this.format == Format.CSV ? "rank,name\n" : "[");
+        boolean[] first = {true};
+        tournament.forEachRankedParticipant((rank, participant) -> {
+            this.writeRank(writer, rank, participant, first[0]);
+            first[0] = false;
+        });
+        if (this.format == Format.JSON) {
+            writer.append("]\n");
+        }
+        writer.flush();
+    }
+
+    private void writeRank(Writer writer, int rank, Participant participant, boolean first) throws IOException {
+        if (this.format == Format.CSV) {
+            writer.append(rank).append(',');
+            writeCsvField(writer, participant);
+            writer.append('\n');
+        } else {
+            writer.append(first ? "{\"rank\":" : ",{\"rank\":").append(rank).append(",\"name\":");
+            writeJsonName(writer, participant);
+            writer.append('}');
+        }
+    }
+
+    private static void writeCsvGame(Writer writer, int round, int position, Game game) throws IOException {
+        writer.append(round).append(',').append(position).append(',').append(game.getStatus().name());
+        List<Participant> participants = game.getParticipants();
+        for (int slot = 0; slot < 2; slot++) {
+            writer.append(',');
+            if (slot < participants.size()) {
+                writeCsvField(writer, participants.get(slot));
+                writer.append(',').append(game.getPoints(participants.get(slot)));
+            } else {
+                writer.append(',');
+            }
+        }
+        writer.append(',');
+        if (game.getStatus() == Status.FINISHED) {
+            writeCsvField(writer, winner(game));
+        }
+        writer.append('\n');
+    }
+
+    private static void writeJsonGame(Writer writer, int position, Game game) throws IOException {
+        writer.append("{\"game\":").append(position).append(",\"status\":\"").append(game.getStatus().name()).append("\",\"participants\":[");
+        List<Participant> participants = game.getParticipants();
+        for (int slot = 0; slot < participants.size(); slot++) {
+            writer.append(slot == 0 ? "{\"name\":" : ",{\"name\":");
+            writeJsonName(writer, participants.get(slot));
+            writer.append(",\"points\":").append(game.getPoints(participants.get(slot))).append('}');
+        }
+        writer.append("],\"winner\":");
+        if (game.getStatus() == Status.FINISHED) {
+            writeJsonName(writer, winner(game));
+        } else {
+            writer.append("null");
+        }
+        writer.append('}');
+    }
+
+    private static Participant winner(Game game) {
+        try {
+            return game.getWinner();
+        } catch (TournamentException e) {
+            throw new RuntimeException("INTERNAL ERROR: a finished game has no winner! This should never happen.", e);
+        }
+    }
+
+    private static void writeCsvField(Writer writer, Participant participant) throws IOException {
+        String name = participant == null ? null : participant.getName();
+        if (name == null) {
+            return;
+        }
+        boolean quoted = false;
+        for (int i = 0; i < name.length() && !quoted; i++) {
+            char c = name.charAt(i);
+            quoted = c == ',' || c == '"' || c == '\n' || c == '\r';
+        }
+        if (!quoted) {
+            writer.append(name);
+            return;
+        }
+        writer.append('"');
+        for (int i = 0; i < name.length(); i++) {
+            char c = name.charAt(i);
+            if (c == '"') {
+                writer.append('"');
+            }
+            writer.append(c);
+        }
+        writer.append('"');
+    }
+
+    private static void writeJsonName(Writer writer, Participant participant) throws IOException {
+        String name = participant == null ? null : participant.getName();
+        if (name == null) {
+            writer.append("null");
+            return;
+        }
+        writer.append('"');
+        for (int i = 0; i < name.length(); i++) {
+            char c = name.charAt(i);
+            if (c == '"' || c == '\\') {
+                writer.append('\\').append(c);
+            } else if (c < 0x20) {
+                writer.append(String.format("\\u%04x", (int) c));
+            } else {
+                writer.append(c);
+            }
+        }
+        writer.append('"');
+    }
+
+    /**
+     * Encodes characters to UTF-8 into a fixed buffer, written to the channel when full.
+     */
+    private static final class Writer {
+
+        private final WritableByteChannel channel;
+        private final ByteBuffer bytes = ByteBuffer.allocate(BUFFER_SIZE);
+        private final CharBuffer chars = CharBuffer.allocate(BUFFER_SIZE / 4);
+        private final CharsetEncoder encoder = StandardCharsets.UTF_8.newEncoder();
+
+        Writer(WritableByteChannel channel) {
+            this.channel = channel;
+        }
+
+        Writer append(char c) throws IOException {
+            if (!this.chars.hasRemaining()) {
+                this.encode(false);
+            }
+            this.chars.put(c);
+            return this;
+        }
+
+        Writer append(int value) throws IOException {
+            return this.append(Integer.toString(value));
+        }
+
+        Writer append(String s) throws IOException {
+            for (int i = 0; i < s.length(); i++) {
+                this.append(s.charAt(i));
+            }
+            return this;
+        }
+
+        void flush() throws IOException {
+            this.encode(true);
+            this.drain();
+        }
+
+        // Encodes the pending characters; a surrogate pair split across two calls is kept for the next one
+        private void encode(boolean endOfInput) throws IOException {
+            this.chars.flip();
+            while (true) {
+                CoderResult result = this.encoder.encode(this.chars, this.bytes, endOfInput);
+                if (result.isOverflow()) {
+                    this.drain();
+                } else if (result.isUnderflow()) {
+                    break;
+                } else {
+                    result.throwException();
+                }
+            }
+            if (endOfInput) {
+                while (this.encoder.flush(this.bytes).isOverflow()) {
+                    this.drain();
+                }
+                this.encoder.reset();
+            }
+            this.chars.compact();
+        }
+
+        private void drain() throws IOException {
+            this.bytes.flip();
+            while (this.bytes.hasRemaining()) {
+                this.channel.write(this.bytes);
+            }
+            this.bytes.clear();
+        }
+    }
+}
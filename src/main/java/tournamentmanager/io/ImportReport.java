@@ -0,0 +1,122 @@
+package tournamentmanager.io;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Outcome of an import by {@link ParticipantImporter}: counts, throughput, and the first rejected rows.
+ */
+public final class ImportReport {
+
+    private final long rows;
+    private final long imported;
+    private final long duplicates;
+    private final long rejected;
+    private final List<Rejection> rejections;
+    private final long bytes;
+    private final long elapsedNanos;
+
+    ImportReport(long rows, long imported, long duplicates, long rejected, List<Rejection> rejections, long bytes, long elapsedNanos) {
+        this.rows = rows;
+        this.imported = imported;
+        this.duplicates = duplicates;
+        this.rejected = rejected;
+        this.rejections = Collections.unmodifiableList(rejections);
+        this.bytes = bytes;
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    /**
+     * @return The number of rows read, header excluded.
+     */
+    public long getRows() {
+        return this.rows;
+    }
+
+    /**
+     * @return The number of participants added to the Tournament.
+     */
+    public long getImported() {
+        return this.imported;
+    }
+
+    /**
+     * @return The number of rows skipped because their name was already imported.
+     */
+    public long getDuplicates() {
+        return this.duplicates;
+    }
+
+    /**
+     * @return The number of rows rejected because they are malformed or have no name.
+     */
+    public long getRejected() {
+        return this.rejected;
+    }
+
+    /**
+     * @return The first rejected rows, in the order of the file. Holds at most ParticipantImporter.MAX_REPORTED_REJECTIONS rows.
+     */
+    public List<Rejection> getRejections() {
+        return this.rejections;
+    }
+
+    /**
+     * @return The size of the imported file, in bytes.
+     */
+    public long getBytes() {
+        return this.bytes;
+    }
+
+    public long getElapsedNanos() {
+        return this.elapsedNanos;
+    }
+
+    /**
+     * @return The number of rows read per second.
+     */
+    public double getRowsPerSecond() {
+        return this.rows * 1e9 / Math.max(1, this.elapsedNanos);
+    }
+
+    /**
+     * @return The number of megabytes (2^20 bytes) read per second.
+     */
+    public double getMegabytesPerSecond() {
+        return this.bytes * 1e9 / (1 << 20) / Math.max(1, this.elapsedNanos);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%d rows: %d imported, %d duplicates, %d rejected, in %.3f s (%.0f rows/s, %.1f MB/s)",
+                this.rows, this.imported, this.duplicates, this.rejected, this.elapsedNanos / 1e9,
+                this.getRowsPerSecond(), this.getMegabytesPerSecond());
+    }
+
+    /**
+     * A rejected row, located by the offset of its first byte in the file.
+     */
+    public static final class Rejection {
+
+        private final long offset;
+        private final String reason;
+
+        Rejection(long offset, String reason) {
+            this.offset = offset;
+            this.reason = reason;
+        }
+
+        public long getOffset() {
+            return this.offset;
+        }
+
+        public String getReason() {
+            return this.reason;
+        }
+
+        @Override
+        public String toString() {
+            return "row at byte " + this.offset + ": " + this.reason;
+        }
+    }
+}
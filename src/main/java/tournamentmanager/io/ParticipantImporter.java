@@ -0,0 +1,553 @@
+package tournamentmanager.io;
+
+import tournamentmanager.core.api.Participant;
+import tournamentmanager.core.api.Tournament;
+import tournamentmanager.core.api.TournamentException;
+import tournamentmanager.core.impl.ParticipantImpl;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.*;
+
+/**
+ * Imports participants from large CSV or NDJSON files, streamed through fixed buffers.
+ * <p>
+ * The file is read through a FileChannel into a fixed buffer, and each row is scanned in place: only the name of the
+ * participant is decoded to a String, the other fields are skipped. Names already imported are skipped as duplicates,
+ * and malformed rows, rows without a name and rows longer than the buffer are rejected and reported. Participants are
+ * added to the Tournament in chunks, as the file is read.
+ * <p>
+ * The file itself is never held in memory: besides the read buffers and the chunk being built, the memory used grows
+ * with the number of distinct names, which are kept to detect duplicates, as do the participants of the Tournament.
+ * <p>
+ * With a parallelism above 1, the file is split in ranges of bytes, each parsed by its own thread; a row belongs to
+ * the range holding its first byte. Chunks are then added to the Tournament in the order they are parsed.
+ * <p>
+ * Rows are separated by line breaks, so CSV fields cannot contain line breaks, even quoted.
+ */
+public class ParticipantImporter {
+
+    public enum Format {
+        /**
+         * Comma-separated values, with double quotes around fields containing commas or quotes.
+         */
+        CSV,
+        /**
+         * One JSON object per line.
+         */
+        NDJSON
+    }
+
+    public static final int MAX_REPORTED_REJECTIONS = 100;
+    private static final int DEFAULT_BUFFER_SIZE = 1 << 20;
+    // Tournaments grow their registration index geometrically, so adding many chunks stays linear
+    private static final int DEFAULT_CHUNK_SIZE = 10_000;
+
+    private final Format format;
+    private int nameColumn = 0;
+    private byte[] nameField = "name".getBytes(StandardCharsets.UTF_8);
+    private boolean header = true;
+    private int chunkSize = DEFAULT_CHUNK_SIZE;
+    private int parallelism = 1;
+    private int bufferSize = DEFAULT_BUFFER_SIZE;
+
+    /**
+     * Creates an importer reading names from the first column of a CSV file with a header row,
+     * or from the "name" field of NDJSON objects.
+     *
+     * @param format The format of the files.
+     * @throws IllegalArgumentException If the format is null.
+     */
+    public ParticipantImporter(Format format) {
+        if (format == null) {
+            throw new IllegalArgumentException("The format cannot be null.");
+        }
+        this.format = format;
+    }
+
+    /**
+     * @param nameColumn The index of the CSV column holding the names, from 0.
+     */
+    public ParticipantImporter setNameColumn(int nameColumn) {
+        if (nameColumn < 0) {
+            throw new IllegalArgumentException("The column cannot be negative.");
+        }
+        this.nameColumn = nameColumn;
+        return this;
+    }
+
+    /**
+     * @param nameField The NDJSON field holding the names.
+     */
+    public ParticipantImporter setNameField(String nameField) {
+        if (nameField == null) {
+            throw new IllegalArgumentException("The field cannot be null.");
+        }
+        this.nameField = nameField.getBytes(StandardCharsets.UTF_8);
+        return this;
+    }
+
+    /**
+     * @param header Whether the first row of a CSV file is a header, to skip.
+     */
+    public ParticipantImporter setHeader(boolean header) {
+        this.header = header;
+        return this;
+    }
+
+    /**
+     * @param chunkSize The number of participants added to the Tournament at once, which bounds the participants
+     *                  waiting to be added, not the memory of the import.
+     */
+    public ParticipantImporter setChunkSize(int chunkSize) {
+        if (chunkSize < 1) {
+            throw new IllegalArgumentException("The chunk size must be positive.");
+        }
+        this.chunkSize = chunkSize;
+        return this;
+    }
+
+    /**
+     * @param parallelism The number of threads parsing the file.
+     */
+    public ParticipantImporter setParallelism(int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("The parallelism must be positive.");
+        }
+        this.parallelism = parallelism;
+        return this;
+    }
+
+    /**
+     * @param bufferSize The size of the read buffer of each thread, which is also the maximum length of a row.
+     */
+    public ParticipantImporter setBufferSize(int bufferSize) {
+        if (bufferSize < 16) {
+            throw new IllegalArgumentException("The buffer size must be at least 16 bytes.");
+        }
+        this.bufferSize = bufferSize;
+        return this;
+    }
+
+    /**
+     * Imports the participants of a file into a Tournament.
+     *
+     * @param file       The file to import.
+     * @param tournament The Tournament to add the participants to.
+     * @return The report of the import.
+     * @throws IOException              If the file cannot be read.
+     * @throws TournamentException      If the Tournament has already started. Chunks added before are kept.
+     * @throws IllegalArgumentException If an argument is null.
+     */
+    public ImportReport importInto(Path file, Tournament tournament) throws IOException, TournamentException {
+        if (file == null || tournament == null) {
+            throw new IllegalArgumentException("The file and the tournament cannot be null.");
+        }
+        long startTime = System.nanoTime();
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            int rangeCount = (int) Math.max(1, Math.min(this.parallelism, size / this.bufferSize + 1));
+            Set<String> names = ConcurrentHashMap.newKeySet();
+            List<RangeReader> readers = new ArrayList<>(rangeCount);
+            for (int i = 0; i < rangeCount; i++) {
+                readers.add(new RangeReader(channel, size * i / rangeCount, size * (i + 1) / rangeCount, names, tournament));
+            }
+
+            if (rangeCount == 1) {
+                readers.get(0).call();
+            } else {
+                ExecutorService executor = Executors.newFixedThreadPool(rangeCount);
+                try {
+                    for (Future<Void> future : executor.invokeAll(readers)) {
+                        future.get();
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IOException("The import was interrupted.", e);
+                } catch (ExecutionException e) {
+                    if (e.getCause() instanceof IOException) {
+                        throw (IOException) e.getCause();
+                    } else if (e.getCause() instanceof TournamentException) {
+                        throw (TournamentException) e.getCause();
+                    }
+                    throw new RuntimeException("INTERNAL ERROR: the import failed unexpectedly.", e.getCause());
+                } finally {
+                    executor.shutdownNow();
+                }
+            }
+
+            long rows = 0;
+            long imported = 0;
+            long duplicates = 0;
+            long rejected = 0;
+            List<ImportReport.Rejection> rejections = new ArrayList<>();
+            for (RangeReader reader : readers) {
+                rows += reader.rows;
+                imported += reader.imported;
+                duplicates += reader.duplicates;
+                rejected += reader.rejected;
+                for (ImportReport.Rejection rejection : reader.rejections) {
+                    if (rejections.size() < MAX_REPORTED_REJECTIONS) {
+                        rejections.add(rejection);
+                    }
+                }
+            }
+            return new ImportReport(rows, imported, duplicates, rejected, rejections, size, System.nanoTime() - startTime);
+        }
+    }
+
+    /**
+     * Parses the rows starting in a range of bytes of the file.
+     */
+    private final class RangeReader implements Callable<Void> {
+
+        private final FileChannel channel;
+        private final long from;
+        private final long to;
+        private final Set<String> names;
+        private final Tournament tournament;
+        private final List<Participant> chunk = new ArrayList<>();
+        private final List<ImportReport.Rejection> rejections = new ArrayList<>();
+        private long rows;
+        private long imported;
+        private long duplicates;
+        private long rejected;
+
+        RangeReader(FileChannel channel, long from, long to, Set<String> names, Tournament tournament) {
+            this.channel = channel;
+            this.from = from;
+            this.to = to;
+            this.names = names;
+            this.tournament = tournament;
+        }
+
+        @Override
+        public Void call() throws IOException, TournamentException {
+            ByteBuffer buffer = ByteBuffer.allocate(bufferSize);
+            byte[] bytes = buffer.array();
+            // File position of bytes[0]
+            long position = this.from;
+            // A row starting in the previous range is skipped, so is the end of a row longer than the buffer
+            boolean skipping = this.from > 0 && !this.startsRow();
+            boolean headerRow = this.from == 0 && header && format == Format.CSV;
+            boolean done = false;
+
+            while (!done) {
+                boolean endOfFile = this.channel.read(buffer, position + buffer.position()) < 0;
+                int limit = buffer.position();
+                int rowStart = 0;
+                for (int i = 0; i < limit && !done; i++) {
+                    if (bytes[i] != '\n') {
+                        continue;
+                    }
+                    if (skipping) {
+                        skipping = false;
+                    } else if (position + rowStart >= this.to) {
+                        done = true;
+                    } else if (headerRow) {
+                        headerRow = false;
+                    } else {
+                        this.row(bytes, rowStart, i, position + rowStart);
+                    }
+                    rowStart = i + 1;
+                }
+                if (done) {
+                    break;
+                }
+                if (endOfFile) {
+                    if (rowStart < limit && !skipping && position + rowStart < this.to && !headerRow) {
+                        this.row(bytes, rowStart, limit, position + rowStart);
+                    }
+                    break;
+                }
+                if (rowStart == 0 && limit == bytes.length) {
+                    // No line break in a full buffer: the row is too long
+                    if (!skipping) {
+                        if (position >= this.to) {
+                            break;
+                        }
+                        this.rows++;
+                        this.reject(position, "row longer than " + bytes.length + " bytes");
+                        headerRow = false;
+                        skipping = true;
+                    }
+                    position += limit;
+                    buffer.clear();
+                } else {
+                    System.arraycopy(bytes, rowStart, bytes, 0, limit - rowStart);
+                    position += rowStart;
+                    buffer.position(limit - rowStart);
+                }
+            }
+            this.flush();
+            return null;
+        }
+
+        private boolean startsRow() throws IOException {
+            ByteBuffer previous = ByteBuffer.allocate(1);
+            this.channel.read(previous, this.from - 1);
+            return previous.get(0) == '\n';
+        }
+
+        private void row(byte[] bytes, int start, int end, long offset) throws TournamentException {
+            if (end > start && bytes[end - 1] == '\r') {
+                end--;
+            }
+            if (end == start) {
+                // Blank lines are not rows
+                return;
+            }
+            this.rows++;
+            String name;
+            try {
+                name = format == Format.CSV ? csvName(bytes, start, end) : jsonName(bytes, start, end);
+            } catch (MalformedRowException e) {
+                this.reject(offset, e.getMessage());
+                return;
+            }
+            if (name.isBlank()) {
+                this.reject(offset, "empty name");
+            } else if (!this.names.add(name)) {
+                this.duplicates++;
+            } else {
+                this.chunk.add(new ParticipantImpl(name));
+                if (this.chunk.size() >= chunkSize) {
+                    this.flush();
+                }
+            }
+        }
+
+        private void reject(long offset, String reason) {
+            this.rejected++;
+            if (this.rejections.size() < MAX_REPORTED_REJECTIONS) {
+                this.rejections.add(new ImportReport.Rejection(offset, reason));
+            }
+        }
+
+        private void flush() throws TournamentException {
+            if (this.chunk.isEmpty()) {
+                return;
+            }
+            // Registration is not thread-safe, the readers take turns
+            synchronized (this.tournament) {
+                this.tournament.addParticipants(this.chunk);
+            }
+            this.imported += this.chunk.size();
+            this.chunk.clear();
+        }
+    }
+
+    private String csvName(byte[] bytes, int start, int end) throws MalformedRowException {
+        int i = start;
+        for (int column = 0; column < this.nameColumn; column++) {
+            if (i < end && bytes[i] == '"') {
+                i = closingQuote(bytes, i, end) + 1;
+            }
+            while (i < end && bytes[i] != ',') {
+                i++;
+            }
+            if (i >= end) {
+                throw new MalformedRowException("missing column " + this.nameColumn);
+            }
+            i++;
+        }
+
+        if (i < end && bytes[i] == '"') {
+            int closing = closingQuote(bytes, i, end);
+            if (closing + 1 < end && bytes[closing + 1] != ',') {
+                throw new MalformedRowException("unexpected character after a quoted field");
+            }
+            // Unescape doubled quotes, if any
+            byte[] field = new byte[closing - i - 1];
+            int length = 0;
+            for (int j = i + 1; j < closing; j++) {
+                field[length++] = bytes[j];
+                if (bytes[j] == '"') {
+                    j++;
+                }
+            }
+            return new String(field, 0, length, StandardCharsets.UTF_8);
+        }
+        int fieldEnd = i;
+        while (fieldEnd < end && bytes[fieldEnd] != ',') {
+            fieldEnd++;
+        }
+        while (i < fieldEnd && (bytes[i] == ' ' || bytes[i] == '\t')) {
+            i++;
+        }
+        while (fieldEnd > i && (bytes[fieldEnd - 1] == ' ' || bytes[fieldEnd - 1] == '\t')) {
+            fieldEnd--;
+        }
+        return new String(bytes, i, fieldEnd - i, StandardCharsets.UTF_8);
+    }
+
+    // Returns the index of the quote closing the field opened at start
+    private static int closingQuote(byte[] bytes, int start, int end) throws MalformedRowException {
+        for (int i = start + 1; i < end; i++) {
+            if (bytes[i] == '"') {
+                if (i + 1 < end && bytes[i + 1] == '"') {
+                    i++;
+                } else {
+                    return i;
+                }
+            }
+        }
+        throw new MalformedRowException("unterminated quoted field");
+    }
+
+    private String jsonName(byte[] bytes, int start, int end) throws MalformedRowException {
+        int i = skipWhitespace(bytes, start, end);
+        expect(bytes, i, end, '{');
+        i = skipWhitespace(bytes, i + 1, end);
+        if (i < end && bytes[i] == '}') {
+            throw new MalformedRowException("missing field " + new String(this.nameField, StandardCharsets.UTF_8));
+        }
+        while (true) {
+            expect(bytes, i, end, '"');
+            int keyEnd = skipString(bytes, i, end);
+            boolean nameKey = keyEnd - i - 2 == this.nameField.length
+                    && Arrays.equals(bytes, i + 1, keyEnd - 1, this.nameField, 0, this.nameField.length);
+            i = skipWhitespace(bytes, keyEnd, end);
+            expect(bytes, i, end, ':');
+            i = skipWhitespace(bytes, i + 1, end);
+            if (nameKey) {
+                if (i >= end || bytes[i] != '"') {
+                    throw new MalformedRowException("the name is not a string");
+                }
+                return jsonString(bytes, i, end);
+            }
+            i = skipWhitespace(bytes, skipValue(bytes, i, end), end);
+            if (i < end && bytes[i] == ',') {
+                i = skipWhitespace(bytes, i + 1, end);
+            } else if (i < end && bytes[i] == '}') {
+                throw new MalformedRowException("missing field " + new String(this.nameField, StandardCharsets.UTF_8));
+            } else {
+                throw new MalformedRowException("malformed object");
+            }
+        }
+    }
+
+    private static int skipWhitespace(byte[] bytes, int i, int end) {
+        while (i < end && (bytes[i] == ' ' || bytes[i] == '\t')) {
+            i++;
+        }
+        return i;
+    }
+
+    private static void expect(byte[] bytes, int i, int end, char expected) throws MalformedRowException {
+        if (i >= end || bytes[i] != expected) {
+            throw new MalformedRowException("expected '" + expected + "'");
+        }
+    }
+
+    // Returns the index following the string starting at start
+    private static int skipString(byte[] bytes, int start, int end) throws MalformedRowException {
+        for (int i = start + 1; i < end; i++) {
+            if (bytes[i] == '\\') {
+                i++;
+            } else if (bytes[i] == '"') {
+                return i + 1;
+            }
+        }
+        throw new MalformedRowException("unterminated string");
+    }
+
+    // Returns the index following the value starting at start
+    private static int skipValue(byte[] bytes, int start, int end) throws MalformedRowException {
+        if (start >= end) {
+            throw new MalformedRowException("missing value");
+        } else if (bytes[start] == '"') {
+            return skipString(bytes, start, end);
+        } else if (bytes[start] == '{' || bytes[start] == '[') {
+            int depth = 0;
+            for (int i = start; i < end; i++) {
+                if (bytes[i] == '"') {
+                    i = skipString(bytes, i, end) - 1;
+                } else if (bytes[i] == '{' || bytes[i] == '[') {
+                    depth++;
+                } else if ((bytes[i] == '}' || bytes[i] == ']') && --depth == 0) {
+                    return i + 1;
+                }
+            }
+            throw new MalformedRowException("unterminated value");
+        }
+        int i = start;
+        while (i < end && bytes[i] != ',' && bytes[i] != '}' && bytes[i] != ' ' && bytes[i] != '\t') {
+            i++;
+        }
+        return i;
+    }
+
+    private static String jsonString(byte[] bytes, int start, int end) throws MalformedRowException {
+        StringBuilder builder = null;
+        int runStart = start + 1;
+        for (int i = start + 1; i < end; i++) {
+            if (bytes[i] == '"') {
+                if (builder == null) {
+                    return new String(bytes, runStart, i - runStart, StandardCharsets.UTF_8);
+                }
+                return builder.append(new String(bytes, runStart, i - runStart, StandardCharsets.UTF_8)).toString();
+            } else if (bytes[i] == '\\') {
+                if (builder == null) {
+                    builder = new StringBuilder();
+                }
+                builder.append(new String(bytes, runStart, i - runStart, StandardCharsets.UTF_8));
+                if (++i >= end) {
+                    break;
+                }
+                switch (bytes[i]) {
+                    case 'b':
+                        builder.append('\b');
+                        break;
+                    case 'f':
+                        builder.append('\f');
+                        break;
+                    case 'n':
+                        builder.append('\n');
+                        break;
+                    case 'r':
+                        builder.append('\r');
+                        break;
+                    case 't':
+                        builder.append('\t');
+                        break;
+                    case 'u':
+                        if (i + 4 >= end) {
+                            throw new MalformedRowException("truncated unicode escape");
+                        }
+                        try {
+                            builder.append((char) Integer.parseInt(new String(bytes, i + 1, 4, StandardCharsets.US_ASCII), 16));
+                        } catch (NumberFormatException e) {
+                            throw new MalformedRowException("invalid unicode escape");
+                        }
+                        i += 4;
+                        break;
+                    default:
+                        builder.append((char) bytes[i]);
+                }
+                runStart = i + 1;
+            }
+        }
+        throw new MalformedRowException("unterminated string");
+    }
+
+    /**
+     * Reason of the rejection of a row. Thrown for each malformed row, so it carries no stack trace.
+     */
+    private static final class MalformedRowException extends Exception {
+
+        private static final long serialVersionUID = 1L;
+
+        MalformedRowException(String reason) {
+            super(reason, null, false, false);
+        }
+    }
+}
@@ -0,0 +1,299 @@
+package tournamentmanager.journal;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only journal of records, written to numbered segment files of a directory.
+ * <p>
+ * Each record is framed as its length, the CRC32 of its payload, then the payload. Records appended by concurrent
+ * threads are gathered in a buffer, which a single flusher thread writes and forces to disk: every record appended
+ * while a batch was being forced is committed by the next force, so the cost of one fsync is shared by all the
+ * writers waiting for it. A segment is closed and a new one opened once it exceeds the segment size.
+ */
+final class Journal implements AutoCloseable {
+
+    static final String SEGMENT_SUFFIX = ".journal";
+    private static final int HEADER_SIZE = 8;
+    private static final int INITIAL_BUFFER_SIZE = 1 << 16;
+
+    private final Path directory;
+    private final long segmentSize;
+    private final Thread flusher;
+    // Only used by the flusher thread, or by compact() while the flusher is idle
+    private FileChannel channel;
+    private long segment;
+    private long segmentBytes;
+
+    // Guarded by this
+    private ByteBuffer pending = ByteBuffer.allocate(INITIAL_BUFFER_SIZE);
+    private ByteBuffer spare = ByteBuffer.allocate(INITIAL_BUFFER_SIZE);
+    private long appended;
+    private long durable;
+    private IOException failure;
+    private boolean closed;
+
+    /**
+     * @param directory   The directory of the segments.
+     * @param segment     The number of the first segment to write, which must not exist yet.
+     * @param segmentSize The size from which a segment is closed and a new one opened.
+     */
+    Journal(Path directory, long segment, long segmentSize) throws IOException {
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+        this.segment = segment;
+        this.channel = FileChannel.open(segmentPath(directory, segment), StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+        this.flusher = new Thread(this::flushLoop, "journal-flusher");
+        this.flusher.setDaemon(true);
+        this.flusher.start();
+    }
+
+    static Path segmentPath(Path directory, long segment) {
+        return directory.resolve(String.format("%020d%s", segment, SEGMENT_SUFFIX));
+    }
+
+    /**
+     * @return The segments of the directory, in order.
+     */
+    static List<Path> segments(Path directory) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(path -> path.getFileName().toString().matches("\\d{20}" + SEGMENT_SUFFIX))
+                    .sorted()
+                    .collect(Collectors.toList());
+        }
+    }
+
+    static long segmentNumber(Path segment) {
+        String name = segment.getFileName().toString();
+        return Long.parseLong(name.substring(0, name.length() - SEGMENT_SUFFIX.length()));
+    }
+
+    /**
+     * Reads the records of a segment. A torn record at the end of the last segment, left by a crash during a write,
+     * is cut off; anywhere else it means the journal is corrupted.
+     *
+     * @return The payloads of the records, in order.
+     */
+    static List<ByteBuffer> read(Path segment, boolean last) throws IOException {
+        ByteBuffer content = ByteBuffer.wrap(Files.readAllBytes(segment));
+        List<ByteBuffer> records = new ArrayList<>();
+        CRC32 crc = new CRC32();
+        while (content.remaining() >= HEADER_SIZE) {
+            int length = content.getInt();
+            int checksum = content.getInt();
+            if (length < 0 || length > content.remaining()) {
+                break;
+            }
+            ByteBuffer payload = content.slice();
+            payload.limit(length);
+            crc.reset();
+            crc.update(payload.duplicate());
+            if ((int) crc.getValue() != checksum) {
+                content.position(content.position() - HEADER_SIZE);
+                break;
+            }
+            records.add(payload);
+            content.position(content.position() + length);
+        }
+        if (content.hasRemaining()) {
+            if (!last) {
+                throw new IOException("The journal segment " + segment + " is corrupted.");
+            }
+            // Cut the torn record off, so that the segment stays valid once it is no longer the last one
+            try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.WRITE)) {
+                channel.truncate(content.position());
+                channel.force(false);
+            }
+        }
+        return records;
+    }
+
+    /**
+     * Appends a record, to be written by the next batch.
+     *
+     * @param payload The content of the record, read from its position to its limit.
+     * @return The sequence number of the record, to wait for with awaitDurable().
+     * @throws UncheckedIOException If the journal failed to write a previous batch.
+     */
+    synchronized long append(ByteBuffer payload) {
+        this.checkOpen();
+        this.pending = frame(this.pending, payload);
+        this.appended++;
+        this.notifyAll();
+        return this.appended;
+    }
+
+    /**
+     * Waits until the record with the given sequence number, and all the records before it, are on disk.
+     *
+     * @throws UncheckedIOException If the journal failed to write them.
+     */
+    synchronized void awaitDurable(long sequence) {
+        boolean interrupted = false;
+        while (this.durable < sequence && this.failure == null) {
+            try {
+                this.wait();
+            } catch (InterruptedException e) {
+                // The record is already appended, so it is waited for anyway
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+        if (this.durable < sequence) {
+            throw new UncheckedIOException("The journal could not be written.", this.failure);
+        }
+    }
+
+    /**
+     * Replaces all the segments with a single snapshot segment holding the given records.
+     * The snapshot is written to a temporary file and renamed, so a crash leaves either the previous segments or the
+     * complete snapshot; the segments it replaces are then deleted, and the following records go to a new segment.
+     *
+     * @param records The payloads of the records of the snapshot, the first one marking it as a snapshot.
+     */
+    synchronized void compact(List<ByteBuffer> records) throws IOException {
+        this.checkOpen();
+        // Appends are blocked while the monitor is held, and the flusher is idle once everything is durable
+        while (this.durable < this.appended) {
+            this.awaitDurable(this.appended);
+        }
+        ByteBuffer content = ByteBuffer.allocate(INITIAL_BUFFER_SIZE);
+        for (ByteBuffer record : records) {
+            content = frame(content, record);
+        }
+        content.flip();
+        long snapshotSegment = this.segment + 1;
+        Path snapshot = segmentPath(this.directory, snapshotSegment);
+        Path temporary = this.directory.resolve(snapshot.getFileName() + ".tmp");
+        try (FileChannel output = FileChannel.open(temporary, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            while (content.hasRemaining()) {
+                output.write(content);
+            }
+            output.force(false);
+        }
+        Files.move(temporary, snapshot, StandardCopyOption.ATOMIC_MOVE);
+
+        this.channel.close();
+        for (Path previous : segments(this.directory)) {
+            if (segmentNumber(previous) < snapshotSegment) {
+                Files.delete(previous);
+            }
+        }
+        this.segment = snapshotSegment + 1;
+        this.segmentBytes = 0;
+        this.channel = FileChannel.open(segmentPath(this.directory, this.segment), StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+    }
+
+    /**
+     * Writes the pending records, then stops the flusher and closes the current segment.
+     */
+    @Override
+    public void close() throws IOException {
+        synchronized (this) {
+            if (this.closed) {
+                return;
+            }
+            this.closed = true;
+            this.notifyAll();
+        }
+        try {
+            this.flusher.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        this.channel.close();
+        synchronized (this) {
+            if (this.failure != null) {
+                throw this.failure;
+            }
+        }
+    }
+
+    private void flushLoop() {
+        while (true) {
+            ByteBuffer batch;
+            long batchSequence;
+            synchronized (this) {
+                while (this.pending.position() == 0 && !this.closed) {
+                    try {
+                        this.wait();
+                    } catch (InterruptedException e) {
+                        // Only close() stops the flusher
+                    }
+                }
+                if (this.pending.position() == 0) {
+                    return;
+                }
+                batch = this.pending;
+                batchSequence = this.appended;
+                this.pending = this.spare;
+                this.spare = null;
+            }
+            try {
+                this.write(batch);
+            } catch (IOException e) {
+                synchronized (this) {
+                    this.failure = e;
+                    this.notifyAll();
+                }
+                return;
+            }
+            synchronized (this) {
+                this.durable = batchSequence;
+                batch.clear();
+                this.spare = batch;
+                this.notifyAll();
+            }
+        }
+    }
+
+    private void write(ByteBuffer batch) throws IOException {
+        batch.flip();
+        if (this.segmentBytes > 0 && this.segmentBytes + batch.remaining() > this.segmentSize) {
+            this.channel.close();
+            this.segment++;
+            this.segmentBytes = 0;
+            this.channel = FileChannel.open(segmentPath(this.directory, this.segment), StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+        }
+        this.segmentBytes += batch.remaining();
+        while (batch.hasRemaining()) {
+            this.channel.write(batch);
+        }
+        this.channel.force(false);
+    }
+
+    // Must hold the lock
+    private void checkOpen() {
+        if (this.failure != null) {
+            throw new UncheckedIOException("The journal could not be written.", this.failure);
+        } else if (this.closed) {
+            throw new IllegalStateException("The journal is closed.");
+        }
+    }
+
+    private static ByteBuffer frame(ByteBuffer buffer, ByteBuffer payload) {
+        int length = payload.remaining();
+        ByteBuffer target = buffer;
+        if (target.remaining() < HEADER_SIZE + length) {
+            target = ByteBuffer.allocate(Math.max(2 * buffer.capacity(), buffer.position() + HEADER_SIZE + length));
+            buffer.flip();
+            target.put(buffer);
+        }
+        CRC32 crc = new CRC32();
+        crc.update(payload.duplicate());
+        target.putInt(length);
+        target.putInt((int) crc.getValue());
+        target.put(payload.duplicate());
+        return target;
+    }
+}
@@ -0,0 +1,473 @@
+package tournamentmanager.journal;
+
+import tournamentmanager.core.api.*;
+import tournamentmanager.core.impl.ParticipantImpl;
+import tournamentmanager.core.impl.TournamentImpl;
+import tournamentmanager.core.impl.TournamentTreeBuilderImpl;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.Flow;
+
+/**
+ * Tournament whose changes are recorded in an append-only journal, so that it can be rebuilt after a restart.
+ * <p>
+ * Every change is recorded as a small binary record: participants added, the draw made by start(), games started,
+ * points added, games finished (with their final scores) and the end of the tournament. Changes made directly on
+ * the Games of the tree, from any thread, are recorded as well.
+ * <p>
+ * The journal is written ahead: a change is checked, recorded, and only made once its record is on disk, so that
+ * every change seen by the other listeners and threads survives a crash. If the record cannot be written, the
+ * change fails with an UncheckedIOException (or an IllegalStateException once the journal is closed) and nothing is
+ * changed; changes of Games fail with a ChangeVetoedException caused by it, see GameListener.statusChanging(). Records of concurrent changes are committed together by a single fsync (see Journal). Points are the only
+ * records that are appended without waiting for the disk, so that scoring does not pay an fsync per call: they are
+ * committed with the next batch, and at the latest before the game finishes, as its final scores are recorded with
+ * its end. A crash can therefore lose the last points of the games in progress, but never the result of a game.
+ * <p>
+ * open() replays the journal of a directory into a new TournamentImpl, with the same draw, games and scores.
+ * Participants are rebuilt as ParticipantImpl with the same names. compact() replaces the journal with a snapshot of
+ * the current state; it must be called while no Game is being changed, for instance between two rounds.
+ */
+public class JournaledTournament implements Tournament, AutoCloseable {
+
+    public static final long DEFAULT_SEGMENT_SIZE = 64L << 20;
+
+    // Record types
+    static final byte SNAPSHOT = 0;
+    static final byte PARTICIPANT_ADDED = 1;
+    static final byte STARTED = 2;
+    static final byte GAME_STARTED = 3;
+    static final byte POINTS_ADDED = 4;
+    static final byte GAME_FINISHED = 5;
+    static final byte ENDED = 6;
+
+    private final TournamentImpl tournament;
+    private final Journal journal;
+    // Registration order of the participants, and index of each participant in it
+    private final List<Participant> registered;
+    private final Map<Participant, Integer> participantIndexes;
+    // Games of the tree, in round order
+    private volatile List<Game> games = Collections.emptyList();
+    private volatile Map<Game, Integer> gamePositions = Collections.emptyMap();
+
+    private JournaledTournament(TournamentImpl tournament, List<Participant> registered, Journal journal) {
+        this.tournament = tournament;
+        this.journal = journal;
+        this.registered = registered;
+        this.participantIndexes = new HashMap<>();
+        for (int i = 0; i < registered.size(); i++) {
+            this.participantIndexes.put(registered.get(i), i);
+        }
+        this.indexGames();
+        tournament.addGameListener(new Recorder());
+    }
+
+    /**
+     * Opens the journal of a directory, with segments of DEFAULT_SEGMENT_SIZE and trees built by a
+     * TournamentTreeBuilderImpl.
+     *
+     * @see #open(Path, TournamentTreeBuilder, long)
+     */
+    public static JournaledTournament open(Path directory) throws IOException {
+        return open(directory, new TournamentTreeBuilderImpl(), DEFAULT_SEGMENT_SIZE);
+    }
+
+    /**
+     * Opens the journal of a directory, rebuilding the Tournament it records, or a new empty Tournament if the
+     * directory has no journal yet. Following changes are appended to the journal.
+     *
+     * @param directory   The directory of the journal, created if needed.
+     * @param builder     The builder of the tournament tree, when the journal records the start of the Tournament.
+     * @param segmentSize The size from which a segment of the journal is closed and a new one opened.
+     * @return The rebuilt Tournament.
+     * @throws IOException              If the journal cannot be read, or does not describe a valid Tournament.
+     * @throws IllegalArgumentException If an argument is null, or if the segment size is not positive.
+     */
+    public static JournaledTournament open(Path directory, TournamentTreeBuilder builder, long segmentSize) throws IOException {
+        if (directory == null || builder == null) {
+            throw new IllegalArgumentException("The directory and the builder cannot be null.");
+        } else if (segmentSize <= 0) {
+            throw new IllegalArgumentException("The segment size must be positive.");
+        }
+        Files.createDirectories(directory);
+        List<Path> segments = Journal.segments(directory);
+
+        // Replay from the latest snapshot, the segments before it are left over by an interrupted compaction
+        int first = 0;
+        List<List<ByteBuffer>> contents = new ArrayList<>();
+        for (int i = 0; i < segments.size(); i++) {
+            List<ByteBuffer> records = Journal.read(segments.get(i), i == segments.size() - 1);
+            if (!records.isEmpty() && records.get(0).get(0) == SNAPSHOT) {
+                first = i;
+            }
+            contents.add(records);
+        }
+        Replay replay = new Replay(builder);
+        for (List<ByteBuffer> records : contents.subList(first, contents.size())) {
+            for (ByteBuffer record : records) {
+                try {
+                    replay.apply(record);
+                } catch (TournamentException | RuntimeException e) {
+                    throw new IOException("The journal does not describe a valid tournament.", e);
+                }
+            }
+        }
+
+        // A torn record may end the last segment, so the following records go to a new one
+        long nextSegment = segments.isEmpty() ? 1 : Journal.segmentNumber(segments.get(segments.size() - 1)) + 1;
+        Journal journal = new Journal(directory, nextSegment, segmentSize);
+        return new JournaledTournament(replay.tournament, replay.registered, journal);
+    }
+
+    @Override
+    public synchronized void addParticipant(Participant participant) throws TournamentException {
+        this.addParticipants(Collections.singletonList(participant));
+    }
+
+    @Override
+    public synchronized void addParticipants(Collection<? extends Participant> participants) throws TournamentException {
+        if (participants == null) {
+            throw new IllegalArgumentException("The collection of participants cannot be null.");
+        }
+        // Once started, the tournament refuses the participants without recording anything
+        List<Participant> added = new ArrayList<>();
+        if (this.getStatus() == Status.NOTSTARTED) {
+            Set<Participant> seen = new HashSet<>();
+            long sequence = 0;
+            for (Participant participant : participants) {
+                if (!this.tournament.containsParticipant(participant) && seen.add(participant)) {
+                    added.add(participant);
+                    sequence = this.journal.append(participantRecord(participant));
+                }
+            }
+            this.journal.awaitDurable(sequence);
+        }
+        this.tournament.addParticipants(participants);
+        for (Participant participant : added) {
+            this.participantIndexes.put(participant, this.registered.size());
+            this.registered.add(participant);
+        }
+    }
+
+    @Override
+    public boolean containsParticipant(Participant participant) {
+        return this.tournament.containsParticipant(participant);
+    }
+
+    /**
+     * Start the tournament, see Tournament.start(). The draw is made and recorded before the tree is built.
+     */
+    @Override
+    public synchronized void start(TournamentTreeBuilder tournamentTreeBuilder) throws TournamentException {
+        List<Participant> draw = new ArrayList<>(this.tournament.getParticipants());
+        // A tournament that cannot start refuses the draw without recording anything
+        if (this.getStatus() == Status.NOTSTARTED && draw.size() >= 2) {
+            tournamentTreeBuilder.checkParticipantCount(draw.size());
+            Collections.shuffle(draw);
+            this.journal.awaitDurable(this.journal.append(this.startedRecord(draw)));
+        }
+        this.tournament.startWithDrawOrder(tournamentTreeBuilder, draw);
+        this.indexGames();
+    }
+
+    @Override
+    public synchronized void end() throws TournamentException {
+        if (this.getStatus() == Status.INPROGRESS && this.getFutureGames().isEmpty() && this.getGamesInProgress().isEmpty()) {
+            this.journal.awaitDurable(this.journal.append(record(ENDED, 0).flip()));
+        }
+        this.tournament.end();
+    }
+
+    @Override
+    public Map<GameResult, TournamentException> applyResults(Collection<GameResult> results) throws TournamentException {
+        return this.tournament.applyResults(results);
+    }
+
+    @Override
+    public List<Game> getAllGames() {
+        return this.tournament.getAllGames();
+    }
+
+    @Override
+    public List<List<Game>> getRounds() {
+        return this.tournament.getRounds();
+    }
+
+    @Override
+    public boolean containsGame(Game game) {
+        return this.tournament.containsGame(game);
+    }
+
+    @Override
+    public List<Game> getGamesReadyToStart() {
+        return this.tournament.getGamesReadyToStart();
+    }
+
+    @Override
+    public Game takeReadyGame() throws InterruptedException {
+        return this.tournament.takeReadyGame();
+    }
+
+    @Override
+    public Game pollReadyGame() {
+        return this.tournament.pollReadyGame();
+    }
+
+    @Override
+    public List<Game> getFinishedGames() {
+        return this.tournament.getFinishedGames();
+    }
+
+    @Override
+    public List<Game> getGamesInProgress() {
+        return this.tournament.getGamesInProgress();
+    }
+
+    @Override
+    public List<Game> getFutureGames() {
+        return this.tournament.getFutureGames();
+    }
+
+    @Override
+    public List<Set<Participant>> computeFinalRanking() throws TournamentException {
+        return this.tournament.computeFinalRanking();
+    }
+
+    @Override
+    public <E extends Exception> void forEachRankedParticipant(RankingVisitor<E> visitor) throws TournamentException, E {
+        this.tournament.forEachRankedParticipant(visitor);
+    }
+
+    @Override
+    public Flow.Publisher<BracketEvent> getEventPublisher() {
+        return this.tournament.getEventPublisher();
+    }
+
+    @Override
+    public Status getStatus() {
+        return this.tournament.getStatus();
+    }
+
+    /**
+     * Retrieve the registered participants: in registration order before the Tournament starts,
+     * then in the order of the draw.
+     *
+     * @return An unmodifiable view of the participants.
+     */
+    public List<Participant> getParticipants() {
+        return this.tournament.getParticipants();
+    }
+
+    /**
+     * Replaces the journal with a snapshot of the current state, so that it no longer grows with the number of changes.
+     * Must be called while no Game is being changed.
+     *
+     * @throws IOException If the snapshot cannot be written. The previous journal is then left unchanged.
+     */
+    public void compact() throws IOException {
+        List<ByteBuffer> records = new ArrayList<>();
+        records.add(record(SNAPSHOT, 0).flip());
+        for (Participant participant : this.registered) {
+            records.add(participantRecord(participant));
+        }
+        if (this.getStatus() != Status.NOTSTARTED) {
+            records.add(this.startedRecord(this.tournament.getParticipants()));
+            for (int position = 0; position < this.games.size(); position++) {
+                Game game = this.games.get(position);
+                if (game.getStatus() == Status.FINISHED) {
+                    records.add(this.finishedRecord(game, position));
+                } else if (game.getStatus() == Status.INPROGRESS) {
+                    records.add(record(GAME_STARTED, 4).putInt(position).flip());
+                    for (Participant participant : game.getParticipants()) {
+                        records.add(this.pointsRecord(position, participant, game.getPoints(participant)));
+                    }
+                }
+            }
+        }
+        if (this.getStatus() == Status.FINISHED) {
+            records.add(record(ENDED, 0).flip());
+        }
+        this.journal.compact(records);
+    }
+
+    /**
+     * Writes the pending records and closes the journal. The Tournament must not be changed anymore.
+     */
+    @Override
+    public void close() throws IOException {
+        this.journal.close();
+    }
+
+    private void indexGames() {
+        List<Game> allGames = this.tournament.getAllGames();
+        Map<Game, Integer> positions = new HashMap<>();
+        for (int position = 0; position < allGames.size(); position++) {
+            positions.put(allGames.get(position), position);
+        }
+        this.gamePositions = positions;
+        this.games = allGames;
+    }
+
+    private ByteBuffer startedRecord(List<Participant> draw) {
+        ByteBuffer record = record(STARTED, 4 + 4 * draw.size()).putInt(draw.size());
+        for (Participant participant : draw) {
+            record.putInt(this.participantIndexes.get(participant));
+        }
+        return record.flip();
+    }
+
+    private ByteBuffer finishedRecord(Game game, int position) {
+        ByteBuffer record = record(GAME_FINISHED, 20).putInt(position);
+        for (Participant participant : game.getParticipants()) {
+            record.putInt(this.participantIndexes.get(participant)).putInt(game.getPoints(participant));
+        }
+        return record.flip();
+    }
+
+    private ByteBuffer pointsRecord(int position, Participant participant, int points) {
+        return record(POINTS_ADDED, 12).putInt(position).putInt(this.participantIndexes.get(participant)).putInt(points).flip();
+    }
+
+    private static ByteBuffer participantRecord(Participant participant) {
+        String name = participant == null ? null : participant.getName();
+        byte[] bytes = name == null ? new byte[0] : name.getBytes(StandardCharsets.UTF_8);
+        return record(PARTICIPANT_ADDED, 4 + bytes.length).putInt(name == null ? -1 : bytes.length).put(bytes).flip();
+    }
+
+    private static ByteBuffer record(byte type, int size) {
+        return ByteBuffer.allocate(1 + size).put(type);
+    }
+
+    /**
+     * Records the changes of the Games of the tree before they are made. A record that cannot be written vetoes the
+     * change, see GameListener.statusChanging().
+     * <p>
+     * The Recorder must stay the first listener of the Games that can veto a change: it is registered on the tournament
+     * right after its event publisher, which vetoes nothing, and the tournament is itself registered on each Game
+     * before the listeners added to the Game directly. It is therefore asked last, once no other listener can veto the
+     * change any more, and no vetoed change is recorded.
+     */
+    private class Recorder implements GameListener {
+
+        @Override
+        public void participantAdded(Game game, Participant participant) {
+            // Winners are sent to the following game by finish(), which is replayed
+        }
+
+        @Override
+        public void statusChanging(Game game, Status currentStatus, Status newStatus) {
+            int position = gamePositions.get(game);
+            try {
+                if (currentStatus == Status.NOTSTARTED && newStatus == Status.INPROGRESS) {
+                    journal.awaitDurable(journal.append(record(GAME_STARTED, 4).putInt(position).flip()));
+                } else if (currentStatus == Status.INPROGRESS && newStatus == Status.FINISHED) {
+                    // The scores can no longer change, and are those the game finishes with
+                    journal.awaitDurable(journal.append(finishedRecord(game, position)));
+                }
+            } catch (UncheckedIOException | IllegalStateException e) {
+                throw new ChangeVetoedException("The change could not be recorded in the journal.", e);
+            }
+        }
+
+        @Override
+        public void statusChanged(Game game, Status previousStatus, Status newStatus) {
+        }
+
+        @Override
+        public void pointsAdding(Game game, Participant participant, int points) {
+            // Committed with the next batch, at the latest with the end of the game
+            try {
+                journal.append(pointsRecord(gamePositions.get(game), participant, points));
+            } catch (UncheckedIOException | IllegalStateException e) {
+                throw new ChangeVetoedException("The change could not be recorded in the journal.", e);
+            }
+        }
+    }
+
+    /**
+     * Rebuilds a Tournament from its records.
+     * <p>
+     * The records of a Game are appended before its changes are made, in the order of the changes; racing start()
+     * calls on a ConcurrentGameImpl may however each record the start, which is therefore only replayed once. Points
+     * also start their game if needed, and are ignored once the game is finished, so that the replay does not depend
+     * on the exact order of the records of a game: its final scores are recorded with its end.
+     */
+    private static final class Replay {
+
+        private final TournamentTreeBuilder builder;
+        private final TournamentImpl tournament = new TournamentImpl();
+        private final List<Participant> registered = new ArrayList<>();
+        private List<Game> games = Collections.emptyList();
+
+        Replay(TournamentTreeBuilder builder) {
+            this.builder = builder;
+        }
+
+        void apply(ByteBuffer record) throws TournamentException {
+            byte type = record.get();
+            switch (type) {
+                case SNAPSHOT:
+                    break;
+                case PARTICIPANT_ADDED:
+                    int length = record.getInt();
+                    Participant participant = null;
+                    if (length >= 0) {
+                        byte[] name = new byte[length];
+                        record.get(name);
+                        participant = new ParticipantImpl(new String(name, StandardCharsets.UTF_8));
+                    }
+                    this.tournament.addParticipant(participant);
+                    this.registered.add(participant);
+                    break;
+                case STARTED:
+                    List<Participant> draw = new ArrayList<>();
+                    for (int count = record.getInt(); count > 0; count--) {
+                        draw.add(this.registered.get(record.getInt()));
+                    }
+                    this.tournament.startWithDrawOrder(this.builder, draw);
+                    this.games = this.tournament.getAllGames();
+                    break;
+                case GAME_STARTED:
+                    this.startIfNeeded(this.games.get(record.getInt()));
+                    break;
+                case POINTS_ADDED:
+                    Game game = this.games.get(record.getInt());
+                    Participant scorer = this.registered.get(record.getInt());
+                    int points = record.getInt();
+                    this.startIfNeeded(game);
+                    if (game.getStatus() == Status.INPROGRESS) {
+                        game.addPoints(scorer, points);
+                    }
+                    break;
+                case GAME_FINISHED:
+                    Game finished = this.games.get(record.getInt());
+                    this.startIfNeeded(finished);
+                    while (record.hasRemaining()) {
+                        Participant player = this.registered.get(record.getInt());
+                        int total = record.getInt();
+                        if (total != finished.getPoints(player)) {
+                            finished.addPoints(player, total - finished.getPoints(player));
+                        }
+                    }
+                    finished.finish();
+                    break;
+                case ENDED:
+                    this.tournament.end();
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unknown journal record type " + type + ".");
+            }
+        }
+
+        private void startIfNeeded(Game game) throws TournamentException {
+            if (game.getStatus() == Status.NOTSTARTED) {
+                game.start();
+            }
+        }
+    }
+}
@@ -0,0 +1,243 @@
+package tournamentmanager.registry;
+
+import tournamentmanager.core.api.*;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Supplier;
+
+/**
+ * Hosts many Tournaments, identified by an ID, spread over shards.
+ * <p>
+ * Each shard is a single thread owning the Tournaments whose ID hashes to it: every operation on a Tournament
+ * is routed to its shard and runs there, so a Tournament is only ever accessed by one thread and needs no locking,
+ * while Tournaments of different shards are played in parallel.
+ * <p>
+ * Operations are asynchronous: they return a CompletableFuture, completed by the shard with the result,
+ * or exceptionally with the TournamentException of the operation, or an IllegalArgumentException if no Tournament
+ * is registered with the ID, or if the Game of the operation is not part of that Tournament (see
+ * Tournament.containsGame()). Games and Participants obtained from a Tournament must only be modified through the
+ * registry (e.g. with addPoints() and finish(), or with submit()).
+ */
+public class TournamentRegistry implements AutoCloseable {
+
+    private final Shard[] shards;
+
+    /**
+     * Creates a registry with one shard per core.
+     */
+    public TournamentRegistry() {
+        this(Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * @param shardCount The number of shards, each running on its own thread.
+     * @throws IllegalArgumentException If the number of shards is not positive.
+     */
+    public TournamentRegistry(int shardCount) {
+        if (shardCount < 1) {
+            throw new IllegalArgumentException("A registry requires at least one shard.");
+        }
+        this.shards = new Shard[shardCount];
+        for (int i = 0; i < shardCount; i++) {
+            this.shards[i] = new Shard(i);
+        }
+    }
+
+    /**
+     * Register a new Tournament.
+     *
+     * @param id         The ID of the Tournament, unique in the registry.
+     * @param tournament The factory creating the Tournament, called by the owning shard.
+     * @return A future completed once the Tournament is registered, or exceptionally with an IllegalArgumentException
+     * if the ID is already taken.
+     */
+    public CompletableFuture<Void> register(String id, Supplier<? extends Tournament> tournament) {
+        checkId(id);
+        if (tournament == null) {
+            throw new IllegalArgumentException("The tournament factory cannot be null.");
+        }
+        Shard shard = this.shardOf(id);
+        return shard.run(() -> {
+            if (shard.tournaments.putIfAbsent(id, tournament.get()) != null) {
+                throw new IllegalArgumentException("A tournament is already registered with ID " + id + ".");
+            }
+            return null;
+        });
+    }
+
+    /**
+     * Unregister a Tournament.
+     *
+     * @param id The ID of the Tournament.
+     * @return A future completed with the removed Tournament, or null if no Tournament was registered with the ID.
+     */
+    public CompletableFuture<Tournament> remove(String id) {
+        checkId(id);
+        Shard shard = this.shardOf(id);
+        return shard.run(() -> shard.tournaments.remove(id));
+    }
+
+    /**
+     * Run any operation on a Tournament, on its shard.
+     *
+     * @param id   The ID of the Tournament.
+     * @param task The operation.
+     * @return A future completed with the result of the operation.
+     */
+    public <T> CompletableFuture<T> submit(String id, TournamentTask<T> task) {
+        checkId(id);
+        if (task == null) {
+            throw new IllegalArgumentException("The task cannot be null.");
+        }
+        Shard shard = this.shardOf(id);
+        return shard.run(() -> task.apply(shard.get(id)));
+    }
+
+    /**
+     * Add points to a Participant of a Game of a Tournament. See Game.addPoints().
+     */
+    public CompletableFuture<Void> addPoints(String id, Game game, Participant participant, int points) {
+        checkId(id);
+        checkGame(game);
+        Shard shard = this.shardOf(id);
+        return shard.run(() -> {
+            shard.gameOf(id, game).addPoints(participant, points);
+            return null;
+        });
+    }
+
+    /**
+     * Start a Game of a Tournament. See Game.start().
+     */
+    public CompletableFuture<Void> start(String id, Game game) {
+        checkId(id);
+        checkGame(game);
+        Shard shard = this.shardOf(id);
+        return shard.run(() -> {
+            shard.gameOf(id, game).start();
+            return null;
+        });
+    }
+
+    /**
+     * Finish a Game of a Tournament. See Game.finish().
+     */
+    public CompletableFuture<Void> finish(String id, Game game) {
+        checkId(id);
+        checkGame(game);
+        Shard shard = this.shardOf(id);
+        return shard.run(() -> {
+            shard.gameOf(id, game).finish();
+            return null;
+        });
+    }
+
+    /**
+     * Retrieve the Games of a Tournament that are ready to start. See Tournament.getGamesReadyToStart().
+     */
+    public CompletableFuture<List<Game>> getGamesReadyToStart(String id) {
+        return this.submit(id, Tournament::getGamesReadyToStart);
+    }
+
+    /**
+     * Retrieve the Status of a Tournament. See Tournament.getStatus().
+     */
+    public CompletableFuture<Status> getStatus(String id) {
+        return this.submit(id, Tournament::getStatus);
+    }
+
+    /**
+     * @return The number of shards of the registry.
+     */
+    public int getShardCount() {
+        return this.shards.length;
+    }
+
+    /**
+     * Stops the shards once the operations already submitted are done.
+     */
+    @Override
+    public void close() {
+        for (Shard shard : this.shards) {
+            shard.executor.shutdown();
+        }
+    }
+
+    private Shard shardOf(String id) {
+        int hash = id.hashCode();
+        // Spread the high bits, as IDs often only differ by their last characters
+        hash ^= hash >>> 16;
+        return this.shards[Math.floorMod(hash, this.shards.length)];
+    }
+
+    private static void checkId(String id) {
+        if (id == null) {
+            throw new IllegalArgumentException("A tournament ID cannot be null.");
+        }
+    }
+
+    private static void checkGame(Game game) {
+        if (game == null) {
+            throw new IllegalArgumentException("The game cannot be null.");
+        }
+    }
+
+    /**
+     * A single thread, and the Tournaments it owns. The map is only accessed by that thread.
+     */
+    private static class Shard {
+
+        private final ExecutorService executor;
+        private final Map<String, Tournament> tournaments = new HashMap<>();
+
+        Shard(int index) {
+            this.executor = Executors.newSingleThreadExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "tournament-shard-" + index);
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+
+        Tournament get(String id) {
+            Tournament tournament = this.tournaments.get(id);
+            if (tournament == null) {
+                throw new IllegalArgumentException("No tournament is registered with ID " + id + ".");
+            }
+            return tournament;
+        }
+
+        Game gameOf(String id, Game game) {
+            if (!this.get(id).containsGame(game)) {
+                throw new IllegalArgumentException("The game is not part of the tournament with ID " + id + ".");
+            }
+            return game;
+        }
+
+        <T> CompletableFuture<T> run(ShardOperation<T> operation) {
+            CompletableFuture<T> result = new CompletableFuture<>();
+            try {
+                this.executor.execute(() -> {
+                    try {
+                        result.complete(operation.run());
+                    } catch (TournamentException | RuntimeException e) {
+                        result.completeExceptionally(e);
+                    }
+                });
+            } catch (RejectedExecutionException e) {
+                result.completeExceptionally(e);
+            }
+            return result;
+        }
+    }
+
+    @FunctionalInterface
+    private interface ShardOperation<T> {
+        T run() throws TournamentException;
+    }
+}
@@ -0,0 +1,20 @@
+package tournamentmanager.registry;
+
+import tournamentmanager.core.api.Tournament;
+import tournamentmanager.core.api.TournamentException;
+
+/**
+ * An operation on one Tournament of a TournamentRegistry, run by the shard owning the Tournament.
+ *
+ * @param <T> The type of the result of the operation.
+ */
+@FunctionalInterface
+public interface TournamentTask<T> {
+
+    /**
+     * @param tournament The Tournament, only accessed by the calling shard thread while the task runs.
+     * @return The result of the operation.
+     * @throws TournamentException If the operation is not possible in the current state of the Tournament.
+     */
+    T apply(Tournament tournament) throws TournamentException;
+}
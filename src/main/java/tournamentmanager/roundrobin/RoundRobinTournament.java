@@ -0,0 +1,286 @@
+package tournamentmanager.roundrobin;
+
+import tournamentmanager.core.api.*;
+import tournamentmanager.core.impl.GameImpl;
+
+import java.util.*;
+
+/**
+ * Round-robin tournament: each participant meets every other participant exactly once, and no one is eliminated.
+ * <p>
+ * The schedule is never materialized: rounds are generated one at a time with the circle method, where one
+ * participant stays in place while the others rotate around it, so that round r is computed from r alone.
+ * Game objects only exist for the rounds that were generated and still have unfinished games; a round is released
+ * as soon as its last game finishes. The standings are primitive arrays, updated when a game finishes, so that the
+ * memory used is linear in the number of participants, whatever the number of games.
+ * <p>
+ * With n participants, there are n - 1 rounds if n is even, and n rounds if n is odd, in which case one participant
+ * has no game in each round. Rounds do not have to be played in order: the next round can be generated while games
+ * of the previous ones are still in progress.
+ * <p>
+ * A RoundRobinTournament is not thread-safe: rounds must be generated, and their games played, from a single thread.
+ */
+public class RoundRobinTournament {
+
+    private final List<Participant> participants = new ArrayList<>();
+    // Dense handle of each participant, in registration order
+    private final Map<Participant, Integer> handles = new HashMap<>();
+    private int[] wins = new int[0];
+    private int[] losses = new int[0];
+    private long[] pointDifferences = new long[0];
+    // Number of positions on the circle: the number of participants, plus an empty position if it is odd
+    private int positions;
+    private int nextRound;
+    // Rounds that still have unfinished games, by round number
+    private final SortedMap<Integer, List<Game>> roundsInProgress = new TreeMap<>();
+
+    /**
+     * Add a new participant to the Tournament. Participants that are already registered are only added once.
+     * Can only be called before the first round is generated.
+     *
+     * @param participant The Participant to add.
+     * @throws TournamentException      If the first round has already been generated.
+     * @throws IllegalArgumentException If the provided participant is null.
+     */
+    public void addParticipant(Participant participant) throws TournamentException {
+        this.addParticipants(Collections.singletonList(participant));
+    }
+
+    /**
+     * Add several new participants at once. See addParticipant().
+     *
+     * @param newParticipants The Participants to add.
+     * @throws TournamentException      If the first round has already been generated.
+     * @throws IllegalArgumentException If the provided collection is null, or contains null.
+     */
+    public void addParticipants(Collection<? extends Participant> newParticipants) throws TournamentException {
+        if (newParticipants == null) {
+            throw new IllegalArgumentException("The collection of participants cannot be null.");
+        }
+        if (this.positions > 0) {
+            throw new TournamentException("Cannot add participants to a started tournament.");
+        }
+        for (Participant participant : newParticipants) {
+            if (participant == null) {
+                throw new IllegalArgumentException("The participant cannot be null.");
+            }
+            if (this.handles.putIfAbsent(participant, this.participants.size()) == null) {
+                this.participants.add(participant);
+            }
+        }
+    }
+
+    /**
+     * Retrieve the number of rounds of the Tournament, generated or not.
+     *
+     * @return The number of rounds.
+     */
+    public int getRoundCount() {
+        int count = this.participants.size();
+        return count < 2 ? 0 : count % 2 == 0 ? count - 1 : count;
+    }
+
+    /**
+     * @return True if some rounds have not been generated yet.
+     */
+    public boolean hasNextRound() {
+        return this.nextRound < this.getRoundCount();
+    }
+
+    /**
+     * Generate the next round, and create its games, which are ready to start.
+     * The first call starts the Tournament: participants cannot be added anymore.
+     *
+     * @return The games of the new round.
+     * @throws TournamentException If there are less than two participants, or if every round has been generated.
+     */
+    public List<Game> nextRound() throws TournamentException {
+        int count = this.participants.size();
+        if (count < 2) {
+            throw new TournamentException("A tournament requires at least two participants.");
+        } else if (!this.hasNextRound()) {
+            throw new TournamentException("Every round of the tournament has already been generated.");
+        }
+        if (this.positions == 0) {
+            this.positions = count % 2 == 0 ? count : count + 1;
+            this.wins = new int[count];
+            this.losses = new int[count];
+            this.pointDifferences = new long[count];
+        }
+
+        // The last position stays in place, and meets position r; the others meet around the circle
+        int round = this.nextRound++;
+        int circle = this.positions - 1;
+        RoundListener listener = new RoundListener(round);
+        List<Game> games = new ArrayList<>(this.positions / 2);
+        for (int i = 0; i < this.positions / 2; i++) {
+            int first = i == 0 ? circle : (round + i) % circle;
+            int second = i == 0 ? round : (round - i + circle) % circle;
+            // The empty position of an odd circle means that the participant has no game in this round
+            if (first >= count || second >= count) {
+                continue;
+            }
+            Game game = new GameImpl(false);
+            try {
+                game.addParticipant(this.participants.get(first));
+                game.addParticipant(this.participants.get(second));
+            } catch (TournamentException e) {
+                throw new RuntimeException("INTERNAL ERROR: a game was not constructed correctly! This should never happen.", e);
+            }
+            game.addGameListener(listener);
+            games.add(game);
+        }
+        listener.unfinishedGames = games.size();
+        List<Game> unmodifiableRound = Collections.unmodifiableList(games);
+        this.roundsInProgress.put(round, unmodifiableRound);
+        return unmodifiableRound;
+    }
+
+    /**
+     * Retrieve an iterator generating the remaining rounds, one at a time, see nextRound().
+     * All iterators share the same schedule: a round generated by one of them is not returned by the others.
+     *
+     * @return An iterator over the rounds that have not been generated yet.
+     */
+    public Iterator<List<Game>> rounds() {
+        return new Iterator<List<Game>>() {
+
+            @Override
+            public boolean hasNext() {
+                return hasNextRound();
+            }
+
+            @Override
+            public List<Game> next() {
+                if (!hasNextRound()) {
+                    throw new NoSuchElementException("Every round of the tournament has already been generated.");
+                }
+                try {
+                    return nextRound();
+                } catch (TournamentException e) {
+                    throw new RuntimeException("INTERNAL ERROR: a remaining round could not be generated! This should never happen.", e);
+                }
+            }
+        };
+    }
+
+    /**
+     * Retrieve the rounds that were generated and still have unfinished games, in round order.
+     *
+     * @return The rounds in progress.
+     */
+    public List<List<Game>> getRoundsInProgress() {
+        return new ArrayList<>(this.roundsInProgress.values());
+    }
+
+    /**
+     * @return True if every round has been generated, and every game has finished.
+     */
+    public boolean isFinished() {
+        return this.getRoundCount() > 0 && !this.hasNextRound() && this.roundsInProgress.isEmpty();
+    }
+
+    /**
+     * Retrieve the number of games won by a participant.
+     *
+     * @throws IllegalArgumentException If the participant is not part of the Tournament.
+     */
+    public int getWins(Participant participant) {
+        int player = this.handleOf(participant);
+        return player < this.wins.length ? this.wins[player] : 0;
+    }
+
+    /**
+     * Retrieve the number of games lost by a participant.
+     *
+     * @throws IllegalArgumentException If the participant is not part of the Tournament.
+     */
+    public int getLosses(Participant participant) {
+        int player = this.handleOf(participant);
+        return player < this.losses.length ? this.losses[player] : 0;
+    }
+
+    /**
+     * Retrieve the difference between the points scored by a participant and the points scored by its opponents,
+     * over its finished games.
+     *
+     * @throws IllegalArgumentException If the participant is not part of the Tournament.
+     */
+    public long getPointDifference(Participant participant) {
+        int player = this.handleOf(participant);
+        return player < this.pointDifferences.length ? this.pointDifferences[player] : 0;
+    }
+
+    /**
+     * Retrieve the standings: participants by decreasing number of wins, then by decreasing point difference,
+     * then in registration order.
+     *
+     * @return The participants, from the first one to the last one.
+     */
+    public List<Participant> getStandings() {
+        int count = this.participants.size();
+        if (this.wins.length < count) {
+            return new ArrayList<>(this.participants);
+        }
+        Integer[] ranking = new Integer[count];
+        for (int player = 0; player < count; player++) {
+            ranking[player] = player;
+        }
+        Arrays.sort(ranking, (a, b) -> this.wins[a] != this.wins[b] ? Integer.compare(this.wins[b], this.wins[a])
+                : this.pointDifferences[a] != this.pointDifferences[b] ? Long.compare(this.pointDifferences[b], this.pointDifferences[a])
+                : Integer.compare(a, b));
+        List<Participant> standings = new ArrayList<>(count);
+        for (int player : ranking) {
+            standings.add(this.participants.get(player));
+        }
+        return standings;
+    }
+
+    private int handleOf(Participant participant) {
+        Integer player = this.handles.get(participant);
+        if (player == null) {
+            throw new IllegalArgumentException("The participant is not part of this tournament.");
+        }
+        return player;
+    }
+
+    /**
+     * Updates the standings when a game of a round finishes, and releases the round after its last game.
+     */
+    private class RoundListener implements GameListener {
+
+        private final int round;
+        private int unfinishedGames;
+
+        RoundListener(int round) {
+            this.round = round;
+        }
+
+        @Override
+        public void participantAdded(Game game, Participant participant) {
+        }
+
+        @Override
+        public void statusChanged(Game game, Status previousStatus, Status newStatus) {
+            if (newStatus != Status.FINISHED) {
+                return;
+            }
+            try {
+                Participant winner = game.getWinner();
+                Participant loser = game.getLoser();
+                int difference = game.getPoints(winner) - game.getPoints(loser);
+                int winnerHandle = handles.get(winner);
+                int loserHandle = handles.get(loser);
+                wins[winnerHandle]++;
+                losses[loserHandle]++;
+                pointDifferences[winnerHandle] += difference;
+                pointDifferences[loserHandle] -= difference;
+            } catch (TournamentException e) {
+                throw new RuntimeException("INTERNAL ERROR: a finished game has no winner! This should never happen.", e);
+            }
+            if (--this.unfinishedGames == 0) {
+                roundsInProgress.remove(this.round);
+            }
+        }
+    }
+}
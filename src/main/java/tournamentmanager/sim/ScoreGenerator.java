@@ -0,0 +1,43 @@
+package tournamentmanager.sim;
+
+import tournamentmanager.core.api.Game;
+import tournamentmanager.core.api.GameResult;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Produces the result of a Game played by the TournamentSimulator.
+ * <p>
+ * A generator is called concurrently by the simulation threads, for different Games.
+ */
+@FunctionalInterface
+public interface ScoreGenerator {
+
+    /**
+     * Produce the result of a Game that is ready to start.
+     *
+     * @param game The Game to play, with its two participants.
+     * @return The result of the Game, which must have a winner.
+     */
+    GameResult play(Game game);
+
+    /**
+     * @param maxPoints The maximum number of points a participant can score, at least 1.
+     * @return A generator giving each participant a random score between 0 and maxPoints, without ex-aequo.
+     */
+    static ScoreGenerator random(int maxPoints) {
+        if (maxPoints < 1) {
+            throw new IllegalArgumentException("The maximum number of points must be at least 1.");
+        }
+        return game -> {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            int firstPoints = random.nextInt(maxPoints + 1);
+            int secondPoints = random.nextInt(maxPoints);
+            if (secondPoints >= firstPoints) {
+                secondPoints++;
+            }
+            return new GameResult(game, game.getParticipants().get(0), firstPoints,
+                    game.getParticipants().get(1), secondPoints);
+        };
+    }
+}
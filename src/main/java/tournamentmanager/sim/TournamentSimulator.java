@@ -0,0 +1,162 @@
+package tournamentmanager.sim;
+
+import tournamentmanager.core.api.*;
+
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Plays a whole started Tournament, running each Game as its own task as soon as it is ready to start.
+ * <p>
+ * The first round is taken from the ready queue of the Tournament (see Tournament.pollReadyGame()); then, each task
+ * that finishes a Game submits the Games that became ready as a consequence, so that the following rounds are played
+ * while the previous ones are still running. Once every Game is finished, the Tournament is ended.
+ * <p>
+ * The simulator only plays the Games it takes from the ready queue. A Game that was already in progress, or that
+ * another consumer of the queue took, is left to its owner: if it is not finished by the time the simulator runs out
+ * of Games to play, the Games that depend on it can never be played, and the simulation fails instead of waiting.
+ * <p>
+ * Sibling Games finish concurrently, so the tree must be made of thread-safe games,
+ * e.g. built with new TournamentTreeBuilderImpl(ConcurrentGameImpl::new).
+ */
+public class TournamentSimulator implements AutoCloseable {
+
+    private final ExecutorService executor;
+    private final boolean ownsExecutor;
+    private final ScoreGenerator scoreGenerator;
+
+    /**
+     * Creates a simulator running its Games on the given executor, which is not shut down by close().
+     *
+     * @param executor       The executor running the Games.
+     * @param scoreGenerator The generator of the Game results.
+     * @throws IllegalArgumentException If one of the arguments is null.
+     */
+    public TournamentSimulator(ExecutorService executor, ScoreGenerator scoreGenerator) {
+        this(executor, false, scoreGenerator);
+    }
+
+    private TournamentSimulator(ExecutorService executor, boolean ownsExecutor, ScoreGenerator scoreGenerator) {
+        if (executor == null) {
+            throw new IllegalArgumentException("The executor cannot be null.");
+        } else if (scoreGenerator == null) {
+            throw new IllegalArgumentException("The score generator cannot be null.");
+        }
+        this.executor = executor;
+        this.ownsExecutor = ownsExecutor;
+        this.scoreGenerator = scoreGenerator;
+    }
+
+    /**
+     * Creates a simulator running each Game on its own virtual thread when the JDK provides them (Java 21+),
+     * or on a pool of one platform thread per core otherwise.
+     *
+     * @param scoreGenerator The generator of the Game results.
+     * @return The simulator, to close once done.
+     */
+    public static TournamentSimulator create(ScoreGenerator scoreGenerator) {
+        return new TournamentSimulator(newExecutor(), true, scoreGenerator);
+    }
+
+    static ExecutorService newExecutor() {
+        try {
+            // Looked up reflectively, as the library is compiled for Java 11
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors());
+        }
+    }
+
+    /**
+     * Play all the unfinished Games of a Tournament, then end it.
+     *
+     * @param tournament The Tournament, which must be in progress.
+     * @throws TournamentException  If the Tournament is not in progress, if a Game could not be played
+     *                              (the first failure stops the simulation), or if some Games cannot be played as
+     *                              they wait for a Game that the simulator did not take and that is not finished.
+     * @throws InterruptedException If the calling thread is interrupted while waiting for the Games.
+     */
+    public void simulate(Tournament tournament) throws TournamentException, InterruptedException {
+        if (tournament == null) {
+            throw new IllegalArgumentException("The tournament cannot be null.");
+        } else if (tournament.getStatus() != Status.INPROGRESS) {
+            throw new TournamentException("Cannot simulate a tournament that is not in progress.");
+        }
+
+        Simulation simulation = new Simulation(tournament);
+        simulation.submitReadyGames();
+        try {
+            simulation.done.get();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof TournamentException) {
+                throw (TournamentException) e.getCause();
+            }
+            throw new RuntimeException("A game of the simulation failed.", e.getCause());
+        }
+        tournament.end();
+    }
+
+    @Override
+    public void close() {
+        if (this.ownsExecutor) {
+            this.executor.shutdown();
+        }
+    }
+
+    /**
+     * The state of one run of simulate().
+     */
+    private class Simulation {
+
+        private final Tournament tournament;
+        // Games taken by the simulation and not played yet, plus one for the thread calling submitReadyGames():
+        // when it drops to zero, nothing can make another game ready to start
+        private final AtomicInteger gamesInFlight = new AtomicInteger(1);
+        private final CompletableFuture<Void> done = new CompletableFuture<>();
+
+        Simulation(Tournament tournament) {
+            this.tournament = tournament;
+        }
+
+        /**
+         * Submits the games that are ready to start, then releases the share of gamesInFlight held by the caller.
+         */
+        void submitReadyGames() {
+            Game game;
+            while (!this.done.isDone() && (game = this.tournament.pollReadyGame()) != null) {
+                Game readyGame = game;
+                this.gamesInFlight.incrementAndGet();
+                try {
+                    executor.execute(() -> this.play(readyGame));
+                } catch (RejectedExecutionException e) {
+                    this.gamesInFlight.decrementAndGet();
+                    this.done.completeExceptionally(e);
+                }
+            }
+            if (this.gamesInFlight.decrementAndGet() == 0) {
+                int unfinishedGames = this.tournament.getAllGames().size() - this.tournament.getFinishedGames().size();
+                if (unfinishedGames == 0) {
+                    this.done.complete(null);
+                } else {
+                    this.done.completeExceptionally(new TournamentException("Cannot simulate the tournament: "
+                            + unfinishedGames + " games are not finished, and wait for games that were started or taken outside of the simulation."));
+                }
+            }
+        }
+
+        private void play(Game game) {
+            try {
+                GameResult result = scoreGenerator.play(game);
+                game.start();
+                game.addPoints(result.getFirstParticipant(), result.getFirstPoints());
+                game.addPoints(result.getSecondParticipant(), result.getSecondPoints());
+                game.finish();
+            } catch (TournamentException | RuntimeException e) {
+                this.done.completeExceptionally(e);
+                return;
+            }
+            // finish() published the following game if this game gave it its second participant
+            this.submitReadyGames();
+        }
+    }
+}
@@ -0,0 +1,354 @@
+package tournamentmanager.swiss;
+
+import tournamentmanager.core.api.*;
+import tournamentmanager.core.impl.GameImpl;
+
+import java.util.*;
+
+/**
+ * Swiss-system tournament: in each round, participants meet opponents with the same score, without ever meeting
+ * the same opponent twice, and no one is eliminated.
+ * <p>
+ * Each round is paired by pairNextRound(), once every game of the previous round has finished. Participants are
+ * grouped into score buckets with a counting sort, ordered within a bucket by registration order (which serves as the
+ * initial seeding), and each bucket is paired as in the Dutch system: the top half meets the bottom half. When the
+ * natural opponent of a participant is a rematch, the next candidates of the bucket are tried, and a participant left
+ * without an opponent floats down to the next bucket. Rematches are checked against compact per-round tables of
+ * opponent handles, so pairing a round is linear in practice, and the scores are primitive arrays updated when a
+ * game finishes.
+ * <p>
+ * When the number of participants is odd, the lowest-ranked participant who has not had a bye yet gets one, which
+ * counts as a win. The standings rank participants by score, then by Buchholz score (the sum of the scores of their
+ * opponents), then by registration order, and getSeeding() can be given to TournamentImpl.startSeeded() to cut to a
+ * knockout stage.
+ * <p>
+ * A SwissTournament is not thread-safe: rounds must be paired, and their games played, from a single thread.
+ */
+public class SwissTournament {
+
+    private final List<Participant> participants = new ArrayList<>();
+    // Dense handle of each participant, in registration order
+    private final Map<Participant, Integer> handles = new HashMap<>();
+    private int[] scores = new int[0];
+    // Opponent of each participant in each round, by handle; -1 for a bye
+    private final List<int[]> opponents = new ArrayList<>();
+    private final BitSet byes = new BitSet();
+    private final List<List<Game>> rounds = new ArrayList<>();
+    private int unfinishedGames;
+    private final GameListener scorer = new Scorer();
+
+    /**
+     * Add a new participant to the Tournament. Participants that are already registered are only added once.
+     * Can only be called before the first round is paired.
+     *
+     * @param participant The Participant to add.
+     * @throws TournamentException      If the first round has already been paired.
+     * @throws IllegalArgumentException If the provided participant is null.
+     */
+    public void addParticipant(Participant participant) throws TournamentException {
+        this.addParticipants(Collections.singletonList(participant));
+    }
+
+    /**
+     * Add several new participants at once. See addParticipant().
+     *
+     * @param newParticipants The Participants to add.
+     * @throws TournamentException      If the first round has already been paired.
+     * @throws IllegalArgumentException If the provided collection is null, or contains null.
+     */
+    public void addParticipants(Collection<? extends Participant> newParticipants) throws TournamentException {
+        if (newParticipants == null) {
+            throw new IllegalArgumentException("The collection of participants cannot be null.");
+        }
+        if (!this.rounds.isEmpty()) {
+            throw new TournamentException("Cannot add participants to a started tournament.");
+        }
+        for (Participant participant : newParticipants) {
+            if (participant == null) {
+                throw new IllegalArgumentException("The participant cannot be null.");
+            }
+            if (this.handles.putIfAbsent(participant, this.participants.size()) == null) {
+                this.participants.add(participant);
+            }
+        }
+    }
+
+    /**
+     * Pair the next round, and create its games, which are ready to start.
+     * The participant with a bye, if any, is credited with a win right away.
+     *
+     * @return The games of the new round.
+     * @throws TournamentException If there are less than two participants, or if some games of the current round
+     *                             have not finished yet.
+     */
+    public List<Game> pairNextRound() throws TournamentException {
+        int count = this.participants.size();
+        if (count < 2) {
+            throw new TournamentException("A tournament requires at least two participants.");
+        } else if (this.unfinishedGames > 0) {
+            throw new TournamentException("Cannot pair the next round before every game of the current round has finished.");
+        }
+        if (this.scores.length < count) {
+            this.scores = Arrays.copyOf(this.scores, count);
+        }
+
+        int[] order = this.pairingOrder();
+        int[] opponentOf = new int[count];
+        Arrays.fill(opponentOf, -1);
+        int bye = -1;
+        if (count % 2 == 1) {
+            bye = this.byeCandidate(order);
+            // Marked as its own opponent while pairing, so that it is never picked
+            opponentOf[bye] = bye;
+        }
+
+        // Pair the buckets from the best score down; unpaired participants stay at the front of the pool
+        int[] pool = new int[count];
+        int pooled = 0;
+        for (int start = 0; start < count; ) {
+            int end = start;
+            while (end < count && this.scores[order[end]] == this.scores[order[start]]) {
+                end++;
+            }
+            for (int i = start; i < end; i++) {
+                if (order[i] != bye) {
+                    pool[pooled++] = order[i];
+                }
+            }
+            pooled = this.pairBucket(pool, pooled, opponentOf);
+            start = end;
+        }
+        // Only participants who already met every other candidate remain, and are paired in order as a last resort
+        for (int i = 0; i + 1 < pooled; i += 2) {
+            opponentOf[pool[i]] = pool[i + 1];
+            opponentOf[pool[i + 1]] = pool[i];
+        }
+
+        // Games are created in the order of the pairing, the better ranked participant first
+        List<Game> round = new ArrayList<>(count / 2);
+        boolean[] created = new boolean[count];
+        for (int position = 0; position < count; position++) {
+            int player = order[position];
+            if (player == bye || created[player]) {
+                continue;
+            }
+            int opponent = opponentOf[player];
+            created[player] = true;
+            created[opponent] = true;
+            Game game = new GameImpl(false);
+            try {
+                game.addParticipant(this.participants.get(player));
+                game.addParticipant(this.participants.get(opponent));
+            } catch (TournamentException e) {
+                throw new RuntimeException("INTERNAL ERROR: a game was not constructed correctly! This should never happen.", e);
+            }
+            game.addGameListener(this.scorer);
+            round.add(game);
+        }
+        if (bye >= 0) {
+            opponentOf[bye] = -1;
+            this.byes.set(bye);
+            this.scores[bye]++;
+        }
+        this.opponents.add(opponentOf);
+        this.unfinishedGames = round.size();
+        List<Game> unmodifiableRound = Collections.unmodifiableList(round);
+        this.rounds.add(unmodifiableRound);
+        return unmodifiableRound;
+    }
+
+    /**
+     * Pairs the participants of a bucket, preceded by the participants floating down from the buckets above.
+     * Each participant of the top half first tries its mirror in the bottom half, then the next participants.
+     *
+     * @return The number of participants left unpaired, moved to the front of the pool.
+     */
+    private int pairBucket(int[] pool, int pooled, int[] opponentOf) {
+        int half = pooled / 2;
+        for (int i = 0; i < pooled; i++) {
+            int player = pool[i];
+            if (opponentOf[player] != -1) {
+                continue;
+            }
+            int from = i < half ? i + half : i + 1;
+            int opponent = this.findOpponent(pool, player, from, pooled, opponentOf);
+            if (opponent == -1 && i < half) {
+                opponent = this.findOpponent(pool, player, i + 1, from, opponentOf);
+            }
+            if (opponent != -1) {
+                opponentOf[player] = opponent;
+                opponentOf[opponent] = player;
+            }
+        }
+        int left = 0;
+        for (int i = 0; i < pooled; i++) {
+            if (opponentOf[pool[i]] == -1) {
+                pool[left++] = pool[i];
+            }
+        }
+        return left;
+    }
+
+    private int findOpponent(int[] pool, int player, int from, int to, int[] opponentOf) {
+        for (int j = from; j < to; j++) {
+            int candidate = pool[j];
+            if (opponentOf[candidate] == -1 && !this.havePlayed(player, candidate)) {
+                return candidate;
+            }
+        }
+        return -1;
+    }
+
+    private boolean havePlayed(int player, int candidate) {
+        for (int[] opponentOf : this.opponents) {
+            if (opponentOf[player] == candidate) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @return The handles of the participants, by decreasing score, then in registration order.
+     */
+    private int[] pairingOrder() {
+        int count = this.participants.size();
+        int maxScore = 0;
+        for (int player = 0; player < count; player++) {
+            maxScore = Math.max(maxScore, this.scores[player]);
+        }
+        // Counting sort on the score, stable so that each bucket keeps the registration order
+        int[] bucketStarts = new int[maxScore + 2];
+        for (int player = 0; player < count; player++) {
+            bucketStarts[maxScore - this.scores[player] + 1]++;
+        }
+        for (int bucket = 1; bucket < bucketStarts.length; bucket++) {
+            bucketStarts[bucket] += bucketStarts[bucket - 1];
+        }
+        int[] order = new int[count];
+        for (int player = 0; player < count; player++) {
+            order[bucketStarts[maxScore - this.scores[player]]++] = player;
+        }
+        return order;
+    }
+
+    private int byeCandidate(int[] order) {
+        for (int position = order.length - 1; position >= 0; position--) {
+            if (!this.byes.get(order[position])) {
+                return order[position];
+            }
+        }
+        return order[order.length - 1];
+    }
+
+    /**
+     * Retrieve the rounds paired so far, each being the list of its games.
+     *
+     * @return The list of rounds.
+     */
+    public List<List<Game>> getRounds() {
+        return Collections.unmodifiableList(this.rounds);
+    }
+
+    /**
+     * Retrieve the score of a participant: its number of wins, byes included.
+     *
+     * @param participant The participant.
+     * @return The current score of the participant.
+     * @throws IllegalArgumentException If the participant is not part of the Tournament.
+     */
+    public int getScore(Participant participant) {
+        int player = this.handleOf(participant);
+        return player < this.scores.length ? this.scores[player] : 0;
+    }
+
+    /**
+     * Retrieve the standings: participants by decreasing score, then by decreasing Buchholz score,
+     * then in registration order.
+     *
+     * @return The participants, from the first one to the last one.
+     */
+    public List<Participant> getStandings() {
+        int[] ranking = this.ranking();
+        List<Participant> standings = new ArrayList<>(ranking.length);
+        for (int player : ranking) {
+            standings.add(this.participants.get(player));
+        }
+        return standings;
+    }
+
+    /**
+     * Retrieve the order of the current standings, for instance to seed a knockout stage with
+     * TournamentImpl.startSeeded(). Participants that are not part of this Tournament come last.
+     *
+     * @return A comparator ranking participants as in the current standings.
+     */
+    public Comparator<Participant> getSeeding() {
+        int[] ranking = this.ranking();
+        int[] ranks = new int[ranking.length];
+        for (int rank = 0; rank < ranking.length; rank++) {
+            ranks[ranking[rank]] = rank;
+        }
+        return Comparator.comparingInt(participant -> {
+            Integer player = this.handles.get(participant);
+            return player == null ? Integer.MAX_VALUE : ranks[player];
+        });
+    }
+
+    // Sorts packed keys, so that ranking tens of thousands of participants sorts primitives
+    private int[] ranking() {
+        int count = this.participants.size();
+        int[] scores = Arrays.copyOf(this.scores, count);
+        long[] buchholz = new long[count];
+        for (int[] opponentOf : this.opponents) {
+            for (int player = 0; player < count; player++) {
+                if (opponentOf[player] >= 0) {
+                    buchholz[player] += scores[opponentOf[player]];
+                }
+            }
+        }
+        // The Buchholz score is at most rounds * rounds, so that score * (rounds * rounds + 1) + buchholz orders both
+        long weight = (long) this.rounds.size() * this.rounds.size() + 1;
+        long[] keys = new long[count];
+        for (int player = 0; player < count; player++) {
+            long strength = scores[player] * weight + buchholz[player];
+            keys[player] = (Integer.MAX_VALUE - strength) << 32 | player;
+        }
+        Arrays.sort(keys);
+        int[] ranking = new int[count];
+        for (int rank = 0; rank < count; rank++) {
+            ranking[rank] = (int) keys[rank];
+        }
+        return ranking;
+    }
+
+    private int handleOf(Participant participant) {
+        Integer player = this.handles.get(participant);
+        if (player == null) {
+            throw new IllegalArgumentException("The participant is not part of this tournament.");
+        }
+        return player;
+    }
+
+    /**
+     * Credits the winner of each game of the current round.
+     */
+    private class Scorer implements GameListener {
+
+        @Override
+        public void participantAdded(Game game, Participant participant) {
+        }
+
+        @Override
+        public void statusChanged(Game game, Status previousStatus, Status newStatus) {
+            if (newStatus == Status.FINISHED) {
+                try {
+                    scores[handles.get(game.getWinner())]++;
+                } catch (TournamentException e) {
+                    throw new RuntimeException("INTERNAL ERROR: a finished game has no winner! This should never happen.", e);
+                }
+                unfinishedGames--;
+            }
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package tournamentmanager.util;
+
+import java.util.AbstractList;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * Immutable fixed-size vector, stored as a 32-ary trie.
+ * <p>
+ * Replacing an element with with() only copies the path from the root to that element (at most 7 arrays of 32
+ * references), and shares all the other nodes with the original vector, which is left unchanged.
+ *
+ * @param <T> The type of the elements.
+ */
+public final class PersistentVector<T> {
+
+    private static final int BITS = 5;
+    private static final int WIDTH = 1 << BITS;
+    private static final int MASK = WIDTH - 1;
+
+    private final int size;
+    // Number of index bits below the root level, a multiple of BITS
+    private final int shift;
+    private final Object[] root;
+
+    private PersistentVector(int size, int shift, Object[] root) {
+        this.size = size;
+        this.shift = shift;
+        this.root = root;
+    }
+
+    /**
+     * @param values The elements of the vector, in order.
+     * @return A vector holding the values.
+     */
+    public static <T> PersistentVector<T> of(List<? extends T> values) {
+        Object[] elements = values.toArray();
+        int shift = 0;
+        while (elements.length > (1L << (shift + BITS))) {
+            shift += BITS;
+        }
+        return new PersistentVector<>(elements.length, shift, build(elements, 0, shift));
+    }
+
+    private static Object[] build(Object[] elements, int from, int level) {
+        int count = (int) Math.min(1L << (level + BITS), elements.length - from);
+        if (level == 0) {
+            Object[] leaf = new Object[count];
+            System.arraycopy(elements, from, leaf, 0, count);
+            return leaf;
+        }
+        int childSpan = 1 << level;
+        Object[] node = new Object[(count + childSpan - 1) / childSpan];
+        for (int i = 0; i < node.length; i++) {
+            node[i] = build(elements, from + i * childSpan, level - BITS);
+        }
+        return node;
+    }
+
+    public int size() {
+        return this.size;
+    }
+
+    @SuppressWarnings("unchecked")
+    public T get(int index) {
+        this.checkIndex(index);
+        Object[] node = this.root;
+        for (int level = this.shift; level > 0; level -= BITS) {
+            node = (Object[]) node[(index >>> level) & MASK];
+        }
+        return (T) node[index & MASK];
+    }
+
+    /**
+     * @param index The index of the element to replace.
+     * @param value The new element.
+     * @return A new vector, equal to this one except at index.
+     */
+    public PersistentVector<T> with(int index, T value) {
+        this.checkIndex(index);
+        return new PersistentVector<>(this.size, this.shift, set(this.root, this.shift, index, value));
+    }
+
+    private static Object[] set(Object[] node, int level, int index, Object value) {
+        Object[] copy = node.clone();
+        if (level == 0) {
+            copy[index & MASK] = value;
+        } else {
+            int child = (index >>> level) & MASK;
+            copy[child] = set((Object[]) node[child], level - BITS, index, value);
+        }
+        return copy;
+    }
+
+    /**
+     * @return An unmodifiable List view of the vector.
+     */
+    public List<T> asList() {
+        return new ListView<>(this, 0, this.size);
+    }
+
+    /**
+     * @return An unmodifiable List view of the elements from fromIndex (inclusive) to toIndex (exclusive).
+     */
+    public List<T> subList(int fromIndex, int toIndex) {
+        if (fromIndex < 0 || toIndex > this.size || fromIndex > toIndex) {
+            throw new IndexOutOfBoundsException("Invalid range [" + fromIndex + ", " + toIndex + ") of a vector of size " + this.size + ".");
+        }
+        return new ListView<>(this, fromIndex, toIndex);
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= this.size) {
+            throw new IndexOutOfBoundsException("No element " + index + " in a vector of size " + this.size + ".");
+        }
+    }
+
+    private static final class ListView<T> extends AbstractList<T> implements RandomAccess {
+
+        private final PersistentVector<T> vector;
+        private final int from;
+        private final int to;
+
+        ListView(PersistentVector<T> vector, int from, int to) {
+            this.vector = vector;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        public T get(int index) {
+            if (index < 0 || index >= this.to - this.from) {
+                throw new IndexOutOfBoundsException("No element " + index + " in this list.");
+            }
+            return this.vector.get(this.from + index);
+        }
+
+        @Override
+        public int size() {
+            return this.to - this.from;
+        }
+    }
+}
@@ -4,4 +4,36 @@ public class Util {
     public static boolean isPowerOfTwo(int n) {
         return (n & n - 1) == 0;
     }
+
+    /**
+     * @param n A number of participants, greater than 0.
+     * @return The size of the bracket holding n participants: the smallest power of two greater than or equal to n.
+     */
+    public static int bracketSize(int n) {
+        return isPowerOfTwo(n) ? n : Integer.highestOneBit(n) << 1;
+    }
+
+    /**
+     * Computes the standard seeding of a bracket: seed 1 meets seed n in the first round, and the best seeds can only
+     * meet as late as possible (seeds 1 and 2 in the final, seeds 1 to 4 in the semi-finals, and so on).
+     * <p>
+     * The order is built in place by doubling: each position holding seed s in a bracket of size k is expanded into the
+     * first-round game s against 2k - 1 - s of the bracket of size 2k, which costs O(size) in total.
+     *
+     * @param size The size of the bracket, a power of two.
+     * @return The seed (from 0 for the best seed) placed at each position of the first round, so that positions 2i and
+     * 2i + 1 play the same game, and the best seed of each game is at its even position.
+     */
+    public static int[] seedingOrder(int size) {
+        int[] order = new int[size];
+        for (int half = 1; half < size; half *= 2) {
+            // Backwards, so that order[i] is read before positions 2i and 2i + 1 are written
+            for (int i = half - 1; i >= 0; i--) {
+                int seed = order[i];
+                order[2 * i] = seed;
+                order[2 * i + 1] = 2 * half - 1 - seed;
+            }
+        }
+        return order;
+    }
 }
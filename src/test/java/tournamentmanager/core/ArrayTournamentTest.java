@@ -0,0 +1,317 @@
+package tournamentmanager.core;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import tournamentmanager.core.api.*;
+import tournamentmanager.core.impl.ArrayTournament;
+import tournamentmanager.core.impl.GameImpl;
+import tournamentmanager.core.impl.ParticipantImpl;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ArrayTournamentTest {
+
+    ArrayTournament t;
+
+    @BeforeEach
+    void beforeEach() {
+        t = new ArrayTournament(new Random(42));
+    }
+
+    private void playAllGames() throws TournamentException {
+        for (int round = 0; round < t.getRoundCount(); round++) {
+            int first = t.getFirstGame(round);
+            for (int game = first; game < first + t.getGameCount(round); game++) {
+                t.start(game);
+                t.addPoints(game, 0, 2);
+                t.addPoints(game, 1, 1);
+                t.finish(game);
+            }
+        }
+    }
+
+    //Functional method test
+    @Test
+    void rawApiPlaysAWholeTournamentOfAnonymousParticipants() throws TournamentException {
+        assertEquals(0, t.addParticipants(16));
+        t.start();
+
+        assertEquals(4, t.getRoundCount());
+        assertEquals(8, t.getGamesReadyToStart().size());
+
+        playAllGames();
+        t.end();
+
+        int champion = t.getWinner(1);
+        assertFalse(t.isEliminated(champion));
+        assertEquals(champion, t.getParticipant(1, 0));
+
+        List<Set<Participant>> ranking = t.computeFinalRanking();
+        assertEquals(5, ranking.size());
+        assertEquals(Set.of(t.getParticipant(champion)), ranking.get(0));
+        assertEquals(8, ranking.get(4).size());
+        assertTrue(ranking.get(4).iterator().next().isEliminated());
+    }
+
+    //Functional method test
+    @Test
+    void finishSendsTheWinnerToItsSlotInTheFollowingGame() throws TournamentException {
+        t.addParticipants(8);
+        t.start();
+
+        int game = t.getFirstGame(0) + 3;
+        int winner = t.getParticipant(game, 1);
+        t.start(game);
+        t.addPoints(game, 1, 5);
+        t.finish(game);
+
+        assertEquals(winner, t.getParticipant(game / 2, game % 2));
+        assertTrue(t.isEliminated(t.getParticipant(game, 0)));
+        assertEquals(5, t.getPoints(game, 1));
+    }
+
+    //Functional method test
+    @Test
+    void tournamentApiWorksWithParticipantObjects() throws TournamentException {
+        Participant p1 = new ParticipantImpl("p1");
+        Participant p2 = new ParticipantImpl("p2");
+        t.addParticipants(List.of(p1, p2, p1));
+
+        assertTrue(t.containsParticipant(p1));
+        assertEquals(2, t.getParticipantCount());
+
+        t.start(null);
+        Game finalGame = t.getGamesReadyToStart().get(0);
+        finalGame.start();
+        finalGame.addPoints(p2, 1);
+        finalGame.finish();
+        t.end();
+
+        assertEquals(p2, finalGame.getWinner());
+        assertTrue(p1.isEliminated());
+        assertEquals(List.of(Set.of(p2), Set.of(p1)), t.computeFinalRanking());
+    }
+
+    //Functional method test
+    @Test
+    void statusQueriesFollowTheRawApi() throws TournamentException {
+        t.addParticipants(4);
+        t.start();
+
+        t.start(2);
+
+        assertEquals(1, t.getGamesInProgress().size());
+        assertEquals(2, t.getFutureGames().size());
+        assertEquals(1, t.getGamesReadyToStart().size());
+        assertThrows(TournamentException.class, () -> t.end());
+    }
+
+    //Functional method test
+    @Test
+    void rawApiRejectsInvalidHandles() throws TournamentException {
+        t.addParticipants(4);
+        t.start();
+
+        assertThrows(IndexOutOfBoundsException.class, () -> t.start(4));
+        assertThrows(IllegalArgumentException.class, () -> t.addPoints(2, 2, 1));
+        assertThrows(TournamentException.class, () -> t.addPoints(2, 0, 1));
+        assertThrows(TournamentException.class, () -> t.start(1));
+    }
+
+    //Functional method test
+    @Test
+    void startRequiresAPowerOfTwo() throws TournamentException {
+        t.addParticipants(3);
+        assertThrows(TournamentException.class, () -> t.start());
+    }
+
+    //Functional method test
+    @Test
+    void mappedTournamentCanBeReopenedAfterARestart(@TempDir Path directory) throws TournamentException, IOException {
+        Path stateFile = directory.resolve("bracket.state");
+        int champion;
+        try (ArrayTournament mapped = new ArrayTournament(stateFile)) {
+            mapped.addParticipants(List.of(new ParticipantImpl("p1"), new ParticipantImpl("p2")));
+            mapped.addParticipants(2);
+            mapped.start();
+            mapped.start(2);
+            mapped.addPoints(2, 0, 3);
+            mapped.finish(2);
+            mapped.start(3);
+            mapped.addPoints(3, 1, 4);
+            champion = mapped.getParticipant(3, 1);
+        }
+
+        try (ArrayTournament reopened = ArrayTournament.open(stateFile)) {
+            assertEquals(Status.INPROGRESS, reopened.getStatus());
+            assertEquals(Status.FINISHED, reopened.getStatus(2));
+            assertEquals(Status.INPROGRESS, reopened.getStatus(3));
+            assertEquals(4, reopened.getPoints(3, 1));
+            assertEquals(reopened.getParticipant(2, 0), reopened.getParticipant(1, 0));
+            assertTrue(reopened.isEliminated(reopened.getParticipant(2, 1)));
+
+            reopened.finish(3);
+            reopened.start(1);
+            reopened.addPoints(1, 1, 1);
+            reopened.finish(1);
+            reopened.end();
+
+            assertEquals(champion, reopened.getWinner(1));
+            List<String> names = new ArrayList<>();
+            for (Game game : reopened.getRounds().get(0)) {
+                game.getParticipants().forEach(participant -> names.add(participant.getName()));
+            }
+            assertTrue(names.containsAll(List.of("p1", "p2")));
+        }
+
+        try (ArrayTournament reopened = ArrayTournament.open(stateFile)) {
+            assertEquals(Status.FINISHED, reopened.getStatus());
+            assertEquals(4, reopened.computeFinalRanking().stream().mapToInt(Set::size).sum());
+        }
+    }
+
+    //Functional method test
+    @Test
+    void reopeningCompletesAGameFinishedRightBeforeACrash(@TempDir Path directory) throws TournamentException, IOException {
+        Path stateFile = directory.resolve("bracket.state");
+        int winner;
+        int loser;
+        try (ArrayTournament mapped = new ArrayTournament(stateFile)) {
+            mapped.addParticipants(4);
+            mapped.start();
+            mapped.start(2);
+            mapped.addPoints(2, 1, 3);
+            mapped.finish(2);
+            winner = mapped.getParticipant(2, 1);
+            loser = mapped.getParticipant(2, 0);
+        }
+        // Undo what follows the FINISHED status, as if the process died right after writing it: the first slot of
+        // the final (after the 64 bytes header) and the elimination flag of the loser (after the slots, the scores
+        // and the 4 game statuses)
+        try (FileChannel channel = FileChannel.open(stateFile, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.allocate(4).putInt(0, -1), 64 + 4 * 2);
+            channel.write(ByteBuffer.allocate(1), 64 + 16 * 4 + 4 + loser);
+        }
+
+        try (ArrayTournament reopened = ArrayTournament.open(stateFile)) {
+            assertEquals(Status.FINISHED, reopened.getStatus(2));
+            assertEquals(winner, reopened.getParticipant(1, 0));
+            assertTrue(reopened.isEliminated(loser));
+        }
+    }
+
+    //Functional method test
+    @Test
+    void stateFilesWithAnInvalidNumberOfParticipantsAreRejected(@TempDir Path directory) throws TournamentException, IOException {
+        Path stateFile = directory.resolve("bracket.state");
+        try (ArrayTournament mapped = new ArrayTournament(stateFile)) {
+            mapped.addParticipants(4);
+            mapped.start();
+        }
+        try (FileChannel channel = FileChannel.open(stateFile, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.allocate(4).putInt(0, 3), 8);
+        }
+
+        assertThrows(IOException.class, () -> ArrayTournament.open(stateFile));
+    }
+
+    //Functional method test
+    @Test
+    void applyResultsPlaysValidResultsAndReportsTheOthers() throws TournamentException {
+        t.addParticipants(4);
+        t.start();
+        List<Game> firstRound = t.getRounds().get(0);
+        Game gameA = firstRound.get(0);
+        Game gameB = firstRound.get(1);
+        Participant a1 = gameA.getParticipants().get(0);
+        Participant a2 = gameA.getParticipants().get(1);
+
+        GameResult valid = new GameResult(gameA, a2, 4, a1, 1);
+        GameResult tie = new GameResult(gameB, gameB.getParticipants().get(0), 1, gameB.getParticipants().get(1), 1);
+        GameResult foreign = new GameResult(new GameImpl(), a1, 1, a2, 0);
+        Map<GameResult, TournamentException> rejected = t.applyResults(List.of(valid, tie, foreign));
+
+        assertEquals(List.of(tie, foreign), new ArrayList<>(rejected.keySet()));
+        assertEquals(a2, gameA.getWinner());
+        assertEquals(4, gameA.getPoints(a2));
+        assertTrue(t.isEliminated(t.getHandle(a1)));
+        assertEquals(Status.NOTSTARTED, gameB.getStatus());
+    }
+
+    //Functional method test
+    @Test
+    void readyGameHandlesArePublishedWhenGamesFinish() throws TournamentException, InterruptedException {
+        assertEquals(-1, t.pollReadyGameHandle());
+        t.addParticipants(4);
+        t.start();
+
+        assertEquals(2, t.takeReadyGameHandle());
+        assertEquals(3, t.pollReadyGameHandle());
+        assertEquals(-1, t.pollReadyGameHandle());
+
+        for (int game = 2; game <= 3; game++) {
+            t.start(game);
+            t.addPoints(game, 0, 1);
+            t.finish(game);
+        }
+
+        assertEquals(new ArrayList<>(t.getRounds().get(1)), List.of(t.pollReadyGame()));
+        assertNull(t.pollReadyGame());
+    }
+
+    //Functional method test
+    @Test
+    void rawApiChangesArePublishedAsBracketEvents() throws Exception {
+        BracketEventPublisherTest.RecordingSubscriber subscriber = new BracketEventPublisherTest.RecordingSubscriber(Long.MAX_VALUE);
+        t.getEventPublisher().subscribe(subscriber);
+        t.addParticipants(2);
+        t.start();
+
+        t.start(1);
+        t.addPoints(1, 1, 3);
+        t.finish(1);
+        t.end();
+
+        List<BracketEvent> events = subscriber.completed.get(10, TimeUnit.SECONDS);
+        assertEquals(List.of(BracketEvent.Type.GAME_STARTED, BracketEvent.Type.POINTS_ADDED, BracketEvent.Type.GAME_FINISHED,
+                BracketEvent.Type.PARTICIPANT_ELIMINATED, BracketEvent.Type.TOURNAMENT_ENDED), subscriber.types());
+        assertEquals(3, events.get(1).getPoints());
+        assertEquals(t.getParticipant(t.getWinner(1)), events.get(2).getParticipant());
+    }
+
+    //Functional method test
+    @Test
+    void rankedParticipantsAreVisitedInTheOrderOfTheFinalRanking() throws TournamentException {
+        t.addParticipants(16);
+        t.start();
+        playAllGames();
+        t.end();
+
+        List<Set<Participant>> visited = new ArrayList<>();
+        List<Integer> ranks = new ArrayList<>();
+        t.forEachRankedParticipant((rank, participant) -> {
+            if (ranks.isEmpty() || ranks.get(ranks.size() - 1) != rank) {
+                ranks.add(rank);
+                visited.add(new HashSet<>());
+            }
+            visited.get(visited.size() - 1).add(participant);
+        });
+
+        assertEquals(t.computeFinalRanking(), visited);
+        assertEquals(List.of(1, 2, 3, 5, 9), ranks);
+    }
+}
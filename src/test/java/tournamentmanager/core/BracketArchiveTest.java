@@ -0,0 +1,104 @@
+package tournamentmanager.core;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import tournamentmanager.core.api.*;
+import tournamentmanager.core.impl.BracketArchive;
+import tournamentmanager.core.impl.ParticipantImpl;
+import tournamentmanager.core.impl.TournamentImpl;
+import tournamentmanager.core.impl.TournamentTreeBuilderImpl;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BracketArchiveTest {
+
+    private static TournamentImpl startedTournament(int size) throws TournamentException {
+        TournamentImpl tournament = new TournamentImpl();
+        List<Participant> participants = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            // Every other participant shares a name, which is stored once
+            participants.add(new ParticipantImpl(i % 2 == 0 ? "player" + i : "same name"));
+        }
+        tournament.addParticipants(participants);
+        tournament.start(new TournamentTreeBuilderImpl());
+        return tournament;
+    }
+
+    private static void play(Game game, int firstPoints, int secondPoints) throws TournamentException {
+        game.start();
+        game.addPoints(game.getParticipants().get(0), firstPoints);
+        game.addPoints(game.getParticipants().get(1), secondPoints);
+        game.finish();
+    }
+
+    //Functional method test
+    @Test
+    void archiveKeepsTheStateOfEveryGame(@TempDir Path directory) throws IOException, TournamentException {
+        TournamentImpl tournament = startedTournament(16);
+        for (Game game : tournament.getRounds().get(0)) {
+            play(game, 2, 5);
+        }
+        Game quarterFinal = tournament.getRounds().get(1).get(0);
+        quarterFinal.start();
+        quarterFinal.addPoints(quarterFinal.getParticipants().get(0), 3);
+        Path file = directory.resolve("bracket.tma");
+        BracketArchive.write(tournament, file);
+
+        try (BracketArchive archive = BracketArchive.open(file)) {
+            assertEquals(Status.INPROGRESS, archive.getStatus());
+            assertEquals(16, archive.getParticipants().size());
+            assertEquals(4, archive.getRounds().size());
+            List<Game> games = tournament.getAllGames();
+            List<Game> archivedGames = archive.getAllGames();
+            assertEquals(games.size(), archivedGames.size());
+            for (int i = 0; i < games.size(); i++) {
+                Game game = games.get(i);
+                Game archived = archivedGames.get(i);
+                assertEquals(game.getStatus(), archived.getStatus());
+                assertEquals(game.getParticipants().size(), archived.getParticipants().size());
+                for (int slot = 0; slot < game.getParticipants().size(); slot++) {
+                    Participant participant = game.getParticipants().get(slot);
+                    Participant archivedParticipant = archived.getParticipants().get(slot);
+                    assertEquals(participant.getName(), archivedParticipant.getName());
+                    assertEquals(participant.isEliminated(), archivedParticipant.isEliminated());
+                    assertEquals(game.getPoints(participant), archived.getPoints(archivedParticipant));
+                }
+                assertEquals(game.getFollowingGame().map(games::indexOf), archived.getFollowingGame().map(archivedGames::indexOf));
+                assertEquals(game.getPreviousGames().size(), archived.getPreviousGames().size());
+            }
+            Game firstGame = archive.getRounds().get(0).get(0);
+            assertEquals(archive.getAllGames().get(0), firstGame);
+            assertEquals(firstGame.getParticipants().get(1), firstGame.getWinner());
+            assertTrue(firstGame.getLoser().isEliminated());
+        }
+    }
+
+    //Functional method test
+    @Test
+    void archivedGamesCannotBeChanged(@TempDir Path directory) throws IOException, TournamentException {
+        Path file = directory.resolve("bracket.tma");
+        BracketArchive.write(startedTournament(4), file);
+
+        try (BracketArchive archive = BracketArchive.open(file)) {
+            Game game = archive.getAllGames().get(0);
+            assertThrows(TournamentException.class, game::start);
+            assertThrows(TournamentException.class, () -> game.addPoints(game.getParticipants().get(0), 1));
+            assertThrows(UnsupportedOperationException.class, () -> game.getParticipants().get(0).eliminate());
+            assertEquals(Status.NOTSTARTED, game.getStatus());
+        }
+    }
+
+    //Functional method test
+    @Test
+    void openRejectsOtherFiles(@TempDir Path directory) throws IOException {
+        Path file = directory.resolve("other.tma");
+        Files.write(file, new byte[100]);
+        assertThrows(IOException.class, () -> BracketArchive.open(file));
+    }
+}
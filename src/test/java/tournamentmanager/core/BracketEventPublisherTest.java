@@ -0,0 +1,198 @@
+package tournamentmanager.core;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import tournamentmanager.core.api.*;
+import tournamentmanager.core.impl.BracketEventPublisher;
+import tournamentmanager.core.impl.GameImpl;
+import tournamentmanager.core.impl.ParticipantImpl;
+import tournamentmanager.core.impl.TournamentImpl;
+import tournamentmanager.core.impl.TournamentTreeBuilderImpl;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BracketEventPublisherTest {
+
+    /**
+     * Records the events, requesting them one at a time when asked to.
+     */
+    static class RecordingSubscriber implements Flow.Subscriber<BracketEvent> {
+        final List<BracketEvent> events = new ArrayList<>();
+        final CompletableFuture<List<BracketEvent>> completed = new CompletableFuture<>();
+        Flow.Subscription subscription;
+        Throwable error;
+        private final long initialDemand;
+
+        RecordingSubscriber(long initialDemand) {
+            this.initialDemand = initialDemand;
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            this.subscription = subscription;
+            subscription.request(initialDemand);
+        }
+
+        @Override
+        public synchronized void onNext(BracketEvent item) {
+            events.add(item);
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            error = throwable;
+        }
+
+        @Override
+        public synchronized void onComplete() {
+            completed.complete(new ArrayList<>(events));
+        }
+
+        synchronized List<BracketEvent.Type> types() {
+            List<BracketEvent.Type> types = new ArrayList<>();
+            events.forEach(event -> types.add(event.getType()));
+            return types;
+        }
+    }
+
+    Participant p1;
+    Participant p2;
+
+    @BeforeEach
+    void beforeEach() {
+        p1 = new ParticipantImpl("player1");
+        p2 = new ParticipantImpl("player2");
+    }
+
+    //Functional method test
+    @Test
+    void tournamentPublishesEveryChangeThenCompletes() throws Exception {
+        Tournament t = new TournamentImpl();
+        RecordingSubscriber subscriber = new RecordingSubscriber(Long.MAX_VALUE);
+        t.getEventPublisher().subscribe(subscriber);
+        t.addParticipants(List.of(p1, p2, new ParticipantImpl("player3"), new ParticipantImpl("player4")));
+        t.start(new TournamentTreeBuilderImpl());
+
+        for (List<Game> round : t.getRounds()) {
+            for (Game game : round) {
+                game.start();
+                game.addPoints(game.getParticipants().get(0), 1);
+                game.finish();
+            }
+        }
+        t.end();
+
+        List<BracketEvent> events = subscriber.completed.get(10, TimeUnit.SECONDS);
+        List<BracketEvent.Type> expectedGame = List.of(BracketEvent.Type.GAME_STARTED, BracketEvent.Type.POINTS_ADDED,
+                BracketEvent.Type.GAME_FINISHED, BracketEvent.Type.PARTICIPANT_ELIMINATED);
+        List<BracketEvent.Type> expected = new ArrayList<>();
+        expected.addAll(expectedGame);
+        expected.add(BracketEvent.Type.PARTICIPANT_ADVANCED);
+        expected.addAll(expectedGame);
+        expected.add(BracketEvent.Type.PARTICIPANT_ADVANCED);
+        expected.addAll(expectedGame);
+        expected.add(BracketEvent.Type.TOURNAMENT_ENDED);
+        assertEquals(expected, subscriber.types());
+        assertEquals(t.getRounds().get(1).get(0).getWinner(), events.get(events.size() - 3).getParticipant());
+    }
+
+    //Functional method test
+    @Test
+    void queuedPointsAreCoalescedForSlowSubscribers() throws TournamentException {
+        BracketEventPublisher publisher = new BracketEventPublisher(Runnable::run);
+        RecordingSubscriber subscriber = new RecordingSubscriber(1);
+        publisher.subscribe(subscriber);
+        Game game = new GameImpl();
+        game.addGameListener(publisher);
+        game.addParticipant(p1);
+        game.addParticipant(p2);
+
+        game.start();
+        for (int i = 0; i < 10; i++) {
+            game.addPoints(p1, 1);
+            game.addPoints(p2, 2);
+        }
+        subscriber.subscription.request(10);
+
+        assertEquals(List.of(BracketEvent.Type.PARTICIPANT_ADVANCED, BracketEvent.Type.PARTICIPANT_ADVANCED,
+                BracketEvent.Type.GAME_STARTED, BracketEvent.Type.POINTS_ADDED, BracketEvent.Type.POINTS_ADDED),
+                subscriber.types());
+        assertEquals(10, subscriber.events.get(3).getPoints());
+        assertEquals(20, subscriber.events.get(4).getPoints());
+    }
+
+    //Functional method test
+    @Test
+    void eventsAreOnlyDeliveredOnDemand() throws TournamentException {
+        BracketEventPublisher publisher = new BracketEventPublisher(Runnable::run);
+        RecordingSubscriber subscriber = new RecordingSubscriber(1);
+        publisher.subscribe(subscriber);
+        Game game = new GameImpl();
+        game.addGameListener(publisher);
+        game.addParticipant(p1);
+        game.addParticipant(p2);
+        game.start();
+
+        assertEquals(List.of(BracketEvent.Type.PARTICIPANT_ADVANCED), subscriber.types());
+        subscriber.subscription.request(2);
+        assertEquals(3, subscriber.events.size());
+
+        subscriber.subscription.request(0);
+        assertTrue(subscriber.error instanceof IllegalArgumentException);
+        assertFalse(publisher.hasSubscribers());
+    }
+
+    //Functional method test
+    @Test
+    void subscribersOfAnEndedPublisherAreCompleted() {
+        BracketEventPublisher publisher = new BracketEventPublisher(Runnable::run);
+        publisher.tournamentEnded();
+        RecordingSubscriber subscriber = new RecordingSubscriber(1);
+
+        publisher.subscribe(subscriber);
+
+        assertTrue(subscriber.completed.isDone());
+        assertTrue(subscriber.events.isEmpty());
+    }
+
+    //Functional method test
+    @Test
+    void eliminatedParticipantsAreEliminatedWhenSubscribersAreNotified() throws TournamentException {
+        BracketEventPublisher publisher = new BracketEventPublisher(Runnable::run);
+        List<Boolean> eliminated = new ArrayList<>();
+        RecordingSubscriber subscriber = new RecordingSubscriber(Long.MAX_VALUE) {
+            @Override
+            public synchronized void onNext(BracketEvent item) {
+                super.onNext(item);
+                if (item.getType() == BracketEvent.Type.PARTICIPANT_ELIMINATED) {
+                    eliminated.add(item.getParticipant().isEliminated());
+                }
+            }
+        };
+        publisher.subscribe(subscriber);
+        Game game = new GameImpl();
+        game.addGameListener(publisher);
+        game.addParticipant(p1);
+        game.addParticipant(p2);
+        Game swissGame = new GameImpl(false);
+        swissGame.addGameListener(publisher);
+        swissGame.addParticipant(new ParticipantImpl("player3"));
+        swissGame.addParticipant(new ParticipantImpl("player4"));
+
+        for (Game played : List.of(game, swissGame)) {
+            played.start();
+            played.addPoints(played.getParticipants().get(0), 1);
+            played.finish();
+        }
+
+        assertEquals(List.of(true), eliminated);
+        assertEquals(p2, subscriber.events.get(subscriber.types().indexOf(BracketEvent.Type.PARTICIPANT_ELIMINATED)).getParticipant());
+        assertEquals(1, subscriber.types().stream().filter(BracketEvent.Type.PARTICIPANT_ELIMINATED::equals).count());
+    }
+}
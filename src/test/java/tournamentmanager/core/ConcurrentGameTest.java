@@ -0,0 +1,211 @@
+package tournamentmanager.core;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import tournamentmanager.core.api.Game;
+import tournamentmanager.core.api.GameListener;
+import tournamentmanager.core.api.Participant;
+import tournamentmanager.core.api.Status;
+import tournamentmanager.core.api.TournamentException;
+import tournamentmanager.core.impl.ConcurrentGameImpl;
+import tournamentmanager.core.impl.ParticipantImpl;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ConcurrentGameTest {
+
+    private static final int THREADS = 8;
+
+    Game g;
+    Participant p1;
+    Participant p2;
+
+    @BeforeEach
+    void beforeEach() throws TournamentException {
+        g = new ConcurrentGameImpl();
+        p1 = new ParticipantImpl("player1");
+        p2 = new ParticipantImpl("player2");
+        g.addParticipant(p1);
+        g.addParticipant(p2);
+    }
+
+    private void runOnAllThreads(Callable<Void> task) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Future<Void>> futures = new ArrayList<>();
+            for (int i = 0; i < THREADS; i++) {
+                futures.add(executor.submit(task));
+            }
+            for (Future<Void> future : futures) {
+                future.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    //Functional method test
+    @Test
+    void concurrentAddPointsDoNotLoseUpdates() throws Exception {
+        g.start();
+        CyclicBarrier barrier = new CyclicBarrier(THREADS);
+        AtomicInteger turn = new AtomicInteger();
+
+        runOnAllThreads(() -> {
+            Participant participant = turn.getAndIncrement() % 2 == 0 ? p1 : p2;
+            barrier.await();
+            for (int i = 0; i < 10_000; i++) {
+                g.addPoints(participant, 1);
+            }
+            return null;
+        });
+
+        assertEquals(40_000, g.getPoints(p1));
+        assertEquals(40_000, g.getPoints(p2));
+    }
+
+    //Functional method test
+    @Test
+    void finishIsLinearizableAgainstPointsInFlight() throws Exception {
+        g.start();
+        g.addPoints(p1, 1);
+        CyclicBarrier barrier = new CyclicBarrier(THREADS);
+        AtomicInteger accepted = new AtomicInteger(1);
+
+        runOnAllThreads(() -> {
+            if (barrier.await() == 0) {
+                Thread.sleep(10);
+                g.finish();
+                return null;
+            }
+            try {
+                while (true) {
+                    g.addPoints(p1, 1);
+                    accepted.incrementAndGet();
+                }
+            } catch (TournamentException e) {
+                return null;
+            }
+        });
+
+        assertEquals(Status.FINISHED, g.getStatus());
+        assertEquals(accepted.get(), g.getPoints(p1));
+        assertEquals(p1, g.getWinner());
+    }
+
+    //Functional method test
+    @Test
+    void onlyOneConcurrentFinishSucceeds() throws Exception {
+        Game following = new ConcurrentGameImpl();
+        g.setFollowingGame(following);
+        g.start();
+        g.addPoints(p2, 3);
+        AtomicInteger finished = new AtomicInteger();
+        CyclicBarrier barrier = new CyclicBarrier(THREADS);
+
+        runOnAllThreads(() -> {
+            barrier.await();
+            try {
+                g.finish();
+                finished.incrementAndGet();
+            } catch (TournamentException e) {
+                // another thread finished the game
+            }
+            return null;
+        });
+
+        assertEquals(1, finished.get());
+        assertEquals(List.of(p2), following.getParticipants());
+        assertTrue(p1.isEliminated());
+    }
+
+    //Functional method test
+    @Test
+    void finishWithATieLeavesTheGameInProgress() throws TournamentException {
+        g.start();
+        g.addPoints(p1, 2);
+        g.addPoints(p2, 2);
+
+        assertThrows(TournamentException.class, () -> g.finish());
+        assertEquals(Status.INPROGRESS, g.getStatus());
+
+        g.addPoints(p2, 1);
+        g.finish();
+        assertEquals(p2, g.getWinner());
+        assertThrows(TournamentException.class, () -> g.addPoints(p1, 1));
+    }
+
+    //Functional method test
+    @Test
+    void onlyOneConcurrentStartSucceeds() throws Exception {
+        AtomicInteger started = new AtomicInteger();
+        CyclicBarrier barrier = new CyclicBarrier(THREADS);
+
+        runOnAllThreads(() -> {
+            barrier.await();
+            try {
+                g.start();
+                started.incrementAndGet();
+            } catch (TournamentException e) {
+                // another thread started the game
+            }
+            return null;
+        });
+
+        assertEquals(1, started.get());
+        assertEquals(Status.INPROGRESS, g.getStatus());
+    }
+
+    //Functional method test
+    @Test
+    void finishWaitingForASlowListenerDoesNotBurnTheProcessor() throws Exception {
+        g.start();
+        CountDownLatch adding = new CountDownLatch(1);
+        g.addGameListener(new GameListener() {
+            @Override
+            public void participantAdded(Game game, Participant participant) {
+            }
+
+            @Override
+            public void statusChanged(Game game, Status previousStatus, Status newStatus) {
+            }
+
+            @Override
+            public void pointsAdding(Game game, Participant participant, int points) {
+                adding.countDown();
+                try {
+                    Thread.sleep(500);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        });
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<?> scoring = executor.submit(() -> {
+                g.addPoints(p1, 1);
+                return null;
+            });
+            adding.await();
+
+            ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+            long cpuTime = threads.getCurrentThreadCpuTime();
+            g.finish();
+            // The finish waited for the listener, about 500ms, almost entirely parked
+            assertTrue(threads.getCurrentThreadCpuTime() - cpuTime < TimeUnit.MILLISECONDS.toNanos(100));
+            scoring.get(30, TimeUnit.SECONDS);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(1, g.getPoints(p1));
+        assertEquals(Status.FINISHED, g.getStatus());
+    }
+}
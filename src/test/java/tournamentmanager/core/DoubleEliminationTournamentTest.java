@@ -0,0 +1,149 @@
+package tournamentmanager.core;
+
+import org.junit.jupiter.api.Test;
+import tournamentmanager.core.api.*;
+import tournamentmanager.core.impl.DoubleEliminationTournament;
+import tournamentmanager.core.impl.ParticipantImpl;
+import tournamentmanager.core.impl.TournamentTreeBuilderImpl;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class DoubleEliminationTournamentTest {
+
+    private final List<Participant> players = new ArrayList<>();
+
+    private DoubleEliminationTournament startedTournament(int size) throws TournamentException {
+        DoubleEliminationTournament tournament = new DoubleEliminationTournament();
+        for (int i = 0; i < size; i++) {
+            this.players.add(new ParticipantImpl("p" + i));
+        }
+        tournament.addParticipants(this.players);
+        // p0 is the best seed, and wins every game against a weaker seed
+        tournament.startSeeded(new TournamentTreeBuilderImpl(), Comparator.comparingInt(this.players::indexOf));
+        return tournament;
+    }
+
+    private void playReadyGames(Tournament tournament) throws TournamentException {
+        Game game;
+        while ((game = tournament.pollReadyGame()) != null) {
+            List<Participant> participants = game.getParticipants();
+            play(game, Collections.min(participants, Comparator.comparingInt(this.players::indexOf)));
+        }
+    }
+
+    private static void play(Game game, Participant winner) throws TournamentException {
+        game.start();
+        game.addPoints(winner, 1);
+        game.finish();
+    }
+
+    private Set<Participant> players(int... indexes) {
+        Set<Participant> set = new HashSet<>();
+        for (int index : indexes) {
+            set.add(this.players.get(index));
+        }
+        return set;
+    }
+
+    //Functional method test
+    @Test
+    void losersDropToTheLosersBracketAndAreRankedByTheirSecondLoss() throws TournamentException {
+        DoubleEliminationTournament tournament = this.startedTournament(8);
+        // 3 rounds in the winners bracket, 4 in the losers bracket, and the grand final
+        assertEquals(8, tournament.getRounds().size());
+        assertEquals(14, tournament.getAllGames().size());
+
+        Game firstGame = tournament.getRounds().get(0).get(0);
+        play(firstGame, this.players.get(0));
+        assertFalse(this.players.get(7).isEliminated());
+        assertTrue(tournament.getRounds().get(3).get(0).getParticipants().contains(this.players.get(7)));
+
+        this.playReadyGames(tournament);
+        tournament.end();
+        assertEquals(8, tournament.getRounds().size());
+        assertEquals(Arrays.asList(this.players(0), this.players(1), this.players(2), this.players(3),
+                this.players(4, 5), this.players(6, 7)), tournament.computeFinalRanking());
+        assertFalse(this.players.get(0).isEliminated());
+        for (Participant participant : this.players.subList(1, 8)) {
+            assertTrue(participant.isEliminated());
+        }
+    }
+
+    //Functional method test
+    @Test
+    void grandFinalIsResetWhenTheChampionOfTheLosersBracketWins() throws TournamentException {
+        DoubleEliminationTournament tournament = this.startedTournament(4);
+        Game grandFinal = tournament.getRounds().get(4).get(0);
+        Game game;
+        while ((game = tournament.pollReadyGame()) != grandFinal) {
+            play(game, Collections.min(game.getParticipants(), Comparator.comparingInt(this.players::indexOf)));
+        }
+        assertEquals(5, tournament.getRounds().size());
+
+        // p1 comes from the losers bracket, and beats p0 twice
+        play(grandFinal, this.players.get(1));
+        assertFalse(this.players.get(0).isEliminated());
+        assertEquals(6, tournament.getRounds().size());
+        Game reset = tournament.getRounds().get(5).get(0);
+        assertEquals(Collections.singletonList(reset), tournament.getGamesReadyToStart());
+        assertEquals(this.players(0, 1), new HashSet<>(reset.getParticipants()));
+        assertThrows(TournamentException.class, tournament::end);
+
+        play(reset, this.players.get(1));
+        assertTrue(this.players.get(0).isEliminated());
+        tournament.end();
+        assertEquals(Arrays.asList(this.players(1), this.players(0), this.players(2), this.players(3)),
+                tournament.computeFinalRanking());
+    }
+
+    //Functional method test
+    @Test
+    void twoParticipantsMeetAgainInTheGrandFinal() throws TournamentException {
+        DoubleEliminationTournament tournament = this.startedTournament(2);
+        assertEquals(2, tournament.getRounds().size());
+        play(tournament.getRounds().get(0).get(0), this.players.get(1));
+        assertFalse(this.players.get(0).isEliminated());
+        this.playReadyGames(tournament);
+        tournament.end();
+        assertEquals(3, tournament.getRounds().size());
+        assertEquals(Arrays.asList(this.players(0), this.players(1)), tournament.computeFinalRanking());
+    }
+
+    //Functional method test
+    @Test
+    void startRequiresAPowerOfTwo() {
+        DoubleEliminationTournament tournament = new DoubleEliminationTournament();
+        assertDoesNotThrow(() -> {
+            for (int i = 0; i < 6; i++) {
+                tournament.addParticipant(new ParticipantImpl("p" + i));
+            }
+        });
+        assertThrows(TournamentException.class, () -> tournament.start(new TournamentTreeBuilderImpl()));
+        assertEquals(Status.NOTSTARTED, tournament.getStatus());
+    }
+
+    //Functional method test
+    @Test
+    void rankedParticipantsAreVisitedInTheOrderOfTheFinalRanking() throws TournamentException {
+        DoubleEliminationTournament tournament = this.startedTournament(8);
+        this.playReadyGames(tournament);
+        assertThrows(TournamentException.class, () -> tournament.forEachRankedParticipant((rank, participant) -> {
+        }));
+        tournament.end();
+
+        List<Set<Participant>> visited = new ArrayList<>();
+        List<Integer> ranks = new ArrayList<>();
+        tournament.forEachRankedParticipant((rank, participant) -> {
+            if (ranks.isEmpty() || ranks.get(ranks.size() - 1) != rank) {
+                ranks.add(rank);
+                visited.add(new HashSet<>());
+            }
+            visited.get(visited.size() - 1).add(participant);
+        });
+
+        assertEquals(tournament.computeFinalRanking(), visited);
+        assertEquals(List.of(1, 2, 3, 4, 5, 7), ranks);
+    }
+}
@@ -121,6 +121,24 @@ public class GameTest {
                 () -> g.addParticipant(p3));
     }
 
+    //Functional method test
+    @Test
+    void addParticipantThrowsTournamentExceptionWhenParticipantIsAlreadyPartOfTheGame() throws TournamentException {
+        g.addParticipant(p1);
+
+        assertThrows(TournamentException.class,
+                () -> g.addParticipant(p1));
+    }
+
+    //Functional method test
+    @Test
+    void getParticipantsKeepsTheOrderInWhichParticipantsWereAdded() throws TournamentException {
+        g.addParticipant(p2);
+        g.addParticipant(p1);
+
+        assertEquals(List.of(p2, p1), g.getParticipants());
+    }
+
     //addPreviousGame
     //Functional method test
     @Test
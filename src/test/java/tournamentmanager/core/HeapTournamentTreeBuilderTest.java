@@ -0,0 +1,196 @@
+package tournamentmanager.core;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import tournamentmanager.core.api.*;
+import tournamentmanager.core.impl.GameImpl;
+import tournamentmanager.core.impl.HeapTournamentTreeBuilder;
+import tournamentmanager.core.impl.ParticipantImpl;
+import tournamentmanager.core.impl.TournamentImpl;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class HeapTournamentTreeBuilderTest {
+
+    List<Participant> participants;
+    TournamentTreeBuilder ttb;
+
+    @BeforeEach
+    void beforeEach(){
+        participants = new ArrayList<>();
+        for (int i = 1; i <= 8; i++) {
+            participants.add(new ParticipantImpl("p" + i));
+        }
+
+        ttb = new HeapTournamentTreeBuilder();
+    }
+
+    //Functional method test
+    @Test
+    void buildAllRoundsProperlyBuildsATournamentTree(){
+        List<List<Game>> testTournamentTree = assertDoesNotThrow(() -> ttb.buildAllRounds(participants));
+
+        assertEquals(3, testTournamentTree.size());
+        assertEquals(4, testTournamentTree.get(0).size());
+        assertEquals(2, testTournamentTree.get(1).size());
+        assertEquals(1, testTournamentTree.get(2).size());
+    }
+
+    //Functional method test
+    @Test
+    void buildAllRoundsLinksGamesByIndexArithmetic(){
+        List<List<Game>> tree = ttb.buildAllRounds(participants);
+        Game first = tree.get(0).get(0);
+        Game second = tree.get(0).get(1);
+        Game semiFinal = tree.get(1).get(0);
+        Game finalGame = tree.get(2).get(0);
+
+        assertEquals(Optional.of(semiFinal), first.getFollowingGame());
+        assertEquals(Optional.of(semiFinal), second.getFollowingGame());
+        assertEquals(List.of(first, second), semiFinal.getPreviousGames());
+        assertEquals(Optional.of(finalGame), semiFinal.getFollowingGame());
+        assertEquals(Optional.empty(), finalGame.getFollowingGame());
+        assertTrue(first.getPreviousGames().isEmpty());
+    }
+
+    //Functional method test
+    @Test
+    void buildInitialRoundKeepsTheOrderOfParticipants(){
+        List<Game> initialRound = ttb.buildInitialRound(participants);
+
+        assertEquals(4, initialRound.size());
+        for (int i = 0; i < initialRound.size(); i++) {
+            assertEquals(List.of(participants.get(2 * i), participants.get(2 * i + 1)), initialRound.get(i).getParticipants());
+        }
+    }
+
+    //Functional method test
+    @Test
+    void buildNextRoundReturnsTheFollowingRound(){
+        List<Game> round = ttb.buildInitialRound(participants);
+
+        List<Game> nextRound = ttb.buildNextRound(round);
+
+        assertEquals(2, nextRound.size());
+        for (Game game : nextRound) {
+            assertEquals(2, game.getPreviousGames().size());
+            assertTrue(round.containsAll(game.getPreviousGames()));
+        }
+    }
+
+    //Functional method test
+    @Test
+    void buildNextRoundThrowsErrorWhenGivenGamesOfAnotherKind(){
+        List<Game> games = List.of(new GameImpl(), new GameImpl());
+        assertThrows(RuntimeException.class, () -> ttb.buildNextRound(games));
+    }
+
+    //Functional method test
+    @Test
+    void buildInitialRoundThrowsErrorWhenThereAreThreePlayers(){
+        participants.subList(3, participants.size()).clear();
+        assertThrows(RuntimeException.class, () -> ttb.buildInitialRound(participants));
+    }
+
+    //Functional method test
+    @Test
+    void finishSendsTheWinnerToTheFollowingGameAndEliminatesTheLoser() throws TournamentException {
+        List<List<Game>> tree = ttb.buildAllRounds(participants);
+        Game game = tree.get(0).get(1);
+        Participant winner = game.getParticipants().get(1);
+        Participant loser = game.getParticipants().get(0);
+
+        game.start();
+        game.addPoints(winner, 3);
+        game.addPoints(loser, 1);
+        game.finish();
+
+        assertEquals(winner, game.getWinner());
+        assertEquals(loser, game.getLoser());
+        assertTrue(loser.isEliminated());
+        assertEquals(List.of(winner), tree.get(1).get(0).getParticipants());
+        assertEquals(3, game.getPoints(winner));
+    }
+
+    //Functional method test
+    @Test
+    void finishThrowsTournamentExceptionWhenScoresAreEven() throws TournamentException {
+        Game game = ttb.buildInitialRound(participants).get(0);
+
+        game.start();
+
+        assertThrows(TournamentException.class, () -> game.finish());
+    }
+
+    //Functional method test
+    @Test
+    void addPointsThrowsErrorWhenParticipantDoesNotBelongToGame() throws TournamentException {
+        Game game = ttb.buildInitialRound(participants).get(0);
+        game.start();
+
+        assertThrows(IllegalArgumentException.class, () -> game.addPoints(participants.get(7), 1));
+        assertThrows(IllegalArgumentException.class, () -> game.addPoints(null, 1));
+    }
+
+    //Functional method test
+    @Test
+    void topologyCannotBeChangedThroughGames(){
+        List<List<Game>> tree = ttb.buildAllRounds(participants);
+        Game first = tree.get(0).get(0);
+
+        assertDoesNotThrow(() -> first.setFollowingGame(tree.get(1).get(0)));
+        assertThrows(IllegalArgumentException.class, () -> first.setFollowingGame(tree.get(1).get(1)));
+        assertThrows(TournamentException.class, () -> tree.get(1).get(0).addPreviousGame(first));
+        assertThrows(TournamentException.class, () -> tree.get(1).get(0).addParticipant(participants.get(0)));
+    }
+
+    //Functional method test
+    @Test
+    void tournamentCanBePlayedWithAHeapBracket() throws TournamentException {
+        Tournament t = new TournamentImpl();
+        t.addParticipants(participants);
+        t.start(ttb);
+
+        while (!t.getGamesReadyToStart().isEmpty()) {
+            for (Game game : t.getGamesReadyToStart()) {
+                game.start();
+                game.addPoints(game.getParticipants().get(0), 1);
+                game.finish();
+            }
+        }
+        t.end();
+
+        List<Set<Participant>> ranking = t.computeFinalRanking();
+        assertEquals(4, ranking.size());
+        assertEquals(1, ranking.get(0).size());
+        assertFalse(ranking.get(0).iterator().next().isEliminated());
+        assertEquals(4, ranking.get(3).size());
+    }
+
+    //Functional method test
+    @Test
+    void builderRejectsANumberOfParticipantsThatIsNotAPowerOfTwo() {
+        assertDoesNotThrow(() -> ttb.checkParticipantCount(8));
+        assertThrows(TournamentException.class, () -> ttb.checkParticipantCount(6));
+    }
+
+    //Functional method test
+    @Test
+    void tournamentDoesNotStartWhenTheHeapBracketCannotBeBuilt() throws TournamentException {
+        TournamentImpl t = new TournamentImpl();
+        t.addParticipants(participants.subList(0, 6));
+
+        assertThrows(TournamentException.class, () -> t.start(ttb));
+        assertThrows(TournamentException.class, () -> t.startSeeded(ttb, (a, b) -> a.getName().compareTo(b.getName())));
+        assertEquals(Status.NOTSTARTED, t.getStatus());
+        assertTrue(t.getAllGames().isEmpty());
+
+        t.addParticipants(participants.subList(6, 8));
+        t.start(ttb);
+        assertEquals(Status.INPROGRESS, t.getStatus());
+    }
+}
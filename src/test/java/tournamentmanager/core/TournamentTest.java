@@ -8,11 +8,16 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import tournamentmanager.core.api.*;
+import tournamentmanager.core.impl.BracketSnapshot;
+import tournamentmanager.core.impl.ConcurrentGameImpl;
+import tournamentmanager.core.impl.GameImpl;
+import tournamentmanager.core.impl.GameSnapshot;
 import tournamentmanager.core.impl.ParticipantImpl;
 import tournamentmanager.core.impl.TournamentImpl;
 import tournamentmanager.core.impl.TournamentTreeBuilderImpl;
 
 import java.util.*;
+import java.util.concurrent.*;
 import java.util.stream.Collectors;
 
 public class TournamentTest {
@@ -84,11 +89,67 @@ public class TournamentTest {
 		t.addParticipant(p2);
 		t.addParticipant(p2);
 		t.addParticipant(p3);
+		t.start(new TournamentTreeBuilderImpl());
+		// Three participants: one game in the first round, then the final against the participant with a bye
+		assertEquals(2, t.getAllGames().size());
+	}
+
+	//addParticipants()
+	//Functional method test
+	@Test
+	public void testAddParticipantsIgnoresDuplicates() throws TournamentException {
+		t.addParticipant(p1);
+		t.addParticipants(List.of(p1, p2, p3, p3, p4));
+		assertTrue(t.containsParticipant(p4));
+		assertDoesNotThrow(() -> t.start(new TournamentTreeBuilderImpl()));
+		assertEquals(2, t.getRounds().size());
+	}
+
+	//Functional method test
+	@Test
+	public void testAddParticipantsInManyChunks() throws TournamentException {
+		TournamentImpl chunked = new TournamentImpl();
+		List<Participant> participants = new ArrayList<>();
+		for (int i = 0; i < 1 << 16; i++) {
+			participants.add(new ParticipantImpl("p" + i));
+		}
+		// Overlapping chunks, so that every chunk but the first holds already registered participants
+		for (int from = 0; from < participants.size(); from += 50) {
+			chunked.addParticipants(participants.subList(Math.max(0, from - 10), Math.min(participants.size(), from + 50)));
+		}
+		assertEquals(participants, chunked.getParticipants());
+		for (Participant participant : participants) {
+			assertTrue(chunked.containsParticipant(participant));
+		}
+	}
+
+	//Functional method test
+	@Test
+	public void testAddParticipantsGameHasStarted() throws TournamentException {
+		t.addParticipants(List.of(p1, p2));
+		t.start(new TournamentTreeBuilderImpl());
 		assertThrows(TournamentException.class, () -> {
-			t.start(new TournamentTreeBuilderImpl());
+			t.addParticipants(List.of(p3));
 		});
 	}
 
+	//Functional method test
+	@Test
+	public void testAddParticipantsWithNullCollection() {
+		assertThrows(IllegalArgumentException.class, () -> {
+			t.addParticipants(null);
+		});
+	}
+
+	//containsParticipant()
+	//Functional method test
+	@Test
+	public void testContainsParticipant() throws TournamentException {
+		t.addParticipant(p1);
+		assertTrue(t.containsParticipant(p1));
+		assertFalse(t.containsParticipant(p2));
+	}
+
 	// start()
 	//Functional method test
 	@Test
@@ -107,9 +168,42 @@ public class TournamentTest {
 		t.addParticipant(p1);
 		t.addParticipant(p2);
 		t.addParticipant(p3);
-		assertThrows(TournamentException.class, () -> {
-			t.start(new TournamentTreeBuilderImpl());
-		});
+		t.start(new TournamentTreeBuilderImpl());
+		assertEquals(2, t.getRounds().size());
+		assertEquals(1, t.getRounds().get(0).size());
+		Game finalGame = t.getRounds().get(1).get(0);
+		assertEquals(1, finalGame.getParticipants().size());
+		assertEquals(List.of(t.getRounds().get(0).get(0)), finalGame.getPreviousGames());
+	}
+
+	//Functional method test
+	@Test
+	public void testStartWithByesPlaysToAFinalRanking() throws TournamentException {
+		List<Participant> participants = new ArrayList<>();
+		for (int i = 0; i < 11; i++) {
+			participants.add(new ParticipantImpl("player" + i));
+		}
+		t.addParticipants(participants);
+		t.start(new TournamentTreeBuilderImpl());
+
+		// 11 participants in a bracket of 16: 5 byes, so 3 games in the first round
+		assertEquals(4, t.getRounds().size());
+		assertEquals(3, t.getRounds().get(0).size());
+		assertEquals(4, t.getRounds().get(1).size());
+		assertEquals(10, t.getAllGames().size());
+		assertEquals(4, t.getGamesReadyToStart().size());
+		for (List<Game> round : t.getRounds()) {
+			for (Game game : round) {
+				game.start();
+				game.addPoints(game.getParticipants().get(0), 1);
+				game.finish();
+			}
+		}
+		t.end();
+
+		List<Set<Participant>> ranking = t.computeFinalRanking();
+		assertEquals(List.of(1, 1, 2, 4, 3), ranking.stream().map(Set::size).collect(Collectors.toList()));
+		assertEquals(11, ranking.stream().mapToInt(Set::size).sum());
 	}
 
 	//Functional method test
@@ -125,6 +219,43 @@ public class TournamentTest {
 		});
 	}
 
+	//Functional method test
+	@Test
+	public void testStartSeededPlacesSeedsInStandardBracketOrder() throws TournamentException {
+		List<Participant> participants = new ArrayList<>();
+		for (int seed = 8; seed >= 1; seed--) {
+			participants.add(new ParticipantImpl("seed" + seed));
+		}
+		TournamentImpl seeded = new TournamentImpl();
+		seeded.addParticipants(participants);
+		seeded.startSeeded(new TournamentTreeBuilderImpl(), Comparator.comparing(Participant::getName));
+
+		List<String> firstRound = new ArrayList<>();
+		for (Game game : seeded.getRounds().get(0)) {
+			firstRound.add(game.getParticipants().get(0).getName() + "-" + game.getParticipants().get(1).getName());
+		}
+		assertEquals(List.of("seed1-seed8", "seed4-seed5", "seed2-seed7", "seed3-seed6"), firstRound);
+	}
+
+	//Functional method test
+	@Test
+	public void testStartSeededGivesTheByesToTheBestSeeds() throws TournamentException {
+		List<Participant> participants = new ArrayList<>();
+		for (int seed = 1; seed <= 6; seed++) {
+			participants.add(new ParticipantImpl("seed" + seed));
+		}
+		TournamentImpl seeded = new TournamentImpl();
+		seeded.addParticipants(participants);
+		seeded.startSeeded(new TournamentTreeBuilderImpl(), Comparator.comparing(Participant::getName));
+
+		assertEquals(2, seeded.getRounds().get(0).size());
+		assertEquals("seed4", seeded.getRounds().get(0).get(0).getParticipants().get(0).getName());
+		assertEquals("seed5", seeded.getRounds().get(0).get(0).getParticipants().get(1).getName());
+		assertEquals("seed1", seeded.getRounds().get(1).get(0).getParticipants().get(0).getName());
+		assertEquals("seed2", seeded.getRounds().get(1).get(1).getParticipants().get(0).getName());
+		assertEquals(seeded.getRounds().get(1).get(0), seeded.getRounds().get(0).get(0).getFollowingGame().get());
+	}
+
 	//Functional method test
 	@Test
 	public void testStartWhenTournamentInProgress() throws TournamentException {
@@ -210,6 +341,26 @@ public class TournamentTest {
 	}
 
 
+	// containsGame()
+	//Functional method test
+	@Test
+	void testContainsGameOnlyFindsTheGamesOfTheTree() throws TournamentException {
+		t.addParticipant(p1);
+		t.addParticipant(p2);
+		t.addParticipant(p3);
+		t.addParticipant(p4);
+		assertFalse(t.containsGame(new GameImpl()));
+
+		t.start(new TournamentTreeBuilderImpl());
+
+		for (Game game : t.getAllGames()) {
+			assertTrue(t.containsGame(game));
+		}
+		assertFalse(t.containsGame(new GameImpl()));
+		assertFalse(t.containsGame(null));
+	}
+
+
 	// getRounds()
 	//Functional method test
 	@Test
@@ -325,6 +476,94 @@ public class TournamentTest {
 		assertEquals(2, t.getFutureGames().size());
 	}
 	
+	//Functional method test
+	@Test
+	void testStatusQueriesFollowTheGamesOfTheTree() throws TournamentException {
+		t.addParticipants(List.of(p1, p2, p3, p4));
+
+		t.start(new TournamentTreeBuilderImpl());
+
+		Game game = t.getRounds().get(0).get(0);
+		assertEquals(2, t.getGamesReadyToStart().size());
+		assertEquals(3, t.getFutureGames().size());
+
+		game.start();
+		assertEquals(List.of(game), t.getGamesInProgress());
+		assertEquals(1, t.getGamesReadyToStart().size());
+
+		game.setStatus(Status.NOTSTARTED);
+		assertTrue(t.getGamesInProgress().isEmpty());
+		assertEquals(2, t.getGamesReadyToStart().size());
+	}
+
+	//Functional method test
+	@Test
+	void testGameListenersAreNotifiedOfChanges() throws TournamentException {
+		t.addParticipants(List.of(p1, p2, p3, p4));
+		List<Status> statuses = new ArrayList<>();
+		List<Participant> added = new ArrayList<>();
+		((TournamentImpl) t).addGameListener(new GameListener() {
+			@Override
+			public void participantAdded(Game game, Participant participant) {
+				added.add(participant);
+			}
+
+			@Override
+			public void statusChanged(Game game, Status previousStatus, Status newStatus) {
+				statuses.add(newStatus);
+			}
+		});
+
+		t.start(new TournamentTreeBuilderImpl());
+
+		Game game = t.getRounds().get(0).get(0);
+		Participant winner = game.getParticipants().get(0);
+		game.start();
+		game.addPoints(winner, 1);
+		game.finish();
+
+		assertEquals(List.of(Status.INPROGRESS, Status.FINISHED), statuses);
+		assertEquals(List.of(winner), added);
+	}
+
+	//Functional method test
+	@Test
+	void testGameListenerCanVetoAChangeBeforeItIsMade() throws TournamentException {
+		t.addParticipants(List.of(p1, p2, p3, p4));
+		List<Status> statuses = new ArrayList<>();
+		((TournamentImpl) t).addGameListener(new GameListener() {
+			@Override
+			public void participantAdded(Game game, Participant participant) {
+			}
+
+			@Override
+			public void statusChanging(Game game, Status currentStatus, Status newStatus) {
+				if (newStatus == Status.FINISHED) {
+					throw new IllegalStateException("vetoed");
+				}
+			}
+
+			@Override
+			public void statusChanged(Game game, Status previousStatus, Status newStatus) {
+				statuses.add(newStatus);
+			}
+		});
+		t.start(new TournamentTreeBuilderImpl());
+
+		Game game = t.getRounds().get(0).get(0);
+		Participant winner = game.getParticipants().get(0);
+		Participant loser = game.getParticipants().get(1);
+		game.start();
+		game.addPoints(winner, 1);
+		assertThrows(IllegalStateException.class, game::finish);
+
+		assertEquals(Status.INPROGRESS, game.getStatus());
+		assertEquals(List.of(Status.INPROGRESS), statuses);
+		assertEquals(List.of(game), t.getGamesInProgress());
+		assertTrue(game.getFollowingGame().get().getParticipants().isEmpty());
+		assertFalse(loser.isEliminated());
+	}
+
 	// computeFinalRankings()
 	//Functional method test
 	@Test
@@ -464,4 +703,356 @@ public class TournamentTest {
 
 		assertNotEquals(Collections.emptyList(), result);
 	}
+
+	//Functional method test
+	@Test
+	public void testRoundsFinishedConcurrentlyPropagateEveryWinner() throws Exception {
+		for (int i = 0; i < 1024; i++) {
+			t.addParticipant(new ParticipantImpl("player" + i));
+		}
+		t.start(new TournamentTreeBuilderImpl(ConcurrentGameImpl::new));
+
+		ExecutorService executor = Executors.newFixedThreadPool(8);
+		try {
+			for (List<Game> round : t.getRounds()) {
+				assertEquals(round.size(), t.getGamesReadyToStart().size());
+				List<Callable<Void>> plays = new ArrayList<>();
+				for (Game game : round) {
+					plays.add(() -> {
+						game.start();
+						game.addPoints(game.getParticipants().get(1), 1);
+						game.finish();
+						return null;
+					});
+				}
+				for (Future<Void> play : executor.invokeAll(plays)) {
+					play.get();
+				}
+			}
+		} finally {
+			executor.shutdown();
+		}
+
+		assertEquals(1023, t.getFinishedGames().size());
+		assertTrue(t.getGamesReadyToStart().isEmpty());
+		t.end();
+		assertThrows(TournamentException.class, () -> t.end());
+
+		List<Set<Participant>> ranking = t.computeFinalRanking();
+		assertEquals(11, ranking.size());
+		assertEquals(512, ranking.get(10).size());
+		assertFalse(ranking.get(0).iterator().next().isEliminated());
+	}
+
+	//Functional method test
+	@Test
+	public void testApplyResultsReportsInvalidResultsAndAppliesTheOthers() throws TournamentException {
+		t.addParticipants(List.of(p1, p2, p3, p4));
+		t.start(new TournamentTreeBuilderImpl());
+		Game gameA = t.getRounds().get(0).get(0);
+		Game gameB = t.getRounds().get(0).get(1);
+		Game finalGame = t.getRounds().get(1).get(0);
+		Participant a1 = gameA.getParticipants().get(0);
+		Participant a2 = gameA.getParticipants().get(1);
+		Participant b1 = gameB.getParticipants().get(0);
+		Participant b2 = gameB.getParticipants().get(1);
+
+		GameResult valid = new GameResult(gameA, a1, 3, a2, 1);
+		GameResult tie = new GameResult(gameB, b1, 2, b2, 2);
+		GameResult wrongParticipants = new GameResult(gameB, b1, 2, a1, 1);
+		GameResult notReady = new GameResult(finalGame, a1, 2, b1, 1);
+		Map<GameResult, TournamentException> rejected = t.applyResults(List.of(valid, tie, wrongParticipants, notReady));
+
+		assertEquals(List.of(tie, wrongParticipants, notReady), new ArrayList<>(rejected.keySet()));
+		assertEquals(Status.FINISHED, gameA.getStatus());
+		assertEquals(a1, gameA.getWinner());
+		assertEquals(List.of(a1), finalGame.getParticipants());
+		assertTrue(a2.isEliminated());
+		assertEquals(Status.NOTSTARTED, gameB.getStatus());
+		assertEquals(0, gameB.getPoints(b1));
+	}
+
+	//Functional method test
+	@Test
+	public void testApplyResultsRejectsSeveralResultsForTheSameGame() throws TournamentException {
+		t.addParticipants(List.of(p1, p2));
+		t.start(new TournamentTreeBuilderImpl());
+		Game game = t.getRounds().get(0).get(0);
+		Participant first = game.getParticipants().get(0);
+		Participant second = game.getParticipants().get(1);
+
+		Map<GameResult, TournamentException> rejected = t.applyResults(List.of(
+				new GameResult(game, first, 1, second, 0), new GameResult(game, second, 1, first, 0)));
+
+		assertEquals(2, rejected.size());
+		assertEquals(Status.NOTSTARTED, game.getStatus());
+		assertThrows(IllegalArgumentException.class, () -> t.applyResults(Collections.singletonList(null)));
+	}
+
+	//Functional method test
+	@Test
+	public void testApplyResultsReportsAResultVetoedWhileItIsAppliedAndAppliesTheOthers() throws TournamentException {
+		t.addParticipants(List.of(p1, p2, p3, p4));
+		t.start(new TournamentTreeBuilderImpl());
+		Game gameA = t.getRounds().get(0).get(0);
+		Game gameB = t.getRounds().get(0).get(1);
+		Game finalGame = t.getRounds().get(1).get(0);
+		gameA.addGameListener(new GameListener() {
+			@Override
+			public void participantAdded(Game game, Participant participant) {
+			}
+
+			@Override
+			public void statusChanging(Game game, Status currentStatus, Status newStatus) {
+				if (newStatus == Status.FINISHED) {
+					throw new ChangeVetoedException("vetoed");
+				}
+			}
+
+			@Override
+			public void statusChanged(Game game, Status previousStatus, Status newStatus) {
+			}
+		});
+		Participant a1 = gameA.getParticipants().get(0);
+		Participant a2 = gameA.getParticipants().get(1);
+		Participant b1 = gameB.getParticipants().get(0);
+		Participant b2 = gameB.getParticipants().get(1);
+
+		GameResult vetoed = new GameResult(gameA, a1, 3, a2, 1);
+		GameResult valid = new GameResult(gameB, b1, 2, b2, 1);
+		Map<GameResult, TournamentException> rejected = t.applyResults(List.of(vetoed, valid));
+
+		assertEquals(List.of(vetoed), new ArrayList<>(rejected.keySet()));
+		assertTrue(rejected.get(vetoed).getCause() instanceof ChangeVetoedException);
+		// The game is not rolled back: it stays in progress, with the points of the result
+		assertEquals(Status.INPROGRESS, gameA.getStatus());
+		assertEquals(3, gameA.getPoints(a1));
+		assertFalse(a2.isEliminated());
+		assertEquals(Status.FINISHED, gameB.getStatus());
+		assertEquals(List.of(b1), finalGame.getParticipants());
+		assertTrue(b2.isEliminated());
+	}
+
+	//Functional method test
+	@Test
+	public void testApplyResultsThrowsTheExceptionsOfFailingListeners() throws TournamentException {
+		t.addParticipants(List.of(p1, p2));
+		t.start(new TournamentTreeBuilderImpl());
+		Game game = t.getRounds().get(0).get(0);
+		game.addGameListener(new GameListener() {
+			@Override
+			public void participantAdded(Game game, Participant participant) {
+			}
+
+			@Override
+			public void statusChanging(Game game, Status currentStatus, Status newStatus) {
+				throw new NullPointerException("bug");
+			}
+
+			@Override
+			public void statusChanged(Game game, Status previousStatus, Status newStatus) {
+			}
+		});
+		GameResult result = new GameResult(game, game.getParticipants().get(0), 1, game.getParticipants().get(1), 0);
+
+		assertThrows(NullPointerException.class, () -> t.applyResults(List.of(result)));
+		assertEquals(Status.NOTSTARTED, game.getStatus());
+	}
+
+	//Functional method test
+	@Test
+	public void testApplyResultsBeforeStartThrows() {
+		assertThrows(TournamentException.class, () -> t.applyResults(List.of()));
+	}
+
+	//Functional method test
+	@Test
+	public void testApplyResultsOfALargeRoundPlaysTheWholeTournament() throws TournamentException {
+		for (int i = 0; i < 8192; i++) {
+			t.addParticipant(new ParticipantImpl("player" + i));
+		}
+		t.start(new TournamentTreeBuilderImpl());
+
+		for (List<Game> round : t.getRounds()) {
+			List<GameResult> results = new ArrayList<>(round.size());
+			for (Game game : round) {
+				List<Participant> participants = game.getParticipants();
+				results.add(new GameResult(game, participants.get(0), 1, participants.get(1), 0));
+			}
+			assertTrue(t.applyResults(results).isEmpty());
+		}
+
+		assertEquals(8191, t.getFinishedGames().size());
+		t.end();
+		assertEquals(4096, t.computeFinalRanking().get(13).size());
+	}
+
+	//Functional method test
+	@Test
+	public void testReadyGamesArePublishedOnceWhenTheyGetTheirSecondParticipant() throws TournamentException, InterruptedException {
+		t.addParticipants(List.of(p1, p2, p3, p4));
+		assertNull(t.pollReadyGame());
+		t.start(new TournamentTreeBuilderImpl());
+
+		Game gameA = t.takeReadyGame();
+		Game gameB = t.pollReadyGame();
+		assertEquals(t.getRounds().get(0), List.of(gameA, gameB));
+		assertNull(t.pollReadyGame());
+
+		for (Game game : List.of(gameA, gameB)) {
+			game.start();
+			game.addPoints(game.getParticipants().get(0), 1);
+			game.finish();
+		}
+
+		assertEquals(t.getRounds().get(1).get(0), t.pollReadyGame());
+		assertNull(t.pollReadyGame());
+	}
+
+	//Functional method test
+	@Test
+	public void testTakeReadyGameWaitsUntilAGameBecomesReady() throws Exception {
+		t.addParticipants(List.of(p1, p2));
+		t.start(new TournamentTreeBuilderImpl(ConcurrentGameImpl::new));
+		ExecutorService executor = Executors.newSingleThreadExecutor();
+		try {
+			Future<Game> consumer = executor.submit(() -> {
+				Game first = t.takeReadyGame();
+				first.start();
+				return t.takeReadyGame();
+			});
+			Game game = t.getRounds().get(0).get(0);
+
+			assertThrows(TimeoutException.class, () -> consumer.get(100, TimeUnit.MILLISECONDS));
+			// Sending the game back to NOTSTARTED makes it ready again
+			game.setStatus(Status.NOTSTARTED);
+			assertEquals(game, consumer.get(10, TimeUnit.SECONDS));
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	//Functional method test
+	@Test
+	public void testStartedGamesAreSkippedByTheReadyQueue() throws TournamentException {
+		t.addParticipants(List.of(p1, p2, p3, p4));
+		t.start(new TournamentTreeBuilderImpl());
+		t.getRounds().get(0).get(0).start();
+
+		assertEquals(t.getRounds().get(0).get(1), t.pollReadyGame());
+		assertNull(t.pollReadyGame());
+	}
+
+	//Functional method test
+	@Test
+	public void testSnapshotsAreImmutableVersionsOfTheTree() throws TournamentException {
+		TournamentImpl t = new TournamentImpl();
+		assertTrue(t.getSnapshot().getAllGames().isEmpty());
+		t.addParticipants(List.of(p1, p2, p3, p4));
+		t.start(new TournamentTreeBuilderImpl());
+		BracketSnapshot started = t.getSnapshot();
+		Game game = t.getRounds().get(0).get(0);
+		Participant winner = game.getParticipants().get(0);
+
+		game.start();
+		game.addPoints(winner, 3);
+		game.finish();
+		BracketSnapshot played = t.getSnapshot();
+
+		assertEquals(2, started.getGamesReadyToStart().size());
+		assertEquals(Status.NOTSTARTED, started.getRounds().get(0).get(0).getStatus());
+		assertTrue(started.getRounds().get(1).get(0).getParticipants().isEmpty());
+
+		assertTrue(played.getVersion() > started.getVersion());
+		assertEquals(Status.FINISHED, played.getRounds().get(0).get(0).getStatus());
+		assertEquals(3, played.getRounds().get(0).get(0).getPoints(winner));
+		assertEquals(winner, played.getRounds().get(0).get(0).getWinner());
+		assertEquals(List.of(winner), played.getRounds().get(1).get(0).getParticipants());
+		assertEquals(1, played.getGames(Status.FINISHED).size());
+		assertEquals(game, played.getGames(Status.FINISHED).get(0).getGame());
+		assertEquals(Status.INPROGRESS, played.getTournamentStatus());
+	}
+
+	//Functional method test
+	@Test
+	public void testSnapshotIsPublishedByTheWriterOfEachChange() throws TournamentException {
+		TournamentImpl t = new TournamentImpl();
+		t.addParticipants(List.of(p1, p2, p3, p4));
+		t.start(new TournamentTreeBuilderImpl());
+		Game game = t.getRounds().get(0).get(0);
+		Participant scorer = game.getParticipants().get(0);
+		long version = t.getSnapshot().getVersion();
+
+		game.start();
+		for (int i = 1; i <= 100; i++) {
+			game.addPoints(scorer, 1);
+			BracketSnapshot scored = t.getSnapshot();
+			assertEquals(version + 1 + i, scored.getVersion());
+			assertEquals(Status.INPROGRESS, scored.getRounds().get(0).get(0).getStatus());
+			assertEquals(i, scored.getRounds().get(0).get(0).getPoints(scorer));
+			assertSame(scored, t.getSnapshot());
+		}
+	}
+
+	//Functional method test
+	@Test
+	public void testSnapshotsNeverShowAFinishedGameWhoseWinnerHasNotAdvanced() throws Exception {
+		TournamentImpl t = new TournamentImpl();
+		for (int i = 0; i < 1024; i++) {
+			t.addParticipant(new ParticipantImpl("player" + i));
+		}
+		t.start(new TournamentTreeBuilderImpl(ConcurrentGameImpl::new));
+		Map<Game, Integer> positions = new HashMap<>();
+		for (Game game : t.getAllGames()) {
+			positions.put(game, positions.size());
+		}
+		Game finalGame = t.getRounds().get(t.getRounds().size() - 1).get(0);
+
+		ExecutorService executor = Executors.newFixedThreadPool(4);
+		try {
+			List<Future<?>> players = new ArrayList<>();
+			for (int i = 0; i < 4; i++) {
+				players.add(executor.submit(() -> {
+					while (finalGame.getStatus() != Status.FINISHED) {
+						Game game = t.pollReadyGame();
+						if (game != null) {
+							game.start();
+							game.addPoints(game.getParticipants().get(0), 2);
+							game.addPoints(game.getParticipants().get(1), 1);
+							game.finish();
+						}
+					}
+					return null;
+				}));
+			}
+
+			long version = -1;
+			BracketSnapshot snapshot;
+			do {
+				snapshot = t.getSnapshot();
+				assertTrue(snapshot.getVersion() >= version);
+				version = snapshot.getVersion();
+				List<GameSnapshot> games = snapshot.getAllGames();
+				for (GameSnapshot game : games) {
+					Optional<Game> following = game.getGame().getFollowingGame();
+					if (game.getStatus() == Status.FINISHED && following.isPresent()) {
+						assertTrue(games.get(positions.get(following.get())).getParticipants().contains(game.getWinner()));
+					}
+					for (Game previous : game.getGame().getPreviousGames()) {
+						GameSnapshot previousGame = games.get(positions.get(previous));
+						if (previousGame.getStatus() != Status.FINISHED) {
+							assertTrue(Collections.disjoint(previousGame.getParticipants(), game.getParticipants()));
+						}
+					}
+				}
+			} while (snapshot.getRounds().get(snapshot.getRounds().size() - 1).get(0).getStatus() != Status.FINISHED);
+
+			for (Future<?> player : players) {
+				player.get(30, TimeUnit.SECONDS);
+			}
+		} finally {
+			executor.shutdownNow();
+		}
+		assertEquals(1023, t.getSnapshot().getGames(Status.FINISHED).size());
+	}
 }
@@ -0,0 +1,134 @@
+package tournamentmanager.io;
+
+import org.junit.jupiter.api.Test;
+import tournamentmanager.core.api.*;
+import tournamentmanager.core.impl.DoubleEliminationTournament;
+import tournamentmanager.core.impl.ParticipantImpl;
+import tournamentmanager.core.impl.TournamentImpl;
+import tournamentmanager.core.impl.TournamentTreeBuilderImpl;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BracketExporterTest {
+
+    private static TournamentImpl playedTournament(int size, boolean end) throws TournamentException {
+        TournamentImpl tournament = new TournamentImpl();
+        List<Participant> participants = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            participants.add(new ParticipantImpl(i == 0 ? "Smith, \"Bob\"" : "player" + i));
+        }
+        tournament.addParticipants(participants);
+        tournament.start(new TournamentTreeBuilderImpl());
+        for (List<Game> round : tournament.getRounds()) {
+            for (Game game : round) {
+                game.start();
+                game.addPoints(game.getParticipants().get(0), 1);
+                game.finish();
+            }
+        }
+        if (end) {
+            tournament.end();
+        }
+        return tournament;
+    }
+
+    //Functional method test
+    @Test
+    void csvGamesHaveOneLinePerGame() throws TournamentException, IOException {
+        TournamentImpl tournament = playedTournament(8, false);
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        new BracketExporter(BracketExporter.Format.CSV).exportGames(tournament, output);
+
+        String[] lines = output.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(8, lines.length);
+        assertEquals("round,game,status,participant1,points1,participant2,points2,winner", lines[0]);
+        Game last = tournament.getRounds().get(2).get(0);
+        String winner = last.getWinner().getName();
+        assertTrue(lines[7].startsWith("2,0,FINISHED,"));
+        assertTrue(lines[7].endsWith(winner.contains(",") ? "\"Smith, \"\"Bob\"\"\"" : "," + winner));
+    }
+
+    //Functional method test
+    @Test
+    void jsonRankingFollowsTheFinalRanking() throws TournamentException, IOException {
+        TournamentImpl tournament = playedTournament(4, true);
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        new BracketExporter(BracketExporter.Format.JSON).exportRanking(tournament, output);
+
+        List<Set<Participant>> ranking = tournament.computeFinalRanking();
+        String json = output.toString(StandardCharsets.UTF_8);
+        String winner = ranking.get(0).iterator().next().getName().replace("\"", "\\\"");
+        String second = ranking.get(1).iterator().next().getName().replace("\"", "\\\"");
+        assertTrue(json.startsWith("[{\"rank\":1,\"name\":\"" + winner + "\"},{\"rank\":2,\"name\":\"" + second + "\"}"));
+        assertEquals(2, json.split("\"rank\":3").length - 1);
+        assertTrue(json.endsWith("}]\n"));
+    }
+
+    //Functional method test
+    @Test
+    void rankingCountsTheParticipantsWithAByeAsRankedBefore() throws TournamentException, IOException {
+        TournamentImpl tournament = playedTournament(6, true);
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        new BracketExporter(BracketExporter.Format.CSV).exportRanking(tournament, output);
+
+        // 6 participants in a bracket of 8: the 2 losers of the first round are ranked after the 4 in the semi-finals
+        List<String> ranks = new ArrayList<>();
+        for (String line : output.toString(StandardCharsets.UTF_8).split("\n")) {
+            ranks.add(line.substring(0, line.indexOf(',')));
+        }
+        assertEquals(List.of("rank", "1", "2", "3", "3", "5", "5"), ranks);
+    }
+
+    //Functional method test
+    @Test
+    void rankingOfADoubleEliminationTournamentFollowsItsFinalRanking() throws TournamentException, IOException {
+        DoubleEliminationTournament tournament = new DoubleEliminationTournament();
+        for (int i = 0; i < 8; i++) {
+            tournament.addParticipant(new ParticipantImpl("player" + i));
+        }
+        tournament.start(new TournamentTreeBuilderImpl());
+        Game game;
+        while ((game = tournament.pollReadyGame()) != null) {
+            game.start();
+            game.addPoints(game.getParticipants().get(0), 1);
+            game.finish();
+        }
+        tournament.end();
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        new BracketExporter(BracketExporter.Format.CSV).exportRanking(tournament, output);
+
+        // Participants ranked ex-aequo may come in any order
+        List<String> lines = List.of(output.toString(StandardCharsets.UTF_8).split("\n"));
+        assertEquals("rank,name", lines.get(0));
+        int ranked = 0;
+        for (Set<Participant> exaequo : tournament.computeFinalRanking()) {
+            Set<String> expected = new HashSet<>();
+            for (Participant participant : exaequo) {
+                expected.add((ranked + 1) + "," + participant.getName());
+            }
+            assertEquals(expected, new HashSet<>(lines.subList(ranked + 1, ranked + 1 + exaequo.size())));
+            ranked += exaequo.size();
+        }
+        assertEquals(ranked + 1, lines.size());
+    }
+
+    //Functional method test
+    @Test
+    void rankingOfUnfinishedTournamentIsRejected() throws TournamentException {
+        TournamentImpl tournament = playedTournament(4, false);
+
+        assertThrows(TournamentException.class, () -> new BracketExporter(BracketExporter.Format.CSV).exportRanking(tournament, new ByteArrayOutputStream()));
+    }
+}
@@ -0,0 +1,120 @@
+package tournamentmanager.io;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import tournamentmanager.core.api.TournamentException;
+import tournamentmanager.core.impl.TournamentImpl;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ParticipantImporterTest {
+
+    private static Set<String> names(TournamentImpl tournament) {
+        Set<String> names = new HashSet<>();
+        tournament.getParticipants().forEach(participant -> names.add(participant.getName()));
+        return names;
+    }
+
+    //Functional method test
+    @Test
+    void csvImportSkipsDuplicatesAndRejectsMalformedRows(@TempDir Path directory) throws IOException, TournamentException {
+        Path file = directory.resolve("players.csv");
+        Files.write(file, List.of(
+                "id,name,club",
+                "1,Alice,A",
+                "2,\"Smith, Bob\",B",
+                "3,\"Carol \"\"the hammer\"\"\",C",
+                "4,Alice,A",
+                "",
+                "5,,D",
+                "6,\"Dave,E",
+                "7"), StandardCharsets.UTF_8);
+        TournamentImpl tournament = new TournamentImpl();
+
+        ImportReport report = new ParticipantImporter(ParticipantImporter.Format.CSV).setNameColumn(1).importInto(file, tournament);
+
+        assertEquals(Set.of("Alice", "Smith, Bob", "Carol \"the hammer\""), names(tournament));
+        assertEquals(7, report.getRows());
+        assertEquals(3, report.getImported());
+        assertEquals(1, report.getDuplicates());
+        assertEquals(3, report.getRejected());
+        assertEquals("empty name", report.getRejections().get(0).getReason());
+        assertEquals("unterminated quoted field", report.getRejections().get(1).getReason());
+        assertEquals("missing column 1", report.getRejections().get(2).getReason());
+    }
+
+    //Functional method test
+    @Test
+    void ndjsonImportReadsTheNameField(@TempDir Path directory) throws IOException, TournamentException {
+        Path file = directory.resolve("players.ndjson");
+        Files.write(file, List.of(
+                "{\"id\": 1, \"club\": {\"name\": \"not me\"}, \"name\": \"Alice\"}",
+                "{\"name\":\"Bob \\\"B\\\" \\u00e9\", \"tags\": [\"x\", {\"y\": 1}]}",
+                "{\"id\": 3}",
+                "{\"name\": 4}",
+                "not json"), StandardCharsets.UTF_8);
+        TournamentImpl tournament = new TournamentImpl();
+
+        ImportReport report = new ParticipantImporter(ParticipantImporter.Format.NDJSON).importInto(file, tournament);
+
+        assertEquals(Set.of("Alice", "Bob \"B\" \u00e9"), names(tournament));
+        assertEquals(5, report.getRows());
+        assertEquals(3, report.getRejected());
+    }
+
+    //Functional method test
+    @Test
+    void importInSmallChunksAddsEveryParticipant(@TempDir Path directory) throws IOException, TournamentException {
+        Path file = directory.resolve("players.csv");
+        StringBuilder content = new StringBuilder("name\n");
+        for (int i = 0; i < 500_000; i++) {
+            content.append("player").append(i).append('\n');
+        }
+        Files.write(file, content.toString().getBytes(StandardCharsets.UTF_8));
+        TournamentImpl tournament = new TournamentImpl();
+
+        // 5000 chunks, each added to a tournament that already holds the previous ones
+        ImportReport report = new ParticipantImporter(ParticipantImporter.Format.CSV).setChunkSize(100).importInto(file, tournament);
+
+        assertEquals(500_000, report.getImported());
+        assertEquals(500_000, tournament.getParticipants().size());
+        assertEquals("player499999", tournament.getParticipants().get(499_999).getName());
+    }
+
+    //Functional method test
+    @Test
+    void parallelImportMatchesSequentialImport(@TempDir Path directory) throws IOException, TournamentException {
+        Path file = directory.resolve("players.csv");
+        StringBuilder content = new StringBuilder("name\n");
+        for (int i = 0; i < 100_000; i++) {
+            // Some duplicates, some rows longer than the buffer
+            content.append(i % 10 == 0 ? "player" + (i / 2) : "player" + i);
+            content.append(i % 9999 == 0 ? "x".repeat(300) : "").append('\n');
+        }
+        Files.write(file, content.toString().getBytes(StandardCharsets.UTF_8));
+
+        TournamentImpl sequential = new TournamentImpl();
+        ImportReport sequentialReport = new ParticipantImporter(ParticipantImporter.Format.CSV).setBufferSize(256)
+                .setChunkSize(1000).importInto(file, sequential);
+        TournamentImpl parallel = new TournamentImpl();
+        ImportReport parallelReport = new ParticipantImporter(ParticipantImporter.Format.CSV).setBufferSize(256)
+                .setChunkSize(1000).setParallelism(8).importInto(file, parallel);
+
+        assertEquals(100_000, sequentialReport.getRows());
+        assertEquals(11, sequentialReport.getRejected());
+        assertEquals(names(sequential), names(parallel));
+        assertEquals(sequentialReport.getRows(), parallelReport.getRows());
+        assertEquals(sequentialReport.getImported(), parallelReport.getImported());
+        assertEquals(sequentialReport.getDuplicates(), parallelReport.getDuplicates());
+        assertEquals(sequentialReport.getRejected(), parallelReport.getRejected());
+        assertTrue(parallelReport.getRowsPerSecond() > 0);
+    }
+}
@@ -0,0 +1,239 @@
+package tournamentmanager.journal;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import tournamentmanager.core.api.*;
+import tournamentmanager.core.impl.ConcurrentGameImpl;
+import tournamentmanager.core.impl.ParticipantImpl;
+import tournamentmanager.core.impl.TournamentTreeBuilderImpl;
+import tournamentmanager.sim.ScoreGenerator;
+import tournamentmanager.sim.TournamentSimulator;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class JournaledTournamentTest {
+
+    private static List<Participant> participants(int size) {
+        List<Participant> participants = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            participants.add(new ParticipantImpl("player" + i));
+        }
+        return participants;
+    }
+
+    private static List<String> describe(Tournament tournament) {
+        List<String> games = new ArrayList<>();
+        for (Game game : tournament.getAllGames()) {
+            StringBuilder description = new StringBuilder(game.getStatus().toString());
+            for (Participant participant : game.getParticipants()) {
+                description.append(' ').append(participant.getName()).append('=').append(game.getPoints(participant));
+            }
+            games.add(description.toString());
+        }
+        return games;
+    }
+
+    private static List<String> names(List<Participant> participants) {
+        List<String> names = new ArrayList<>();
+        for (Participant participant : participants) {
+            names.add(participant.getName());
+        }
+        return names;
+    }
+
+    //Functional method test
+    @Test
+    void openReplaysTheDrawAndTheGames(@TempDir Path directory) throws IOException, TournamentException {
+        List<String> draw;
+        List<String> games;
+        try (JournaledTournament tournament = JournaledTournament.open(directory)) {
+            tournament.addParticipants(participants(6));
+            tournament.addParticipant(new ParticipantImpl("player6"));
+            tournament.addParticipant(new ParticipantImpl("player7"));
+            tournament.start(new TournamentTreeBuilderImpl());
+            for (Game game : tournament.getRounds().get(0)) {
+                game.start();
+                game.addPoints(game.getParticipants().get(0), 3);
+                game.addPoints(game.getParticipants().get(1), 1);
+                game.addPoints(game.getParticipants().get(1), 4);
+                game.finish();
+            }
+            Game semiFinal = tournament.getRounds().get(1).get(0);
+            semiFinal.start();
+            semiFinal.addPoints(semiFinal.getParticipants().get(0), 2);
+            draw = names(tournament.getParticipants());
+            games = describe(tournament);
+        }
+
+        try (JournaledTournament replayed = JournaledTournament.open(directory)) {
+            assertEquals(Status.INPROGRESS, replayed.getStatus());
+            assertEquals(draw, names(replayed.getParticipants()));
+            assertEquals(games, describe(replayed));
+            assertEquals(1, replayed.getGamesReadyToStart().size());
+
+            // The replayed tournament keeps being recorded
+            replayed.getRounds().get(1).get(0).finish();
+            games = describe(replayed);
+        }
+        try (JournaledTournament replayed = JournaledTournament.open(directory)) {
+            assertEquals(games, describe(replayed));
+            assertEquals(Status.FINISHED, replayed.getRounds().get(1).get(0).getStatus());
+        }
+    }
+
+    //Functional method test
+    @Test
+    void concurrentGamesAreReplayed(@TempDir Path directory) throws IOException, TournamentException, InterruptedException {
+        List<String> games;
+        List<Set<Participant>> ranking;
+        try (JournaledTournament tournament = JournaledTournament.open(directory, new TournamentTreeBuilderImpl(ConcurrentGameImpl::new), JournaledTournament.DEFAULT_SEGMENT_SIZE)) {
+            tournament.addParticipants(participants(256));
+            tournament.start(new TournamentTreeBuilderImpl(ConcurrentGameImpl::new));
+            try (TournamentSimulator simulator = TournamentSimulator.create(ScoreGenerator.random(10))) {
+                simulator.simulate(tournament);
+            }
+            games = describe(tournament);
+            ranking = tournament.computeFinalRanking();
+        }
+
+        try (JournaledTournament replayed = JournaledTournament.open(directory)) {
+            assertEquals(Status.FINISHED, replayed.getStatus());
+            assertEquals(games, describe(replayed));
+            List<Set<Participant>> replayedRanking = replayed.computeFinalRanking();
+            assertEquals(ranking.size(), replayedRanking.size());
+            assertEquals(ranking.get(0).iterator().next().getName(), replayedRanking.get(0).iterator().next().getName());
+        }
+    }
+
+    //Functional method test
+    @Test
+    void compactReplacesTheSegmentsWithASnapshot(@TempDir Path directory) throws IOException, TournamentException {
+        List<String> games;
+        try (JournaledTournament tournament = JournaledTournament.open(directory, new TournamentTreeBuilderImpl(), 64)) {
+            tournament.addParticipants(participants(16));
+            tournament.start(new TournamentTreeBuilderImpl());
+            for (Game game : tournament.getRounds().get(0)) {
+                game.start();
+                for (int i = 0; i < 5; i++) {
+                    game.addPoints(game.getParticipants().get(0), 1);
+                }
+                game.finish();
+            }
+            Game game = tournament.getRounds().get(1).get(0);
+            game.start();
+            game.addPoints(game.getParticipants().get(1), 7);
+            assertTrue(Journal.segments(directory).size() > 2);
+
+            tournament.compact();
+            assertEquals(2, Journal.segments(directory).size());
+            game.addPoints(game.getParticipants().get(0), 1);
+            games = describe(tournament);
+        }
+
+        try (JournaledTournament replayed = JournaledTournament.open(directory)) {
+            assertEquals(games, describe(replayed));
+        }
+    }
+
+    //Functional method test
+    @Test
+    void changesThatCannotBeRecordedAreNotMade(@TempDir Path directory) throws IOException, TournamentException {
+        Game game;
+        Participant loser;
+        try (JournaledTournament tournament = JournaledTournament.open(directory)) {
+            tournament.addParticipants(participants(4));
+            tournament.start(new TournamentTreeBuilderImpl());
+            game = tournament.getRounds().get(0).get(0);
+            loser = game.getParticipants().get(1);
+            game.start();
+            game.addPoints(game.getParticipants().get(0), 2);
+            tournament.close();
+
+            assertThrows(IllegalStateException.class, game::finish);
+            assertThrows(IllegalStateException.class, () -> game.addPoints(loser, 5));
+            assertEquals(Status.INPROGRESS, game.getStatus());
+            assertEquals(0, game.getPoints(loser));
+            assertFalse(loser.isEliminated());
+            assertTrue(tournament.getFinishedGames().isEmpty());
+            assertTrue(game.getFollowingGame().get().getParticipants().isEmpty());
+            assertThrows(IllegalStateException.class, () -> tournament.getRounds().get(0).get(1).start());
+            assertEquals(1, tournament.getGamesInProgress().size());
+        }
+
+        try (JournaledTournament replayed = JournaledTournament.open(directory)) {
+            Game replayedGame = replayed.getRounds().get(0).get(0);
+            assertEquals(Status.INPROGRESS, replayedGame.getStatus());
+            assertEquals(2, replayedGame.getPoints(replayedGame.getParticipants().get(0)));
+            assertEquals(1, replayed.getGamesInProgress().size());
+        }
+    }
+
+    //Functional method test
+    @Test
+    void changesVetoedByAGameListenerAreNotRecorded(@TempDir Path directory) throws IOException, TournamentException {
+        try (JournaledTournament tournament = JournaledTournament.open(directory)) {
+            tournament.addParticipants(participants(4));
+            tournament.start(new TournamentTreeBuilderImpl());
+            Game game = tournament.getRounds().get(0).get(0);
+            game.start();
+            game.addPoints(game.getParticipants().get(0), 2);
+            game.addGameListener(new GameListener() {
+                @Override
+                public void participantAdded(Game game, Participant participant) {
+                }
+
+                @Override
+                public void statusChanged(Game game, Status previousStatus, Status newStatus) {
+                }
+
+                @Override
+                public void statusChanging(Game game, Status currentStatus, Status newStatus) {
+                    throw new ChangeVetoedException("No game can finish.");
+                }
+
+                @Override
+                public void pointsAdding(Game game, Participant participant, int points) {
+                    throw new ChangeVetoedException("No points can be added.");
+                }
+            });
+
+            assertThrows(ChangeVetoedException.class, () -> game.addPoints(game.getParticipants().get(1), 5));
+            assertThrows(ChangeVetoedException.class, game::finish);
+            assertEquals(Status.INPROGRESS, game.getStatus());
+        }
+
+        try (JournaledTournament replayed = JournaledTournament.open(directory)) {
+            Game replayedGame = replayed.getRounds().get(0).get(0);
+            assertEquals(Status.INPROGRESS, replayedGame.getStatus());
+            assertEquals(2, replayedGame.getPoints(replayedGame.getParticipants().get(0)));
+            assertEquals(0, replayedGame.getPoints(replayedGame.getParticipants().get(1)));
+            assertTrue(replayed.getFinishedGames().isEmpty());
+        }
+    }
+
+    //Functional method test
+    @Test
+    void tornRecordAtTheEndIsIgnored(@TempDir Path directory) throws IOException, TournamentException {
+        try (JournaledTournament tournament = JournaledTournament.open(directory)) {
+            tournament.addParticipants(participants(4));
+        }
+        List<Path> segments = Journal.segments(directory);
+        Files.write(segments.get(segments.size() - 1), new byte[]{0, 0, 0, 40, 1, 2}, StandardOpenOption.APPEND);
+
+        try (JournaledTournament replayed = JournaledTournament.open(directory)) {
+            assertEquals(4, replayed.getParticipants().size());
+            replayed.addParticipant(new ParticipantImpl("player4"));
+        }
+        try (JournaledTournament replayed = JournaledTournament.open(directory)) {
+            assertEquals(5, replayed.getParticipants().size());
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package tournamentmanager.registry;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import tournamentmanager.core.api.*;
+import tournamentmanager.core.impl.ParticipantImpl;
+import tournamentmanager.core.impl.TournamentImpl;
+import tournamentmanager.core.impl.TournamentTreeBuilderImpl;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TournamentRegistryTest {
+
+    TournamentRegistry registry;
+
+    @BeforeEach
+    void beforeEach() {
+        registry = new TournamentRegistry(4);
+    }
+
+    @AfterEach
+    void afterEach() {
+        registry.close();
+    }
+
+    private CompletableFuture<Void> registerStartedTournament(String id) {
+        return registry.register(id, TournamentImpl::new)
+                .thenCompose(registered -> registry.submit(id, tournament -> {
+                    for (int i = 0; i < 4; i++) {
+                        tournament.addParticipant(new ParticipantImpl(id + "-player" + i));
+                    }
+                    tournament.start(new TournamentTreeBuilderImpl());
+                    return null;
+                }));
+    }
+
+    private CompletableFuture<Void> playGame(String id, Game game) {
+        return registry.submit(id, tournament -> game.getParticipants().get(0))
+                .thenCompose(winner -> registry.start(id, game)
+                        .thenCompose(started -> registry.addPoints(id, game, winner, 1))
+                        .thenCompose(scored -> registry.finish(id, game)));
+    }
+
+    //Functional method test
+    @Test
+    void tournamentsArePlayedInParallelThroughTheirShards() {
+        List<CompletableFuture<Void>> plays = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            String id = "division-" + i;
+            plays.add(registerStartedTournament(id)
+                    .thenCompose(started -> registry.getGamesReadyToStart(id))
+                    .thenCompose(games -> CompletableFuture.allOf(playGame(id, games.get(0)), playGame(id, games.get(1))))
+                    .thenCompose(firstRound -> registry.getGamesReadyToStart(id))
+                    .thenCompose(games -> playGame(id, games.get(0)))
+                    .thenCompose(finalRound -> registry.submit(id, tournament -> {
+                        tournament.end();
+                        return null;
+                    })));
+        }
+        CompletableFuture.allOf(plays.toArray(new CompletableFuture<?>[0])).join();
+
+        for (int i = 0; i < 500; i++) {
+            assertEquals(Status.FINISHED, registry.getStatus("division-" + i).join());
+        }
+    }
+
+    //Functional method test
+    @Test
+    void operationsReportTheErrorsOfTheirTournament() throws InterruptedException {
+        registerStartedTournament("a").join();
+
+        ExecutionException error = assertThrows(ExecutionException.class,
+                () -> registry.submit("a", tournament -> {
+                    tournament.end();
+                    return null;
+                }).get());
+        assertTrue(error.getCause() instanceof TournamentException);
+
+        error = assertThrows(ExecutionException.class, () -> registry.getStatus("unknown").get());
+        assertTrue(error.getCause() instanceof IllegalArgumentException);
+
+        error = assertThrows(ExecutionException.class, () -> registry.register("a", TournamentImpl::new).get());
+        assertTrue(error.getCause() instanceof IllegalArgumentException);
+    }
+
+    //Functional method test
+    @Test
+    void removedTournamentsAreNoLongerReachable() {
+        registry.register("a", TournamentImpl::new).join();
+
+        assertNotNull(registry.remove("a").join());
+        assertNull(registry.remove("a").join());
+        ExecutionException error = assertThrows(ExecutionException.class, () -> registry.getStatus("a").get());
+        assertTrue(error.getCause() instanceof IllegalArgumentException);
+    }
+
+    //Functional method test
+    @Test
+    void gamesOfAnotherTournamentAreRejected() {
+        registerStartedTournament("a").join();
+        registerStartedTournament("b").join();
+        Game gameOfB = registry.getGamesReadyToStart("b").join().get(0);
+
+        ExecutionException error = assertThrows(ExecutionException.class, () -> registry.start("a", gameOfB).get());
+        assertTrue(error.getCause() instanceof IllegalArgumentException);
+        error = assertThrows(ExecutionException.class,
+                () -> registry.addPoints("a", gameOfB, gameOfB.getParticipants().get(0), 1).get());
+        assertTrue(error.getCause() instanceof IllegalArgumentException);
+        error = assertThrows(ExecutionException.class, () -> registry.finish("a", gameOfB).get());
+        assertTrue(error.getCause() instanceof IllegalArgumentException);
+        assertEquals(Status.NOTSTARTED, gameOfB.getStatus());
+
+        playGame("b", gameOfB).join();
+        assertEquals(Status.FINISHED, gameOfB.getStatus());
+    }
+}
@@ -0,0 +1,112 @@
+package tournamentmanager.roundrobin;
+
+import org.junit.jupiter.api.Test;
+import tournamentmanager.core.api.Game;
+import tournamentmanager.core.api.Participant;
+import tournamentmanager.core.api.TournamentException;
+import tournamentmanager.core.impl.ParticipantImpl;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RoundRobinTournamentTest {
+
+    private static List<Participant> participants(int count) {
+        List<Participant> participants = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            participants.add(new ParticipantImpl("p" + i));
+        }
+        return participants;
+    }
+
+    private static void play(Game game, Participant winner, int points) throws TournamentException {
+        game.start();
+        game.addPoints(winner, points);
+        game.finish();
+    }
+
+    private static void checkEveryPairMeetsOnce(int count) throws TournamentException {
+        List<Participant> participants = participants(count);
+        RoundRobinTournament tournament = new RoundRobinTournament();
+        tournament.addParticipants(participants);
+        Set<Set<Participant>> pairs = new HashSet<>();
+        int rounds = 0;
+        for (Iterator<List<Game>> it = tournament.rounds(); it.hasNext(); rounds++) {
+            Set<Participant> playing = new HashSet<>();
+            for (Game game : it.next()) {
+                assertTrue(playing.addAll(game.getParticipants()));
+                assertTrue(pairs.add(new HashSet<>(game.getParticipants())));
+                play(game, game.getParticipants().get(0), 1);
+            }
+            assertEquals(count / 2 * 2, playing.size());
+        }
+        assertEquals(tournament.getRoundCount(), rounds);
+        assertEquals(count * (count - 1) / 2, pairs.size());
+        assertTrue(tournament.isFinished());
+    }
+
+    //Functional method test
+    @Test
+    void everyPairMeetsExactlyOnce() throws TournamentException {
+        checkEveryPairMeetsOnce(6);
+        checkEveryPairMeetsOnce(7);
+        checkEveryPairMeetsOnce(2);
+    }
+
+    //Functional method test
+    @Test
+    void onlyRoundsWithUnfinishedGamesAreKept() throws TournamentException {
+        RoundRobinTournament tournament = new RoundRobinTournament();
+        tournament.addParticipants(participants(4));
+        assertEquals(3, tournament.getRoundCount());
+        List<Game> first = tournament.nextRound();
+        List<Game> second = tournament.nextRound();
+        assertEquals(Arrays.asList(first, second), tournament.getRoundsInProgress());
+
+        for (Game game : first) {
+            play(game, game.getParticipants().get(1), 2);
+        }
+        assertEquals(Collections.singletonList(second), tournament.getRoundsInProgress());
+        play(second.get(0), second.get(0).getParticipants().get(0), 1);
+        assertEquals(Collections.singletonList(second), tournament.getRoundsInProgress());
+        assertFalse(tournament.isFinished());
+    }
+
+    //Functional method test
+    @Test
+    void standingsCountWinsThenPointDifference() throws TournamentException {
+        List<Participant> participants = participants(4);
+        RoundRobinTournament tournament = new RoundRobinTournament();
+        tournament.addParticipants(participants);
+        Iterator<List<Game>> rounds = tournament.rounds();
+        while (rounds.hasNext()) {
+            for (Game game : rounds.next()) {
+                // The participant registered first wins, by as many points as its index in the list
+                Participant winner = Collections.min(game.getParticipants(), Comparator.comparingInt(participants::indexOf));
+                play(game, winner, participants.indexOf(winner) + 1);
+            }
+        }
+        assertEquals(participants, tournament.getStandings());
+        assertEquals(3, tournament.getWins(participants.get(0)));
+        assertEquals(0, tournament.getLosses(participants.get(0)));
+        assertEquals(3, tournament.getLosses(participants.get(3)));
+        assertEquals(3, tournament.getPointDifference(participants.get(0)));
+        assertEquals(-6, tournament.getPointDifference(participants.get(3)));
+        assertFalse(participants.get(3).isEliminated());
+        assertThrows(NoSuchElementException.class, rounds::next);
+    }
+
+    //Functional method test
+    @Test
+    void roundsRequireTwoParticipantsAndStopAfterTheLastOne() throws TournamentException {
+        RoundRobinTournament tournament = new RoundRobinTournament();
+        tournament.addParticipant(new ParticipantImpl("p0"));
+        assertThrows(TournamentException.class, tournament::nextRound);
+        tournament.addParticipant(new ParticipantImpl("p1"));
+        assertEquals(1, tournament.nextRound().size());
+        assertThrows(TournamentException.class, () -> tournament.addParticipant(new ParticipantImpl("late")));
+        assertFalse(tournament.hasNextRound());
+        assertThrows(TournamentException.class, tournament::nextRound);
+    }
+}
@@ -0,0 +1,83 @@
+package tournamentmanager.sim;
+
+import org.junit.jupiter.api.Test;
+import tournamentmanager.core.api.*;
+import tournamentmanager.core.impl.ConcurrentGameImpl;
+import tournamentmanager.core.impl.ParticipantImpl;
+import tournamentmanager.core.impl.TournamentImpl;
+import tournamentmanager.core.impl.TournamentTreeBuilderImpl;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TournamentSimulatorTest {
+
+    private static Tournament startedTournament(int size) throws TournamentException {
+        Tournament tournament = new TournamentImpl();
+        List<Participant> participants = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            participants.add(new ParticipantImpl("player" + i));
+        }
+        tournament.addParticipants(participants);
+        tournament.start(new TournamentTreeBuilderImpl(ConcurrentGameImpl::new));
+        return tournament;
+    }
+
+    //Functional method test
+    @Test
+    void simulatePlaysEveryGameAndEndsTheTournament() throws TournamentException, InterruptedException {
+        Tournament tournament = startedTournament(4096);
+
+        try (TournamentSimulator simulator = TournamentSimulator.create(ScoreGenerator.random(10))) {
+            simulator.simulate(tournament);
+        }
+
+        assertEquals(Status.FINISHED, tournament.getStatus());
+        assertEquals(4095, tournament.getFinishedGames().size());
+        List<Set<Participant>> ranking = tournament.computeFinalRanking();
+        assertEquals(13, ranking.size());
+        assertFalse(ranking.get(0).iterator().next().isEliminated());
+    }
+
+    //Functional method test
+    @Test
+    void simulateReportsTheFirstFailingGame() throws TournamentException {
+        Tournament tournament = startedTournament(8);
+        ScoreGenerator alwaysTied = game -> new GameResult(game, game.getParticipants().get(0), 1,
+                game.getParticipants().get(1), 1);
+
+        try (TournamentSimulator simulator = TournamentSimulator.create(alwaysTied)) {
+            assertThrows(TournamentException.class, () -> simulator.simulate(tournament));
+        }
+        assertEquals(Status.INPROGRESS, tournament.getStatus());
+    }
+
+    //Functional method test
+    @Test
+    void simulateFailsInsteadOfWaitingForAGameStartedElsewhere() throws TournamentException {
+        Tournament tournament = startedTournament(8);
+        Game startedElsewhere = tournament.getRounds().get(0).get(0);
+        startedElsewhere.start();
+
+        try (TournamentSimulator simulator = TournamentSimulator.create(ScoreGenerator.random(10))) {
+            assertTimeoutPreemptively(Duration.ofSeconds(30),
+                    () -> assertThrows(TournamentException.class, () -> simulator.simulate(tournament)));
+        }
+        // Every game that does not depend on the game started elsewhere was played
+        assertEquals(4, tournament.getFinishedGames().size());
+        assertEquals(Status.INPROGRESS, startedElsewhere.getStatus());
+        assertEquals(Status.INPROGRESS, tournament.getStatus());
+    }
+
+    //Functional method test
+    @Test
+    void simulateRequiresAStartedTournament() {
+        try (TournamentSimulator simulator = TournamentSimulator.create(ScoreGenerator.random(1))) {
+            assertThrows(TournamentException.class, () -> simulator.simulate(new TournamentImpl()));
+        }
+    }
+}
@@ -0,0 +1,152 @@
+package tournamentmanager.swiss;
+
+import org.junit.jupiter.api.Test;
+import tournamentmanager.core.api.Game;
+import tournamentmanager.core.api.Participant;
+import tournamentmanager.core.api.TournamentException;
+import tournamentmanager.core.impl.ParticipantImpl;
+import tournamentmanager.core.impl.TournamentImpl;
+import tournamentmanager.core.impl.TournamentTreeBuilderImpl;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SwissTournamentTest {
+
+    private static List<Participant> participants(int count) {
+        List<Participant> participants = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            participants.add(new ParticipantImpl("p" + i));
+        }
+        return participants;
+    }
+
+    private static void play(Game game, Participant winner) throws TournamentException {
+        game.start();
+        game.addPoints(winner, 1);
+        game.finish();
+    }
+
+    // Plays a round where the participant registered first always wins, and checks that there is no rematch
+    private static void playRound(SwissTournament swiss, List<Participant> participants, Set<List<Participant>> pairs)
+            throws TournamentException {
+        for (Game game : swiss.pairNextRound()) {
+            List<Participant> players = game.getParticipants();
+            List<Participant> pair = new ArrayList<>(players);
+            pair.sort(Comparator.comparingInt(participants::indexOf));
+            assertTrue(pairs.add(pair), "rematch " + pair);
+            play(game, pair.get(0));
+        }
+    }
+
+    //Functional method test
+    @Test
+    void roundsPairParticipantsWithTheSameScore() throws TournamentException {
+        List<Participant> participants = participants(8);
+        SwissTournament swiss = new SwissTournament();
+        swiss.addParticipants(participants);
+        Set<List<Participant>> pairs = new HashSet<>();
+        playRound(swiss, participants, pairs);
+        assertTrue(pairs.contains(Arrays.asList(participants.get(0), participants.get(4))));
+
+        List<Game> secondRound = swiss.pairNextRound();
+        assertEquals(Arrays.asList(participants.get(0), participants.get(2)), secondRound.get(0).getParticipants());
+        for (Game game : secondRound) {
+            // Winners meet winners, losers meet losers
+            assertEquals(swiss.getScore(game.getParticipants().get(0)), swiss.getScore(game.getParticipants().get(1)));
+            play(game, game.getParticipants().get(0));
+        }
+        playRound(swiss, participants, new HashSet<>());
+
+        assertEquals(3, swiss.getRounds().size());
+        assertEquals(3, swiss.getScore(participants.get(0)));
+        assertEquals(participants.get(0), swiss.getStandings().get(0));
+        for (Participant participant : participants) {
+            assertFalse(participant.isEliminated());
+        }
+    }
+
+    //Functional method test
+    @Test
+    void oddFieldsGiveTheByeToADifferentParticipantEachRound() throws TournamentException {
+        List<Participant> participants = participants(5);
+        SwissTournament swiss = new SwissTournament();
+        swiss.addParticipants(participants);
+        Set<Participant> byes = new HashSet<>();
+        for (int round = 0; round < 5; round++) {
+            Set<Participant> playing = new HashSet<>();
+            for (Game game : swiss.pairNextRound()) {
+                playing.addAll(game.getParticipants());
+                play(game, game.getParticipants().get(0));
+            }
+            assertEquals(4, playing.size());
+            Set<Participant> bye = new HashSet<>(participants);
+            bye.removeAll(playing);
+            assertTrue(byes.addAll(bye));
+        }
+        int total = 0;
+        for (Participant participant : participants) {
+            total += swiss.getScore(participant);
+        }
+        // 2 games and a bye per round
+        assertEquals(15, total);
+    }
+
+    //Functional method test
+    @Test
+    void standingsSeedTheKnockoutStage() throws TournamentException {
+        List<Participant> participants = participants(8);
+        SwissTournament swiss = new SwissTournament();
+        swiss.addParticipants(participants);
+        Set<List<Participant>> pairs = new HashSet<>();
+        for (int round = 0; round < 3; round++) {
+            playRound(swiss, participants, pairs);
+        }
+        List<Participant> standings = swiss.getStandings();
+        assertEquals(participants.get(0), standings.get(0));
+        assertEquals(participants.get(1), standings.get(1));
+
+        TournamentImpl knockout = new TournamentImpl();
+        knockout.addParticipants(standings.subList(0, 4));
+        knockout.startSeeded(new TournamentTreeBuilderImpl(), swiss.getSeeding());
+        assertEquals(Arrays.asList(standings.get(0), standings.get(3)), knockout.getRounds().get(0).get(0).getParticipants());
+        assertEquals(Arrays.asList(standings.get(1), standings.get(2)), knockout.getRounds().get(0).get(1).getParticipants());
+    }
+
+    //Functional method test
+    @Test
+    void nextRoundRequiresTheCurrentRoundToBeFinished() throws TournamentException {
+        List<Participant> participants = participants(4);
+        SwissTournament swiss = new SwissTournament();
+        assertThrows(TournamentException.class, swiss::pairNextRound);
+        swiss.addParticipants(participants);
+        List<Game> round = swiss.pairNextRound();
+        play(round.get(0), round.get(0).getParticipants().get(0));
+        assertThrows(TournamentException.class, swiss::pairNextRound);
+        assertThrows(TournamentException.class, () -> swiss.addParticipant(new ParticipantImpl("late")));
+        play(round.get(1), round.get(1).getParticipants().get(1));
+        assertEquals(2, swiss.pairNextRound().size());
+    }
+
+    //Functional method test
+    @Test
+    void largeFieldsArePairedWithoutRematches() throws TournamentException {
+        List<Participant> participants = participants(50_001);
+        SwissTournament swiss = new SwissTournament();
+        swiss.addParticipants(participants);
+        Random random = new Random(42);
+        Map<Participant, Set<Participant>> opponents = new HashMap<>();
+        for (int round = 0; round < 6; round++) {
+            List<Game> games = swiss.pairNextRound();
+            assertEquals(25_000, games.size());
+            for (Game game : games) {
+                Participant first = game.getParticipants().get(0);
+                Participant second = game.getParticipants().get(1);
+                assertTrue(opponents.computeIfAbsent(first, p -> new HashSet<>()).add(second));
+                opponents.computeIfAbsent(second, p -> new HashSet<>()).add(first);
+                play(game, random.nextBoolean() ? first : second);
+            }
+        }
+    }
+}
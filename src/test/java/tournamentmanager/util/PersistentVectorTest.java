@@ -0,0 +1,52 @@
+package tournamentmanager.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PersistentVectorTest {
+
+    private static List<Integer> range(int size) {
+        List<Integer> values = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            values.add(i);
+        }
+        return values;
+    }
+
+    //Functional method test
+    @Test
+    void vectorHoldsItsValuesAcrossSeveralLevels() {
+        for (int size : new int[]{0, 1, 32, 33, 1024, 1025, 40000}) {
+            PersistentVector<Integer> vector = PersistentVector.of(range(size));
+            assertEquals(size, vector.size());
+            assertEquals(range(size), vector.asList());
+        }
+    }
+
+    //Functional method test
+    @Test
+    void withLeavesTheOriginalVectorUnchanged() {
+        PersistentVector<Integer> original = PersistentVector.of(range(5000));
+        PersistentVector<Integer> changed = original.with(4321, -1).with(0, -2);
+
+        assertEquals(4321, original.get(4321));
+        assertEquals(0, original.get(0));
+        assertEquals(-1, changed.get(4321));
+        assertEquals(-2, changed.get(0));
+        assertEquals(4320, changed.get(4320));
+        assertEquals(List.of(-2, 1, 2), changed.subList(0, 3));
+    }
+
+    //Functional method test
+    @Test
+    void invalidIndexesAreRejected() {
+        PersistentVector<Integer> vector = PersistentVector.of(range(10));
+        assertThrows(IndexOutOfBoundsException.class, () -> vector.get(10));
+        assertThrows(IndexOutOfBoundsException.class, () -> vector.with(-1, 0));
+        assertThrows(IndexOutOfBoundsException.class, () -> vector.subList(5, 11));
+    }
+}